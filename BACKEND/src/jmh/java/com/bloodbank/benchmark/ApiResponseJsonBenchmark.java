@@ -0,0 +1,78 @@
+package com.bloodbank.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bloodbank.dto.BloodRequestDTO;
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.dto.DonorDTO;
+import com.bloodbank.mapper.BloodRequestMapper;
+import com.bloodbank.mapper.DonorMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson serialization of CommonDTO.ApiResponse lists as written by the controllers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ApiResponseJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>> requestSummaries;
+    private CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestResponse>> requestResponses;
+    private CommonDTO.ApiResponse<List<DonorDTO.DonorSummary>> donorSummaries;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to its ObjectMapper (java.time support, ISO dates)
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        BloodRequestMapper bloodRequestMapper = Mappers.getMapper(BloodRequestMapper.class);
+        DonorMapper donorMapper = Mappers.getMapper(DonorMapper.class);
+        requestSummaries = CommonDTO.ApiResponse.success(BenchmarkData.bloodRequests(size).stream()
+                .map(bloodRequestMapper::toSummary).toList());
+        requestResponses = CommonDTO.ApiResponse.success(BenchmarkData.bloodRequests(size).stream()
+                .map(bloodRequestMapper::toResponse).toList());
+        donorSummaries = CommonDTO.ApiResponse.success(BenchmarkData.donors(size).stream()
+                .map(donorMapper::toSummary).toList());
+    }
+
+    @Benchmark
+    public byte[] requestSummaries() throws JsonProcessingException {
+        return writer.writeValueAsBytes(requestSummaries);
+    }
+
+    @Benchmark
+    public byte[] requestResponses() throws JsonProcessingException {
+        return writer.writeValueAsBytes(requestResponses);
+    }
+
+    @Benchmark
+    public byte[] donorSummaries() throws JsonProcessingException {
+        return writer.writeValueAsBytes(donorSummaries);
+    }
+}
@@ -0,0 +1,42 @@
+package com.bloodbank.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.service.SyntheticDataGenerator;
+
+/**
+ * Detached entities from the synthetic dataset generator, pinned to a fixed
+ * seed and reference date so every run measures the same rows
+ */
+final class BenchmarkData {
+
+    private static final SyntheticDataGenerator GENERATOR =
+            new SyntheticDataGenerator(42L, LocalDate.of(2025, 1, 1).atStartOfDay(), 730);
+
+    private BenchmarkData() {
+    }
+
+    static List<BloodRequest> bloodRequests(int count) {
+        List<BloodRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BloodRequest request = GENERATOR.bloodRequest(i);
+            request.setId((long) i + 1);
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    static List<Donor> donors(int count) {
+        List<Donor> donors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Donor donor = GENERATOR.donor(i);
+            donor.setId((long) i + 1);
+            donors.add(donor);
+        }
+        return donors;
+    }
+}
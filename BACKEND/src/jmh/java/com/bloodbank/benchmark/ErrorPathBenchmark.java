@@ -0,0 +1,113 @@
+package com.bloodbank.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.bloodbank.controller.GlobalExceptionHandler;
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.exception.ResourceNotFoundException;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * 404 and 409 responses: a RuntimeException caught and re-wrapped in the controller (the old path)
+ * against a stackless domain exception mapped by GlobalExceptionHandler.
+ * The exception is thrown below {@code depth} extra frames, since the cost of filling in a
+ * stack trace grows with depth and real requests sit under Tomcat, filters and proxies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ErrorPathBenchmark {
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private GlobalExceptionHandler handler;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        // Without the Spring logging system logback defaults to DEBUG; production runs the handler at INFO
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        handler = new GlobalExceptionHandler();
+    }
+
+    @Benchmark
+    public ResponseEntity<CommonDTO.ApiResponse<Void>> notFoundRuntimeException() {
+        try {
+            throwAt(depth, ErrorKind.LEGACY_NOT_FOUND);
+            return null;
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(CommonDTO.ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<CommonDTO.ApiResponse<Void>> notFoundTyped() {
+        try {
+            throwAt(depth, ErrorKind.NOT_FOUND);
+            return null;
+        } catch (ResourceNotFoundException e) {
+            return handler.handleNotFound(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<CommonDTO.ApiResponse<Void>> conflictRuntimeException() {
+        try {
+            throwAt(depth, ErrorKind.LEGACY_CONFLICT);
+            return null;
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(CommonDTO.ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<CommonDTO.ApiResponse<Void>> conflictTyped() {
+        try {
+            throwAt(depth, ErrorKind.CONFLICT);
+            return null;
+        } catch (InvalidStateException e) {
+            return handler.handleConflict(e);
+        }
+    }
+
+    private void throwAt(int remaining, ErrorKind kind) {
+        if (remaining > 0) {
+            throwAt(remaining - 1, kind);
+            return;
+        }
+        // A varying id keeps the message from being constant-folded, as a real lookup would
+        long requestId = ++id;
+        switch (kind) {
+            case LEGACY_NOT_FOUND -> throw new RuntimeException("Blood request not found with ID: " + requestId);
+            case NOT_FOUND -> throw new ResourceNotFoundException("Blood request not found with ID: " + requestId);
+            case LEGACY_CONFLICT -> throw new RuntimeException("Blood request has already been processed");
+            case CONFLICT -> throw new InvalidStateException("Blood request has already been processed");
+        }
+    }
+
+    private enum ErrorKind {
+        LEGACY_NOT_FOUND, NOT_FOUND, LEGACY_CONFLICT, CONFLICT
+    }
+}
@@ -0,0 +1,57 @@
+package com.bloodbank.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bloodbank.entity.BloodInventory;
+
+/**
+ * BloodInventory stock status classification and unit removal
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InventoryEntityBenchmark {
+
+    /**
+     * Starting stock: out of stock, critical, low and adequate respectively
+     */
+    @Param({"0", "4", "8", "60"})
+    private int unitsAvailable;
+
+    private BloodInventory inventory;
+
+    @Setup
+    public void setUp() {
+        inventory = new BloodInventory();
+        inventory.setBloodGroup("O+");
+        inventory.setMinimumStock(5);
+        inventory.setMaximumCapacity(100);
+        inventory.setUnitsAvailable(unitsAvailable);
+    }
+
+    @Benchmark
+    public String getStockStatus() {
+        return inventory.getStockStatus();
+    }
+
+    @Benchmark
+    public boolean removeUnits() {
+        inventory.setUnitsAvailable(unitsAvailable);
+        return inventory.removeUnits(2);
+    }
+}
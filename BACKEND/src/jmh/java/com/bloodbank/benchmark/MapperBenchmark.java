@@ -0,0 +1,116 @@
+package com.bloodbank.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import com.bloodbank.dto.BloodRequestDTO;
+import com.bloodbank.dto.DonorDTO;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.mapper.BloodRequestMapper;
+import com.bloodbank.mapper.DonorMapper;
+
+/**
+ * Reflective BeanUtils.copyProperties versus the generated mappers on list conversions.
+ * Run with {@code mvn compile exec:exec -Pbenchmark -Djmh.include=MapperBenchmark};
+ * the gc profiler reports allocation per operation next to the latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapperBenchmark {
+
+    @Param("10000")
+    private int size;
+
+    private final BloodRequestMapper bloodRequestMapper = Mappers.getMapper(BloodRequestMapper.class);
+    private final DonorMapper donorMapper = Mappers.getMapper(DonorMapper.class);
+
+    private List<BloodRequest> requests;
+    private List<Donor> donors;
+
+    @Setup
+    public void setUp() {
+        requests = BenchmarkData.bloodRequests(size);
+        donors = BenchmarkData.donors(size);
+    }
+
+    @Benchmark
+    public List<BloodRequestDTO.BloodRequestResponse> requestResponsesReflective() {
+        List<BloodRequestDTO.BloodRequestResponse> result = new ArrayList<>(requests.size());
+        for (BloodRequest request : requests) {
+            BloodRequestDTO.BloodRequestResponse response = new BloodRequestDTO.BloodRequestResponse();
+            BeanUtils.copyProperties(request, response);
+            response.setUrgencyLevelDisplay(request.getUrgencyLevel().getDisplayName());
+            response.setStatusDisplay(request.getStatus().getDisplayName());
+            result.add(response);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BloodRequestDTO.BloodRequestResponse> requestResponsesGenerated() {
+        List<BloodRequestDTO.BloodRequestResponse> result = new ArrayList<>(requests.size());
+        for (BloodRequest request : requests) {
+            result.add(bloodRequestMapper.toResponse(request));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<DonorDTO.DonorResponse> donorResponsesReflective() {
+        List<DonorDTO.DonorResponse> result = new ArrayList<>(donors.size());
+        for (Donor donor : donors) {
+            DonorDTO.DonorResponse response = new DonorDTO.DonorResponse();
+            BeanUtils.copyProperties(donor, response);
+            response.setCanDonate(donor.canDonate());
+            result.add(response);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<DonorDTO.DonorResponse> donorResponsesGenerated() {
+        List<DonorDTO.DonorResponse> result = new ArrayList<>(donors.size());
+        for (Donor donor : donors) {
+            result.add(donorMapper.toResponse(donor));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BloodRequestDTO.BloodRequestSummary> requestSummariesGenerated() {
+        List<BloodRequestDTO.BloodRequestSummary> result = new ArrayList<>(requests.size());
+        for (BloodRequest request : requests) {
+            result.add(bloodRequestMapper.toSummary(request));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<DonorDTO.DonorSummary> donorSummariesGenerated() {
+        List<DonorDTO.DonorSummary> result = new ArrayList<>(donors.size());
+        for (Donor donor : donors) {
+            result.add(donorMapper.toSummary(donor));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,124 @@
+package com.bloodbank.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.repository.BloodInventoryRepository;
+import com.bloodbank.repository.BloodRequestRepository;
+import com.bloodbank.repository.DonorRepository;
+
+/**
+ * Repository queries against an embedded H2 database loaded by the "seed" profile.
+ * The dataset size is set with {@code -p donorRows=... -p requestRows=...}.
+ * The Hibernate second-level and query caches are disabled so every call reaches SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param("10000")
+    private int donorRows;
+
+    @Param("50000")
+    private int requestRows;
+
+    private ConfigurableApplicationContext context;
+    private BloodInventoryRepository bloodInventoryRepository;
+    private BloodRequestRepository bloodRequestRepository;
+    private DonorRepository donorRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BloodBankBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("seed")
+                .run(
+                    "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                    "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                    "--seed.donors=" + donorRows,
+                    "--seed.requests=" + requestRows,
+                    "--logging.level.com.bloodbank=WARN");
+        bloodInventoryRepository = context.getBean(BloodInventoryRepository.class);
+        bloodRequestRepository = context.getBean(BloodRequestRepository.class);
+        donorRepository = context.getBean(DonorRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<BloodInventory> inventoryFindByBloodGroup() {
+        return bloodInventoryRepository.findByBloodGroup("O+");
+    }
+
+    @Benchmark
+    public List<BloodInventory> inventoryFindCriticalShortages() {
+        return bloodInventoryRepository.findCriticalShortages();
+    }
+
+    @Benchmark
+    public long requestCountByStatus() {
+        return bloodRequestRepository.countByStatus(BloodRequest.RequestStatus.PENDING);
+    }
+
+    @Benchmark
+    public List<BloodRequest> requestFindByBloodGroupAndStatus() {
+        return bloodRequestRepository.findByBloodGroupAndStatus("AB-", BloodRequest.RequestStatus.PENDING);
+    }
+
+    @Benchmark
+    public List<BloodRequest> requestFindOverduePending() {
+        return bloodRequestRepository.findOverduePendingRequests(LocalDateTime.now().minusDays(85));
+    }
+
+    @Benchmark
+    public List<Object[]> requestStatsByBloodGroup() {
+        return bloodRequestRepository.getRequestStatsByBloodGroup();
+    }
+
+    @Benchmark
+    public Optional<Donor> donorFindByEmail() {
+        return donorRepository.findByEmail("donor4242.s42@example.org");
+    }
+
+    @Benchmark
+    public List<Donor> donorFindEligibleByBloodGroup() {
+        return donorRepository.findEligibleDonorsByBloodGroup("O-", LocalDate.now().minusDays(56));
+    }
+}
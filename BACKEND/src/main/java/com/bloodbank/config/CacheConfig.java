@@ -0,0 +1,41 @@
+package com.bloodbank.config;
+
+import com.bloodbank.service.CacheInvalidationService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine read cache configuration.
+ * Evictions are deferred until the surrounding transaction commits so a concurrent
+ * reader cannot re-cache the pre-commit state, and every eviction is broadcast to
+ * the other nodes through the invalidation log.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String INVENTORY_BY_BLOOD_GROUP = "inventoryByBloodGroup";
+    public static final String DONOR_BY_ID = "donorById";
+    public static final String DONOR_BY_EMAIL = "donorByEmail";
+    public static final String BLOOD_REQUEST_BY_ID = "bloodRequestById";
+    
+    @Bean
+    public InvalidationBroadcastingCacheManager cacheManager(
+            CacheInvalidationService cacheInvalidationService,
+            @Value("${cache.spec.inventory:maximumSize=64,expireAfterWrite=5m}") String inventorySpec,
+            @Value("${cache.spec.donor:maximumSize=10000,expireAfterWrite=10m}") String donorSpec,
+            @Value("${cache.spec.request:maximumSize=10000,expireAfterWrite=2m}") String requestSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(INVENTORY_BY_BLOOD_GROUP, Caffeine.from(inventorySpec).recordStats().build());
+        cacheManager.registerCustomCache(DONOR_BY_ID, Caffeine.from(donorSpec).recordStats().build());
+        cacheManager.registerCustomCache(DONOR_BY_EMAIL, Caffeine.from(donorSpec).recordStats().build());
+        cacheManager.registerCustomCache(BLOOD_REQUEST_BY_ID, Caffeine.from(requestSpec).recordStats().build());
+        return new InvalidationBroadcastingCacheManager(
+            new TransactionAwareCacheManagerProxy(cacheManager), cacheInvalidationService);
+    }
+}
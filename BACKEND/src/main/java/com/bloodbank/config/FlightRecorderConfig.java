@@ -0,0 +1,31 @@
+package com.bloodbank.config;
+
+import com.bloodbank.jfr.JdbcTimingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource so the JFR events can report DB time, lock wait and
+ * connection wait per operation, and slow statements are logged. Off unless
+ * jfr.jdbc-timing.enabled is set (the jfr profile sets it), so a node that is not
+ * recording keeps the pool's own connections and statements.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jfr.jdbc-timing.enabled", havingValue = "true")
+public class FlightRecorderConfig {
+    
+    @Bean
+    public static BeanPostProcessor jdbcTimingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof JdbcTimingDataSource)
+                        ? new JdbcTimingDataSource(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package com.bloodbank.config;
+
+import com.bloodbank.service.CacheInvalidationService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * CacheManager decorator that appends every eviction to the invalidation log so
+ * peer nodes can evict the same entry from their own in-process caches.
+ */
+public class InvalidationBroadcastingCacheManager implements CacheManager {
+    
+    private final CacheManager delegate;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final ConcurrentMap<String, BroadcastingCache> caches = new ConcurrentHashMap<>();
+    
+    public InvalidationBroadcastingCacheManager(CacheManager delegate, CacheInvalidationService cacheInvalidationService) {
+        this.delegate = delegate;
+        this.cacheInvalidationService = cacheInvalidationService;
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        BroadcastingCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, key -> new BroadcastingCache(target));
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+    
+    /**
+     * Evict an entry received from a peer without broadcasting it again.
+     * A null key clears the whole cache.
+     */
+    public void evictLocally(String cacheName, Object key) {
+        Cache cache = delegate.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+    
+    /**
+     * Cache view whose evictions are mirrored to the invalidation log
+     */
+    public class BroadcastingCache implements Cache {
+        
+        private final Cache target;
+        
+        BroadcastingCache(Cache target) {
+            this.target = target;
+        }
+        
+        public Cache getTargetCache() {
+            return target;
+        }
+        
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+        
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+        
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+        
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+        
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, valueLoader);
+        }
+        
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return target.retrieve(key);
+        }
+        
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return target.retrieve(key, valueLoader);
+        }
+        
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+        
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+        
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+            cacheInvalidationService.publish(getName(), key);
+        }
+        
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = target.evictIfPresent(key);
+            cacheInvalidationService.publish(getName(), key);
+            return present;
+        }
+        
+        @Override
+        public void clear() {
+            target.clear();
+            cacheInvalidationService.publish(getName(), null);
+        }
+        
+        @Override
+        public boolean invalidate() {
+            boolean present = target.invalidate();
+            cacheInvalidationService.publish(getName(), null);
+            return present;
+        }
+    }
+}
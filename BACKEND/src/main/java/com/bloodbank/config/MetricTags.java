@@ -0,0 +1,62 @@
+package com.bloodbank.config;
+
+import com.bloodbank.entity.BloodRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded tag values shared by the custom meters.
+ * Anything outside the known set collapses to "other" so a bad path or
+ * parameter cannot create new time series.
+ */
+final class MetricTags {
+    
+    static final String NONE = "none";
+    static final String OTHER = "other";
+    
+    private static final Set<String> BLOOD_GROUPS = Set.of("A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-");
+    private static final Set<String> REQUEST_STATUSES = Arrays.stream(BloodRequest.RequestStatus.values())
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+    
+    private MetricTags() {
+    }
+    
+    static String bloodGroup(Object value) {
+        if (value == null) {
+            return NONE;
+        }
+        String bloodGroup = value.toString().trim().toUpperCase(Locale.ROOT);
+        return BLOOD_GROUPS.contains(bloodGroup) ? bloodGroup : OTHER;
+    }
+    
+    static String status(Object value) {
+        if (value == null) {
+            return NONE;
+        }
+        String status = value instanceof Enum<?> e ? e.name() : value.toString().trim().toUpperCase(Locale.ROOT);
+        return REQUEST_STATUSES.contains(status) ? status : OTHER;
+    }
+    
+    /**
+     * The route of the HTTP request being handled on this thread, e.g. "GET /api/requests/{id}",
+     * or "none" for scheduled jobs and async listeners
+     */
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NONE;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : OTHER;
+    }
+}
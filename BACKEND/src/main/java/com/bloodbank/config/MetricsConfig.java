@@ -0,0 +1,72 @@
+package com.bloodbank.config;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Micrometer customisation on top of the Actuator defaults.
+ * http.server.requests gains blood group and status tags from the route,
+ * spring.data.repository.invocations gains the HTTP route that issued the query,
+ * and per-query Hibernate statistics are published next to the session-level ones.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object attribute = context.getCarrier().getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                Map<?, ?> variables = attribute instanceof Map<?, ?> map ? map : Map.of();
+                Object bloodGroup = variables.get("bloodGroup");
+                if (bloodGroup == null) {
+                    bloodGroup = context.getCarrier().getParameter("bloodGroup");
+                }
+                return super.getLowCardinalityKeyValues(context).and(
+                        "bloodGroup", MetricTags.bloodGroup(bloodGroup),
+                        "status", MetricTags.status(variables.get("status")));
+            }
+        };
+    }
+    
+    /**
+     * Tags repository timers with the endpoint on whose thread they ran,
+     * which shows which routes drive database load
+     */
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        return new DefaultRepositoryTagsProvider() {
+            @Override
+            public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+                return Tags.of(super.repositoryTags(invocation)).and("endpoint", MetricTags.currentEndpoint());
+            }
+        };
+    }
+    
+    /**
+     * Execution count and time for each JPQL/HQL query; needs hibernate.generate_statistics
+     */
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> new HibernateQueryMetrics(
+                entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", Tags.empty())
+                .bindTo(registry);
+    }
+}
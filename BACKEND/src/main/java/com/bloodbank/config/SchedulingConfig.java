@@ -0,0 +1,17 @@
+package com.bloodbank.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs and async event listeners.
+ * Set scheduling.enabled=false to run without them (e.g. in benchmarks).
+ */
+@Configuration
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
@@ -0,0 +1,61 @@
+package com.bloodbank.config;
+
+import com.bloodbank.entity.BloodRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the application's @Service beans as "bloodbank.service",
+ * tagged by class, method, exception and, where the method takes one, blood group and request status.
+ * Calls a service makes to itself bypass the proxy and are counted in the caller.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+    
+    public static final String METRIC_NAME = "bloodbank.service";
+    
+    private final MeterRegistry meterRegistry;
+    
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Around("within(com.bloodbank.service..*) && @within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = MetricTags.NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            String[] parameterNames = signature.getParameterNames();
+            Object[] args = joinPoint.getArgs();
+            Object bloodGroup = null;
+            Object status = null;
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] instanceof BloodRequest.RequestStatus) {
+                    status = args[i];
+                } else if (args[i] instanceof String && parameterNames != null && "bloodGroup".equals(parameterNames[i])) {
+                    bloodGroup = args[i];
+                }
+            }
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Service method execution time")
+                    .tag("class", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag("exception", exception)
+                    .tag("bloodGroup", MetricTags.bloodGroup(bloodGroup))
+                    .tag("status", MetricTags.status(status))
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -3,12 +3,16 @@ package com.bloodbank.controller;
 import com.bloodbank.dto.BloodInventoryDTO;
 import com.bloodbank.dto.CommonDTO;
 import com.bloodbank.service.BloodInventoryService;
+import com.bloodbank.service.EntityTagService;
+import com.bloodbank.service.RequestCoalescer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,6 +27,8 @@ import java.util.List;
 public class BloodInventoryController {
     
     private final BloodInventoryService bloodInventoryService;
+    private final RequestCoalescer requestCoalescer;
+    private final EntityTagService entityTagService;
     
     /**
      * Create a new blood inventory record
@@ -30,16 +36,10 @@ public class BloodInventoryController {
     @PostMapping
     public ResponseEntity<CommonDTO.ApiResponse<BloodInventoryDTO.BloodInventoryResponse>> createBloodInventory(
             @Valid @RequestBody BloodInventoryDTO.BloodInventoryCreateRequest request) {
-        try {
-            log.info("Creating new blood inventory for blood group: {}", request.getBloodGroup());
-            BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryService.createBloodInventory(request);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(CommonDTO.ApiResponse.success("Blood inventory created successfully", response));
-        } catch (RuntimeException e) {
-            log.error("Error creating blood inventory: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Creating new blood inventory for blood group: {}", request.getBloodGroup());
+        BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryService.createBloodInventory(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(CommonDTO.ApiResponse.success("Blood inventory created successfully", response));
     }
     
     /**
@@ -48,17 +48,11 @@ public class BloodInventoryController {
     @GetMapping("/{id}")
     public ResponseEntity<CommonDTO.ApiResponse<BloodInventoryDTO.BloodInventoryResponse>> getBloodInventoryById(
             @PathVariable Long id) {
-        try {
-            log.info("Fetching blood inventory with ID: {}", id);
-            return bloodInventoryService.getBloodInventoryById(id)
-                    .map(inventory -> ResponseEntity.ok(CommonDTO.ApiResponse.success(inventory)))
-                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
-                            .body(CommonDTO.ApiResponse.error("Blood inventory not found with ID: " + id)));
-        } catch (Exception e) {
-            log.error("Error fetching blood inventory: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching blood inventory with ID: {}", id);
+        return bloodInventoryService.getBloodInventoryById(id)
+                .map(inventory -> ResponseEntity.ok(CommonDTO.ApiResponse.success(inventory)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(CommonDTO.ApiResponse.error("Blood inventory not found with ID: " + id)));
     }
     
     /**
@@ -67,33 +61,27 @@ public class BloodInventoryController {
     @GetMapping("/blood-group/{bloodGroup}")
     public ResponseEntity<CommonDTO.ApiResponse<BloodInventoryDTO.BloodInventoryResponse>> getBloodInventoryByBloodGroup(
             @PathVariable String bloodGroup) {
-        try {
-            log.info("Fetching blood inventory for blood group: {}", bloodGroup);
-            return bloodInventoryService.getBloodInventoryByBloodGroup(bloodGroup)
-                    .map(inventory -> ResponseEntity.ok(CommonDTO.ApiResponse.success(inventory)))
-                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
-                            .body(CommonDTO.ApiResponse.error("Blood inventory not found for blood group: " + bloodGroup)));
-        } catch (Exception e) {
-            log.error("Error fetching blood inventory by blood group: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching blood inventory for blood group: {}", bloodGroup);
+        return bloodInventoryService.getBloodInventoryByBloodGroup(bloodGroup)
+                .map(inventory -> ResponseEntity.ok(CommonDTO.ApiResponse.success(inventory)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(CommonDTO.ApiResponse.error("Blood inventory not found for blood group: " + bloodGroup)));
     }
     
     /**
      * Get all blood inventories
      */
     @GetMapping
-    public ResponseEntity<CommonDTO.ApiResponse<List<BloodInventoryDTO.BloodInventorySummary>>> getAllBloodInventories() {
-        try {
-            log.info("Fetching all blood inventories");
-            List<BloodInventoryDTO.BloodInventorySummary> inventories = bloodInventoryService.getAllBloodInventories();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(inventories));
-        } catch (Exception e) {
-            log.error("Error fetching all blood inventories: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
+    public ResponseEntity<CommonDTO.ApiResponse<List<BloodInventoryDTO.BloodInventorySummary>>> getAllBloodInventories(
+            WebRequest webRequest) {
+        log.debug("Fetching all blood inventories");
+        String etag = entityTagService.getInventoryTag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
+        List<BloodInventoryDTO.BloodInventorySummary> inventories = bloodInventoryService.getAllBloodInventories();
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(CommonDTO.ApiResponse.success(inventories));
     }
     
     /**
@@ -103,15 +91,9 @@ public class BloodInventoryController {
     public ResponseEntity<CommonDTO.ApiResponse<BloodInventoryDTO.BloodInventoryResponse>> updateBloodInventory(
             @PathVariable Long id,
             @Valid @RequestBody BloodInventoryDTO.BloodInventoryUpdateRequest request) {
-        try {
-            log.info("Updating blood inventory with ID: {}", id);
-            BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryService.updateBloodInventory(id, request);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Blood inventory updated successfully", response));
-        } catch (RuntimeException e) {
-            log.error("Error updating blood inventory: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Updating blood inventory with ID: {}", id);
+        BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryService.updateBloodInventory(id, request);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Blood inventory updated successfully", response));
     }
     
     /**
@@ -121,15 +103,9 @@ public class BloodInventoryController {
     public ResponseEntity<CommonDTO.ApiResponse<BloodInventoryDTO.BloodInventoryResponse>> addUnits(
             @PathVariable String bloodGroup,
             @Valid @RequestBody BloodInventoryDTO.UnitsUpdateRequest request) {
-        try {
-            log.info("Adding {} units to blood group: {}", request.getUnits(), bloodGroup);
-            BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryService.addUnits(bloodGroup, request);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Units added successfully", response));
-        } catch (RuntimeException e) {
-            log.error("Error adding units: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Adding {} units to blood group: {}", request.getUnits(), bloodGroup);
+        BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryService.addUnits(bloodGroup, request);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Units added successfully", response));
     }
     
     /**
@@ -139,15 +115,20 @@ public class BloodInventoryController {
     public ResponseEntity<CommonDTO.ApiResponse<BloodInventoryDTO.BloodInventoryResponse>> removeUnits(
             @PathVariable String bloodGroup,
             @Valid @RequestBody BloodInventoryDTO.UnitsUpdateRequest request) {
-        try {
-            log.info("Removing {} units from blood group: {}", request.getUnits(), bloodGroup);
-            BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryService.removeUnits(bloodGroup, request);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Units removed successfully", response));
-        } catch (RuntimeException e) {
-            log.error("Error removing units: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Removing {} units from blood group: {}", request.getUnits(), bloodGroup);
+        BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryService.removeUnits(bloodGroup, request);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Units removed successfully", response));
+    }
+    
+    /**
+     * Receive the bags returned from a donation drive across blood groups
+     */
+    @PostMapping("/intake")
+    public ResponseEntity<CommonDTO.ApiResponse<BloodInventoryDTO.IntakeResponse>> intake(
+            @Valid @RequestBody BloodInventoryDTO.IntakeManifest manifest) {
+        log.debug("Receiving intake manifest of {} bags", manifest.getBags().size());
+        BloodInventoryDTO.IntakeResponse response = bloodInventoryService.intake(manifest);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Intake recorded successfully", response));
     }
     
     /**
@@ -155,15 +136,9 @@ public class BloodInventoryController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<CommonDTO.ApiResponse<Void>> deleteBloodInventory(@PathVariable Long id) {
-        try {
-            log.info("Deleting blood inventory with ID: {}", id);
-            bloodInventoryService.deleteBloodInventory(id);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Blood inventory deleted successfully", null));
-        } catch (RuntimeException e) {
-            log.error("Error deleting blood inventory: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Deleting blood inventory with ID: {}", id);
+        bloodInventoryService.deleteBloodInventory(id);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Blood inventory deleted successfully", null));
     }
     
     /**
@@ -171,15 +146,9 @@ public class BloodInventoryController {
      */
     @GetMapping("/critical-shortages")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodInventoryDTO.BloodInventorySummary>>> getCriticalShortages() {
-        try {
-            log.info("Fetching critical shortages");
-            List<BloodInventoryDTO.BloodInventorySummary> shortages = bloodInventoryService.getCriticalShortages();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(shortages));
-        } catch (Exception e) {
-            log.error("Error fetching critical shortages: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching critical shortages");
+        List<BloodInventoryDTO.BloodInventorySummary> shortages = bloodInventoryService.getCriticalShortages();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(shortages));
     }
     
     /**
@@ -187,15 +156,9 @@ public class BloodInventoryController {
      */
     @GetMapping("/low-stock")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodInventoryDTO.BloodInventorySummary>>> getLowStock() {
-        try {
-            log.info("Fetching low stock inventories");
-            List<BloodInventoryDTO.BloodInventorySummary> lowStock = bloodInventoryService.getLowStock();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(lowStock));
-        } catch (Exception e) {
-            log.error("Error fetching low stock inventories: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching low stock inventories");
+        List<BloodInventoryDTO.BloodInventorySummary> lowStock = bloodInventoryService.getLowStock();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(lowStock));
     }
     
     /**
@@ -203,15 +166,9 @@ public class BloodInventoryController {
      */
     @GetMapping("/out-of-stock")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodInventoryDTO.BloodInventorySummary>>> getOutOfStock() {
-        try {
-            log.info("Fetching out of stock inventories");
-            List<BloodInventoryDTO.BloodInventorySummary> outOfStock = bloodInventoryService.getOutOfStock();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(outOfStock));
-        } catch (Exception e) {
-            log.error("Error fetching out of stock inventories: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching out of stock inventories");
+        List<BloodInventoryDTO.BloodInventorySummary> outOfStock = bloodInventoryService.getOutOfStock();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(outOfStock));
     }
     
     /**
@@ -221,31 +178,25 @@ public class BloodInventoryController {
     public ResponseEntity<CommonDTO.ApiResponse<Boolean>> checkAvailability(
             @PathVariable String bloodGroup,
             @RequestParam Integer requiredUnits) {
-        try {
-            log.info("Checking availability of {} units for blood group: {}", requiredUnits, bloodGroup);
-            boolean available = bloodInventoryService.hasSufficientUnits(bloodGroup, requiredUnits);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(available));
-        } catch (Exception e) {
-            log.error("Error checking availability: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Checking availability of {} units for blood group: {}", requiredUnits, bloodGroup);
+        boolean available = bloodInventoryService.hasSufficientUnits(bloodGroup, requiredUnits);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(available));
     }
     
     /**
      * Get blood group availability
      */
     @GetMapping("/availability")
-    public ResponseEntity<CommonDTO.ApiResponse<List<BloodInventoryDTO.BloodGroupAvailability>>> getBloodGroupAvailability() {
-        try {
-            log.info("Fetching blood group availability");
-            List<BloodInventoryDTO.BloodGroupAvailability> availability = bloodInventoryService.getBloodGroupAvailability();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(availability));
-        } catch (Exception e) {
-            log.error("Error fetching blood group availability: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
+    public ResponseEntity<CommonDTO.ApiResponse<List<BloodInventoryDTO.BloodGroupAvailability>>> getBloodGroupAvailability(
+            WebRequest webRequest) {
+        log.debug("Fetching blood group availability");
+        String etag = entityTagService.getInventoryTag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
+        List<BloodInventoryDTO.BloodGroupAvailability> availability = bloodInventoryService.getBloodGroupAvailability();
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(CommonDTO.ApiResponse.success(availability));
     }
     
     /**
@@ -253,15 +204,10 @@ public class BloodInventoryController {
      */
     @GetMapping("/statistics")
     public ResponseEntity<CommonDTO.ApiResponse<BloodInventoryDTO.InventoryStats>> getInventoryStatistics() {
-        try {
-            log.info("Fetching inventory statistics");
-            BloodInventoryDTO.InventoryStats stats = bloodInventoryService.getInventoryStatistics();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
-        } catch (Exception e) {
-            log.error("Error fetching inventory statistics: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching inventory statistics");
+        BloodInventoryDTO.InventoryStats stats = requestCoalescer.execute(
+                RequestCoalescer.INVENTORY_STATISTICS, bloodInventoryService::getInventoryStatistics);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
     }
     
     /**
@@ -269,14 +215,8 @@ public class BloodInventoryController {
      */
     @PostMapping("/initialize")
     public ResponseEntity<CommonDTO.ApiResponse<Void>> initializeBloodGroups() {
-        try {
-            log.info("Initializing blood groups");
-            bloodInventoryService.initializeBloodGroups();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Blood groups initialized successfully", null));
-        } catch (Exception e) {
-            log.error("Error initializing blood groups: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Initializing blood groups");
+        bloodInventoryService.initializeBloodGroups();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Blood groups initialized successfully", null));
     }
 }
\ No newline at end of file
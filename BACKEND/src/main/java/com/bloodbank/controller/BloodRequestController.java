@@ -4,14 +4,20 @@ import com.bloodbank.dto.BloodRequestDTO;
 import com.bloodbank.dto.CommonDTO;
 import com.bloodbank.entity.BloodRequest;
 import com.bloodbank.service.BloodRequestService;
+import com.bloodbank.service.EntityTagService;
+import com.bloodbank.service.RequestCoalescer;
+import com.bloodbank.service.ReservationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST Controller for BloodRequest operations
@@ -24,6 +30,9 @@ import java.util.List;
 public class BloodRequestController {
     
     private final BloodRequestService bloodRequestService;
+    private final ReservationService reservationService;
+    private final RequestCoalescer requestCoalescer;
+    private final EntityTagService entityTagService;
     
     /**
      * Create a new blood request
@@ -31,16 +40,10 @@ public class BloodRequestController {
     @PostMapping
     public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.BloodRequestResponse>> createBloodRequest(
             @Valid @RequestBody BloodRequestDTO.BloodRequestCreateRequest request) {
-        try {
-            log.info("Creating new blood request for blood group: {} by {}", request.getBloodGroup(), request.getRequesterName());
-            BloodRequestDTO.BloodRequestResponse response = bloodRequestService.createBloodRequest(request);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(CommonDTO.ApiResponse.success("Blood request created successfully", response));
-        } catch (RuntimeException e) {
-            log.error("Error creating blood request: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Creating new blood request for blood group: {} by {}", request.getBloodGroup(), request.getRequesterName());
+        BloodRequestDTO.BloodRequestResponse response = bloodRequestService.createBloodRequest(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(CommonDTO.ApiResponse.success("Blood request created successfully", response));
     }
     
     /**
@@ -48,34 +51,32 @@ public class BloodRequestController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.BloodRequestResponse>> getBloodRequestById(
-            @PathVariable Long id) {
-        try {
-            log.info("Fetching blood request with ID: {}", id);
-            return bloodRequestService.getBloodRequestById(id)
-                    .map(request -> ResponseEntity.ok(CommonDTO.ApiResponse.success(request)))
-                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
-                            .body(CommonDTO.ApiResponse.error("Blood request not found with ID: " + id)));
-        } catch (Exception e) {
-            log.error("Error fetching blood request: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
+            @PathVariable Long id, WebRequest webRequest) {
+        log.debug("Fetching blood request with ID: {}", id);
+        Optional<BloodRequestDTO.BloodRequestResponse> request = bloodRequestService.getBloodRequestById(id);
+        if (request.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(CommonDTO.ApiResponse.error("Blood request not found with ID: " + id));
+        }
+        String etag = entityTagService.getBloodRequestTag(id, request.get().getUpdatedAt());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
         }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(CommonDTO.ApiResponse.success(request.get()));
     }
     
     /**
-     * Get all blood requests
+     * Get all blood requests, optionally restricted to a sparse field set (?fields=id,bloodGroup,status)
      */
     @GetMapping
-    public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> getAllBloodRequests() {
-        try {
-            log.info("Fetching all blood requests");
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getAllBloodRequests();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error fetching all blood requests: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+    public ResponseEntity<CommonDTO.ApiResponse<List<?>>> getAllBloodRequests(
+            @RequestParam(required = false) String fields) {
+        log.debug("Fetching all blood requests");
+        List<?> requests = fields != null
+                ? bloodRequestService.getAllBloodRequests(fields)
+                : bloodRequestService.getAllBloodRequests();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.<List<?>>success(requests));
     }
     
     /**
@@ -84,15 +85,9 @@ public class BloodRequestController {
     @GetMapping("/status/{status}")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> getBloodRequestsByStatus(
             @PathVariable BloodRequest.RequestStatus status) {
-        try {
-            log.info("Fetching blood requests with status: {}", status);
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getBloodRequestsByStatus(status);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error fetching blood requests by status: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching blood requests with status: {}", status);
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getBloodRequestsByStatus(status);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -100,15 +95,9 @@ public class BloodRequestController {
      */
     @GetMapping("/pending")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> getPendingBloodRequests() {
-        try {
-            log.info("Fetching pending blood requests");
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getPendingBloodRequests();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error fetching pending blood requests: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching pending blood requests");
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getPendingBloodRequests();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -116,15 +105,9 @@ public class BloodRequestController {
      */
     @GetMapping("/emergency")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> getEmergencyBloodRequests() {
-        try {
-            log.info("Fetching emergency blood requests");
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getEmergencyBloodRequests();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error fetching emergency blood requests: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching emergency blood requests");
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getEmergencyBloodRequests();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -133,15 +116,9 @@ public class BloodRequestController {
     @GetMapping("/blood-group/{bloodGroup}")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> getBloodRequestsByBloodGroup(
             @PathVariable String bloodGroup) {
-        try {
-            log.info("Fetching blood requests for blood group: {}", bloodGroup);
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getBloodRequestsByBloodGroup(bloodGroup);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error fetching blood requests by blood group: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching blood requests for blood group: {}", bloodGroup);
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getBloodRequestsByBloodGroup(bloodGroup);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -150,15 +127,9 @@ public class BloodRequestController {
     @GetMapping("/email/{email}")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> getBloodRequestsByEmail(
             @PathVariable String email) {
-        try {
-            log.info("Fetching blood requests for email: {}", email);
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getBloodRequestsByEmail(email);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error fetching blood requests by email: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching blood requests for email: {}", email);
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getBloodRequestsByEmail(email);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -168,15 +139,21 @@ public class BloodRequestController {
     public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.BloodRequestResponse>> updateRequestStatus(
             @PathVariable Long id,
             @Valid @RequestBody BloodRequestDTO.BloodRequestStatusUpdate request) {
-        try {
-            log.info("Updating blood request status for ID: {} to {}", id, request.getStatus());
-            BloodRequestDTO.BloodRequestResponse response = bloodRequestService.updateRequestStatus(id, request);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Request status updated successfully", response));
-        } catch (RuntimeException e) {
-            log.error("Error updating request status: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Updating blood request status for ID: {} to {}", id, request.getStatus());
+        BloodRequestDTO.BloodRequestResponse response = bloodRequestService.updateRequestStatus(id, request);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Request status updated successfully", response));
+    }
+    
+    /**
+     * Move many pending blood requests to one status in a single transaction, with a result per request
+     */
+    @PutMapping("/bulk/status")
+    public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.BulkStatusUpdateResponse>> bulkUpdateStatus(
+            @Valid @RequestBody BloodRequestDTO.BulkStatusUpdate request) {
+        log.debug("Bulk updating {} blood requests to {}", request.getIds().size(), request.getStatus());
+        BloodRequestDTO.BulkStatusUpdateResponse response = bloodRequestService.bulkUpdateStatus(request);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(
+                "Updated " + response.getUpdated() + " of " + response.getRequested() + " blood requests", response));
     }
     
     /**
@@ -186,15 +163,30 @@ public class BloodRequestController {
     public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.BloodRequestResponse>> approveAndFulfillRequest(
             @PathVariable Long id,
             @Valid @RequestBody BloodRequestDTO.BloodRequestStatusUpdate request) {
-        try {
-            log.info("Approving and fulfilling blood request with ID: {}", id);
-            BloodRequestDTO.BloodRequestResponse response = bloodRequestService.approveAndFulfillRequest(id, request);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Request approved and fulfilled successfully", response));
-        } catch (RuntimeException e) {
-            log.error("Error approving and fulfilling request: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Approving and fulfilling blood request with ID: {}", id);
+        BloodRequestDTO.BloodRequestResponse response = bloodRequestService.approveAndFulfillRequest(id, request);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Request approved and fulfilled successfully", response));
+    }
+    
+    /**
+     * Fulfill an approved blood request from its held units
+     */
+    @PutMapping("/{id}/fulfill")
+    public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.BloodRequestResponse>> fulfillApprovedRequest(
+            @PathVariable Long id,
+            @Valid @RequestBody BloodRequestDTO.BloodRequestStatusUpdate request) {
+        log.debug("Fulfilling approved blood request with ID: {}", id);
+        BloodRequestDTO.BloodRequestResponse response = bloodRequestService.fulfillApprovedRequest(id, request);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Request fulfilled successfully", response));
+    }
+    
+    /**
+     * Get the units currently held for an approved blood request
+     */
+    @GetMapping("/{id}/reservation")
+    public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.ReservationResponse>> getReservation(@PathVariable Long id) {
+        log.debug("Fetching hold for blood request with ID: {}", id);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(reservationService.getActiveReservation(id)));
     }
     
     /**
@@ -204,15 +196,9 @@ public class BloodRequestController {
     public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.BloodRequestResponse>> cancelBloodRequest(
             @PathVariable Long id,
             @RequestParam String reason) {
-        try {
-            log.info("Cancelling blood request with ID: {}", id);
-            BloodRequestDTO.BloodRequestResponse response = bloodRequestService.cancelBloodRequest(id, reason);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Request cancelled successfully", response));
-        } catch (RuntimeException e) {
-            log.error("Error cancelling request: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Cancelling blood request with ID: {}", id);
+        BloodRequestDTO.BloodRequestResponse response = bloodRequestService.cancelBloodRequest(id, reason);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Request cancelled successfully", response));
     }
     
     /**
@@ -220,15 +206,9 @@ public class BloodRequestController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<CommonDTO.ApiResponse<Void>> deleteBloodRequest(@PathVariable Long id) {
-        try {
-            log.info("Deleting blood request with ID: {}", id);
-            bloodRequestService.deleteBloodRequest(id);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success("Blood request deleted successfully", null));
-        } catch (RuntimeException e) {
-            log.error("Error deleting blood request: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Deleting blood request with ID: {}", id);
+        bloodRequestService.deleteBloodRequest(id);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Blood request deleted successfully", null));
     }
     
     /**
@@ -236,15 +216,9 @@ public class BloodRequestController {
      */
     @GetMapping("/recent")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> getRecentBloodRequests() {
-        try {
-            log.info("Fetching recent blood requests");
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getRecentBloodRequests();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error fetching recent blood requests: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching recent blood requests");
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getRecentBloodRequests();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -252,15 +226,9 @@ public class BloodRequestController {
      */
     @GetMapping("/overdue")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> getOverduePendingRequests() {
-        try {
-            log.info("Fetching overdue pending requests");
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getOverduePendingRequests();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error fetching overdue pending requests: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching overdue pending requests");
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.getOverduePendingRequests();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -269,15 +237,9 @@ public class BloodRequestController {
     @GetMapping("/search/hospital")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> searchByHospitalName(
             @RequestParam String hospitalName) {
-        try {
-            log.info("Searching blood requests by hospital name: {}", hospitalName);
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.searchByHospitalName(hospitalName);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error searching requests by hospital: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Searching blood requests by hospital name: {}", hospitalName);
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.searchByHospitalName(hospitalName);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -286,15 +248,9 @@ public class BloodRequestController {
     @GetMapping("/search/patient")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodRequestSummary>>> searchByPatientName(
             @RequestParam String patientName) {
-        try {
-            log.info("Searching blood requests by patient name: {}", patientName);
-            List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.searchByPatientName(patientName);
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
-        } catch (Exception e) {
-            log.error("Error searching requests by patient: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Searching blood requests by patient name: {}", patientName);
+        List<BloodRequestDTO.BloodRequestSummary> requests = bloodRequestService.searchByPatientName(patientName);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(requests));
     }
     
     /**
@@ -302,15 +258,10 @@ public class BloodRequestController {
      */
     @GetMapping("/statistics")
     public ResponseEntity<CommonDTO.ApiResponse<BloodRequestDTO.RequestStats>> getRequestStatistics() {
-        try {
-            log.info("Fetching request statistics");
-            BloodRequestDTO.RequestStats stats = bloodRequestService.getRequestStatistics();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
-        } catch (Exception e) {
-            log.error("Error fetching request statistics: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching request statistics");
+        BloodRequestDTO.RequestStats stats = requestCoalescer.execute(
+                RequestCoalescer.REQUEST_STATISTICS, bloodRequestService::getRequestStatistics);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
     }
     
     /**
@@ -318,14 +269,9 @@ public class BloodRequestController {
      */
     @GetMapping("/statistics/blood-groups")
     public ResponseEntity<CommonDTO.ApiResponse<List<BloodRequestDTO.BloodGroupRequestStats>>> getBloodGroupRequestStatistics() {
-        try {
-            log.info("Fetching blood group request statistics");
-            List<BloodRequestDTO.BloodGroupRequestStats> stats = bloodRequestService.getBloodGroupRequestStatistics();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
-        } catch (Exception e) {
-            log.error("Error fetching blood group request statistics: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching blood group request statistics");
+        List<BloodRequestDTO.BloodGroupRequestStats> stats = requestCoalescer.execute(
+                RequestCoalescer.REQUEST_BLOOD_GROUP_STATISTICS, bloodRequestService::getBloodGroupRequestStatistics);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
     }
 }
\ No newline at end of file
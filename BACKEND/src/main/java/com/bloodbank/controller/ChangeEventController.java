@@ -0,0 +1,34 @@
+package com.bloodbank.controller;
+
+import com.bloodbank.dto.ChangeEventDTO;
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.service.ChangeEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the change-event feed used by integrations
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class ChangeEventController {
+    
+    private final ChangeEventService changeEventService;
+    
+    /**
+     * Get change events after a sequence number
+     */
+    @GetMapping
+    public ResponseEntity<CommonDTO.ApiResponse<ChangeEventDTO.ChangeFeed>> getChanges(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("Fetching change events after sequence: {}", after);
+        ChangeEventDTO.ChangeFeed feed = changeEventService.getChanges(after, limit);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(feed));
+    }
+}
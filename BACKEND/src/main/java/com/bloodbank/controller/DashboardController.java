@@ -1,12 +1,16 @@
 package com.bloodbank.controller;
 
 import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.service.CacheStatsService;
 import com.bloodbank.service.DashboardService;
+import com.bloodbank.service.RequestCoalescer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST Controller for Dashboard operations and statistics
  */
@@ -18,21 +22,18 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
     
     private final DashboardService dashboardService;
+    private final CacheStatsService cacheStatsService;
+    private final RequestCoalescer requestCoalescer;
     
     /**
      * Get dashboard statistics
      */
     @GetMapping("/stats")
     public ResponseEntity<CommonDTO.ApiResponse<CommonDTO.DashboardStats>> getDashboardStats() {
-        try {
-            log.info("Fetching dashboard statistics");
-            CommonDTO.DashboardStats stats = dashboardService.getDashboardStats();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
-        } catch (Exception e) {
-            log.error("Error fetching dashboard statistics: {}", e.getMessage());
-            return ResponseEntity.status(500)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Fetching dashboard statistics");
+        CommonDTO.DashboardStats stats = requestCoalescer.execute(
+                RequestCoalescer.DASHBOARD_STATS, dashboardService::getDashboardStats);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
     }
     
     /**
@@ -40,14 +41,29 @@ public class DashboardController {
      */
     @GetMapping("/health")
     public ResponseEntity<CommonDTO.ApiResponse<String>> getSystemHealthStatus() {
-        try {
-            log.info("Checking system health status");
-            String healthStatus = dashboardService.getSystemHealthStatus();
-            return ResponseEntity.ok(CommonDTO.ApiResponse.success(healthStatus));
-        } catch (Exception e) {
-            log.error("Error checking system health: {}", e.getMessage());
-            return ResponseEntity.status(500)
-                    .body(CommonDTO.ApiResponse.error(e.getMessage()));
-        }
+        log.debug("Checking system health status");
+        String healthStatus = requestCoalescer.execute(
+                RequestCoalescer.DASHBOARD_HEALTH, dashboardService::getSystemHealthStatus);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(healthStatus));
+    }
+    
+    /**
+     * Get read cache statistics
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<CommonDTO.ApiResponse<List<CommonDTO.CacheStats>>> getCacheStatistics() {
+        log.debug("Fetching cache statistics");
+        List<CommonDTO.CacheStats> stats = cacheStatsService.getCacheStatistics();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
+    }
+    
+    /**
+     * Get request coalescing statistics
+     */
+    @GetMapping("/coalescing-stats")
+    public ResponseEntity<CommonDTO.ApiResponse<List<CommonDTO.CoalescingStats>>> getCoalescingStatistics() {
+        log.debug("Fetching request coalescing statistics");
+        List<CommonDTO.CoalescingStats> stats = requestCoalescer.getCoalescingStatistics();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(stats));
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.bloodbank.controller;
+
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.dto.DonationDTO;
+import com.bloodbank.service.DonationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for Donation operations
+ */
+@RestController
+@RequestMapping("/api/donations")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class DonationController {
+    
+    private final DonationService donationService;
+    
+    /**
+     * Record a donation. Answers 202 when the units are still on their way to the inventory.
+     */
+    @PostMapping
+    public ResponseEntity<CommonDTO.ApiResponse<DonationDTO.DonationResponse>> recordDonation(
+            @Valid @RequestBody DonationDTO.DonationCreateRequest request) {
+        log.debug("Recording donation for donor ID: {}", request.getDonorId());
+        DonationDTO.DonationResponse response = donationService.recordDonation(request);
+        HttpStatus status = Boolean.TRUE.equals(response.getInventoryApplied()) ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status)
+                .body(CommonDTO.ApiResponse.success("Donation recorded successfully", response));
+    }
+    
+    /**
+     * Get donation by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<CommonDTO.ApiResponse<DonationDTO.DonationResponse>> getDonationById(@PathVariable Long id) {
+        log.debug("Fetching donation with ID: {}", id);
+        DonationDTO.DonationResponse response = donationService.getDonationById(id);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(response));
+    }
+    
+    /**
+     * Get the donations of a donor
+     */
+    @GetMapping("/donor/{donorId}")
+    public ResponseEntity<CommonDTO.ApiResponse<List<DonationDTO.DonationResponse>>> getDonationsByDonor(
+            @PathVariable Long donorId) {
+        log.debug("Fetching donations for donor ID: {}", donorId);
+        List<DonationDTO.DonationResponse> donations = donationService.getDonationsByDonor(donorId);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(donations));
+    }
+}
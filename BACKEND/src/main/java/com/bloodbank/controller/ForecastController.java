@@ -0,0 +1,54 @@
+package com.bloodbank.controller;
+
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.dto.ForecastDTO;
+import com.bloodbank.service.ForecastService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for demand forecasts and reorder points
+ */
+@RestController
+@RequestMapping("/api/forecasts")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class ForecastController {
+    
+    private final ForecastService forecastService;
+    
+    /**
+     * Get forecasts for all blood groups
+     */
+    @GetMapping
+    public ResponseEntity<CommonDTO.ApiResponse<List<ForecastDTO.ForecastResponse>>> getForecasts() {
+        log.debug("Fetching demand forecasts");
+        List<ForecastDTO.ForecastResponse> forecasts = forecastService.getForecasts();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(forecasts));
+    }
+    
+    /**
+     * Get the forecast for one blood group
+     */
+    @GetMapping("/{bloodGroup}")
+    public ResponseEntity<CommonDTO.ApiResponse<ForecastDTO.ForecastResponse>> getForecast(@PathVariable String bloodGroup) {
+        log.debug("Fetching demand forecast for blood group: {}", bloodGroup);
+        ForecastDTO.ForecastResponse forecast = forecastService.getForecast(bloodGroup);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(forecast));
+    }
+    
+    /**
+     * Refresh forecasts now instead of waiting for the nightly run
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<CommonDTO.ApiResponse<Void>> refreshForecasts() {
+        log.debug("Refreshing demand forecasts");
+        forecastService.refreshForecasts();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Demand forecasts refreshed successfully", null));
+    }
+}
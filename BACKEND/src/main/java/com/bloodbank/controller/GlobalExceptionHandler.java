@@ -1,6 +1,12 @@
 package com.bloodbank.controller;
 
 import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.exception.BloodBankException;
+import com.bloodbank.exception.CapacityExceededException;
+import com.bloodbank.exception.DuplicateResourceException;
+import com.bloodbank.exception.InsufficientUnitsException;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.exception.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -47,6 +53,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    /**
+     * Handle lookups of missing resources
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<CommonDTO.ApiResponse<Void>> handleNotFound(ResourceNotFoundException ex) {
+        return businessError(HttpStatus.NOT_FOUND, ex);
+    }
+    
+    /**
+     * Handle operations that conflict with the current state (duplicates, processed requests, stock levels)
+     */
+    @ExceptionHandler({
+        DuplicateResourceException.class,
+        InvalidStateException.class,
+        InsufficientUnitsException.class,
+        CapacityExceededException.class
+    })
+    public ResponseEntity<CommonDTO.ApiResponse<Void>> handleConflict(BloodBankException ex) {
+        return businessError(HttpStatus.CONFLICT, ex);
+    }
+    
+    /**
+     * Business outcomes keep the ApiResponse body controllers used to return.
+     * They are expected, so they are logged at debug level without a stack trace.
+     */
+    private ResponseEntity<CommonDTO.ApiResponse<Void>> businessError(HttpStatus status, BloodBankException ex) {
+        log.debug("{} {}: {}", status.value(), ex.getClass().getSimpleName(), ex.getMessage());
+        return ResponseEntity.status(status).body(CommonDTO.ApiResponse.error(ex.getMessage()));
+    }
+    
     /**
      * Handle runtime exceptions
      */
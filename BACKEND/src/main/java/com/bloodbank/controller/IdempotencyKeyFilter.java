@@ -0,0 +1,210 @@
+package com.bloodbank.controller;
+
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Makes blood request creation, fulfilment and donation recording safe to retry.
+ * When the client sends an Idempotency-Key, the first request with that key runs and its
+ * response (anything below 500) is stored; retries with the same key and body get the
+ * stored response back, marked with Idempotent-Replayed, without reaching the controller.
+ * A claim without a stored response is treated as abandoned after
+ * idempotency.claim-timeout-seconds, so a request that runs longer than that can be
+ * taken over by a retry and run twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+    private static final Pattern FULFILL = Pattern.compile("/api/requests/\\d+/(approve-fulfill|fulfill)");
+    
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = path(request);
+        return !(("POST".equals(request.getMethod()) && ("/api/requests".equals(path) || "/api/donations".equals(path)))
+                || ("PUT".equals(request.getMethod()) && FULFILL.matcher(path).matches()));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (!VALID_KEY.matcher(key).matches()) {
+            writeError(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-64 letters, digits or . _ : -");
+            return;
+        }
+        
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = requestHash(request, body);
+        IdempotencyService.Claim claim = idempotencyService.begin(key, requestHash);
+        switch (claim.state()) {
+            case REPLAY -> {
+                log.debug("Replaying stored response for idempotency key {}", key);
+                response.setStatus(claim.response().status());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setHeader(REPLAYED_HEADER, "true");
+                if (claim.response().body() != null) {
+                    response.getWriter().write(claim.response().body());
+                }
+            }
+            case IN_PROGRESS -> writeError(response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed");
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+            case CLAIMED -> execute(key, requestHash, new CachedBodyRequest(request, body), response, filterChain);
+        }
+    }
+    
+    private void execute(String key, String requestHash, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            try {
+                filterChain.doFilter(request, cachingResponse);
+            } catch (ServletException | IOException | RuntimeException e) {
+                idempotencyService.release(key);
+                throw e;
+            }
+            int status = cachingResponse.getStatus();
+            if (status >= 500) {
+                idempotencyService.release(key);
+            } else {
+                store(key, requestHash, status, new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+            }
+        } finally {
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+    
+    /**
+     * The request has run by now, so a failure to store its response must not free the key:
+     * retries get 409 until the claim times out instead of running the request again
+     */
+    private void store(String key, String requestHash, int status, String body) {
+        try {
+            idempotencyService.complete(key, requestHash, status, body);
+        } catch (RuntimeException e) {
+            log.error("Could not store the response for idempotency key {}; it stays in progress until the claim times out",
+                    key, e);
+        }
+    }
+    
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), CommonDTO.ApiResponse.error(message));
+    }
+    
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+    
+    private static String requestHash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + path(request) + '\n').getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    /**
+     * Request whose body was already read by the filter and is served again to the controller
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                
+                @Override
+                public int read() {
+                    return input.read();
+                }
+                
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+                
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+        
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+        
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bloodbank.controller;
+
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.dto.LedgerDTO;
+import com.bloodbank.service.InventoryLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST Controller for the inventory movement ledger
+ */
+@RestController
+@RequestMapping("/api/ledger")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class InventoryLedgerController {
+    
+    private final InventoryLedgerService inventoryLedgerService;
+    
+    /**
+     * Get stock movements of a blood group
+     */
+    @GetMapping("/{bloodGroup}/movements")
+    public ResponseEntity<CommonDTO.ApiResponse<List<LedgerDTO.MovementResponse>>> getMovements(
+            @PathVariable String bloodGroup,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("Fetching ledger movements for blood group: {}", bloodGroup);
+        List<LedgerDTO.MovementResponse> movements = inventoryLedgerService.getMovements(bloodGroup, from, to, limit);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(movements));
+    }
+    
+    /**
+     * Get the balance of a blood group at a point in time (defaults to now)
+     */
+    @GetMapping("/{bloodGroup}/balance")
+    public ResponseEntity<CommonDTO.ApiResponse<LedgerDTO.BalanceResponse>> getBalance(
+            @PathVariable String bloodGroup,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        log.debug("Computing ledger balance for blood group: {}", bloodGroup);
+        LedgerDTO.BalanceResponse balance = inventoryLedgerService.getBalanceAt(bloodGroup, at);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(balance));
+    }
+}
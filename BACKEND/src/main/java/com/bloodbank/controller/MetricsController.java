@@ -0,0 +1,41 @@
+package com.bloodbank.controller;
+
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.dto.MetricsDTO;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller for request and donation volume charts
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class MetricsController {
+    
+    private final RollupService rollupService;
+    
+    /**
+     * Get a metric time series
+     */
+    @GetMapping("/series")
+    public ResponseEntity<CommonDTO.ApiResponse<MetricsDTO.MetricSeries>> getSeries(
+            @RequestParam MetricRollup.Metric metric,
+            @RequestParam(required = false) String bloodGroup,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) MetricRollup.Tier resolution) {
+        log.debug("Fetching {} series for blood group: {}", metric, bloodGroup);
+        MetricsDTO.MetricSeries series = rollupService.getSeries(metric, bloodGroup, from, to, resolution);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(series));
+    }
+}
@@ -0,0 +1,71 @@
+package com.bloodbank.controller;
+
+import com.bloodbank.dto.CampaignDTO;
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.entity.RecallCampaign;
+import com.bloodbank.service.RecallCampaignService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for donor recall campaigns
+ */
+@RestController
+@RequestMapping("/api/campaigns")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class RecallCampaignController {
+    
+    private final RecallCampaignService recallCampaignService;
+    
+    /**
+     * Start a new recall campaign
+     */
+    @PostMapping
+    public ResponseEntity<CommonDTO.ApiResponse<CampaignDTO.CampaignResponse>> startCampaign(
+            @Valid @RequestBody CampaignDTO.CampaignCreateRequest request) {
+        log.debug("Starting recall campaign for blood group: {}", request.getBloodGroup());
+        CampaignDTO.CampaignResponse response = recallCampaignService.startCampaign(request, RecallCampaign.TriggerType.MANUAL);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(CommonDTO.ApiResponse.success("Recall campaign started successfully", response));
+    }
+    
+    /**
+     * Get recall campaign by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<CommonDTO.ApiResponse<CampaignDTO.CampaignResponse>> getCampaignById(@PathVariable Long id) {
+        log.debug("Fetching recall campaign with ID: {}", id);
+        return recallCampaignService.getCampaignById(id)
+                .map(campaign -> ResponseEntity.ok(CommonDTO.ApiResponse.success(campaign)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(CommonDTO.ApiResponse.error("Recall campaign not found with ID: " + id)));
+    }
+    
+    /**
+     * Get all recall campaigns
+     */
+    @GetMapping
+    public ResponseEntity<CommonDTO.ApiResponse<List<CampaignDTO.CampaignResponse>>> getAllCampaigns() {
+        log.debug("Fetching all recall campaigns");
+        List<CampaignDTO.CampaignResponse> campaigns = recallCampaignService.getAllCampaigns();
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success(campaigns));
+    }
+    
+    /**
+     * Cancel a recall campaign
+     */
+    @PutMapping("/{id}/cancel")
+    public ResponseEntity<CommonDTO.ApiResponse<CampaignDTO.CampaignResponse>> cancelCampaign(@PathVariable Long id) {
+        log.debug("Cancelling recall campaign with ID: {}", id);
+        CampaignDTO.CampaignResponse response = recallCampaignService.cancelCampaign(id);
+        return ResponseEntity.ok(CommonDTO.ApiResponse.success("Recall campaign cancelled successfully", response));
+    }
+}
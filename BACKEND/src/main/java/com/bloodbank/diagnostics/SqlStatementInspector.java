@@ -0,0 +1,16 @@
+package com.bloodbank.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares into the open {@link SqlStatistics} scopes.
+ * Registered through hibernate.session_factory.statement_inspector; the SQL is returned unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        SqlStatistics.recordStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,151 @@
+package com.bloodbank.diagnostics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per-thread SQL statement counting. Hibernate reports every statement it prepares
+ * through {@link SqlStatementInspector}; the JDBC layer reports execution time.
+ * Both are added to every scope open on the thread, so a test can wrap an
+ * endpoint call while the request filter keeps its own scope inside it.
+ * Statements are keyed by a bind-free fingerprint.
+ */
+public final class SqlStatistics {
+    
+    /**
+     * Slow statements go to their own logger so they can be sampled and routed separately
+     */
+    public static final String SLOW_QUERY_LOGGER = "com.bloodbank.sql.slow";
+    
+    private static final Logger slowQueryLog = LoggerFactory.getLogger(SLOW_QUERY_LOGGER);
+    
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    /**
+     * Hibernate generates a bounded set of SQL strings, so their fingerprints are memoised
+     */
+    private static final Map<String, String> FINGERPRINTS = new ConcurrentHashMap<>();
+    private static final int MAX_FINGERPRINTS = 4096;
+    
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private static volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(200);
+    
+    private SqlStatistics() {
+    }
+    
+    /**
+     * Start counting statements issued on the current thread until the scope is closed
+     */
+    public static Scope open() {
+        Scope scope = new Scope();
+        SCOPES.get().push(scope);
+        return scope;
+    }
+    
+    static void setSlowThresholdMillis(long millis) {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+    
+    /**
+     * Called once for every statement Hibernate prepares
+     */
+    static void recordStatement(String sql) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        for (Scope scope : scopes) {
+            scope.statements.merge(fingerprint, 1, Integer::sum);
+            scope.statementCount++;
+        }
+    }
+    
+    /**
+     * Called after every JDBC execution, including those not issued through Hibernate
+     */
+    public static void recordExecution(String sql, long nanos) {
+        for (Scope scope : SCOPES.get()) {
+            scope.executionNanos += nanos;
+        }
+        if (nanos >= slowThresholdNanos && sql != null) {
+            slowQueryLog.info("Slow SQL statement ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), fingerprint(sql));
+        }
+    }
+    
+    /**
+     * Normalise a statement so executions with different bind values compare equal:
+     * literals and IN lists collapse to "?", whitespace and case are normalised
+     */
+    public static String fingerprint(String sql) {
+        String cached = FINGERPRINTS.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        fingerprint = PLACEHOLDER_LIST.matcher(fingerprint).replaceAll("(?...)");
+        if (FINGERPRINTS.size() < MAX_FINGERPRINTS) {
+            FINGERPRINTS.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+    
+    /**
+     * Statements counted between {@link #open()} and {@link #close()}
+     */
+    public static final class Scope implements AutoCloseable {
+        
+        private final Map<String, Integer> statements = new LinkedHashMap<>();
+        private int statementCount;
+        private long executionNanos;
+        
+        private Scope() {
+        }
+        
+        public int getStatementCount() {
+            return statementCount;
+        }
+        
+        public long getExecutionMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(executionNanos);
+        }
+        
+        /**
+         * Statement counts by fingerprint, in first-seen order
+         */
+        public Map<String, Integer> getStatementsByFingerprint() {
+            return Collections.unmodifiableMap(statements);
+        }
+        
+        /**
+         * Fingerprints issued at least {@code minRepeats} times, the usual shape of an N+1
+         */
+        public Map<String, Integer> getRepeatedStatements(int minRepeats) {
+            return statements.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= minRepeats)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        }
+        
+        @Override
+        public void close() {
+            SCOPES.get().remove(this);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bloodbank.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements each HTTP request issues and warns when a request
+ * exceeds its statement budget or repeats one statement often enough to look like an N+1
+ */
+@Component
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    
+    @Value("${sql.statistics.max-statements-per-request:20}")
+    private int maxStatementsPerRequest;
+    
+    @Value("${sql.statistics.repeat-threshold:5}")
+    private int repeatThreshold;
+    
+    @Value("${sql.statistics.slow-statement-ms:200}")
+    private long slowStatementMillis;
+    
+    /**
+     * Execution time and the slow-statement log come from the JDBC timing wrapper
+     */
+    @Value("${jfr.jdbc-timing.enabled:false}")
+    private boolean executionTimed;
+    
+    @PostConstruct
+    void init() {
+        SqlStatistics.setSlowThresholdMillis(slowStatementMillis);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics.Scope scope = SqlStatistics.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            report(request, scope);
+        }
+    }
+    
+    private void report(HttpServletRequest request, SqlStatistics.Scope scope) {
+        Map<String, Integer> repeated = scope.getRepeatedStatements(repeatThreshold);
+        boolean overBudget = scope.getStatementCount() > maxStatementsPerRequest;
+        if (!overBudget && repeated.isEmpty()) {
+            if (log.isDebugEnabled() && scope.getStatementCount() > 0) {
+                log.debug("{} issued {} SQL statements{}", route(request),
+                        scope.getStatementCount(), executionTime(scope));
+            }
+            return;
+        }
+        String repeats = repeated.entrySet().stream()
+                .map(entry -> entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("; "));
+        log.warn("{} issued {} SQL statements{} (budget {}){}", route(request),
+                scope.getStatementCount(), executionTime(scope), maxStatementsPerRequest,
+                repeated.isEmpty() ? "" : ", possible N+1: " + repeats);
+    }
+    
+    private String executionTime(SqlStatistics.Scope scope) {
+        return executionTimed ? " in " + scope.getExecutionMillis() + " ms" : "";
+    }
+    
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -1,11 +1,15 @@
 package com.bloodbank.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Data Transfer Objects for BloodInventory operations
@@ -78,6 +82,69 @@ public class BloodInventoryDTO {
         
         @Size(max = 255, message = "Notes must not exceed 255 characters")
         private String notes;
+        
+        @Size(max = 100, message = "Performed by must not exceed 100 characters")
+        private String performedBy;
+        
+        public UnitsUpdateRequest(Integer units, String notes) {
+            this.units = units;
+            this.notes = notes;
+        }
+    }
+    
+    /**
+     * DTO for one bag of a donation drive intake manifest; a bag is one unit
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IntakeBag {
+        
+        @NotBlank(message = "Blood group is required")
+        @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group format")
+        private String bloodGroup;
+        
+        /**
+         * Donor the bag was collected from, when known
+         */
+        private Long donorId;
+    }
+    
+    /**
+     * DTO for a bulk intake of the bags returned from a donation drive
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IntakeManifest {
+        
+        @NotEmpty(message = "At least one bag is required")
+        private List<@Valid @NotNull IntakeBag> bags;
+        
+        /**
+         * Collection date recorded as the donors' last donation date; defaults to today
+         */
+        @PastOrPresent(message = "Donation date cannot be in the future")
+        private LocalDate donationDate;
+        
+        @Size(max = 255, message = "Notes must not exceed 255 characters")
+        private String notes;
+        
+        @Size(max = 100, message = "Performed by must not exceed 100 characters")
+        private String performedBy;
+    }
+    
+    /**
+     * DTO for the outcome of a bulk intake
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IntakeResponse {
+        private Integer bagsReceived;
+        private Map<String, Integer> unitsByBloodGroup;
+        private Integer donorsUpdated;
+        private List<BloodInventoryResponse> inventories;
     }
     
     /**
@@ -90,6 +157,8 @@ public class BloodInventoryDTO {
         private Long id;
         private String bloodGroup;
         private Integer unitsAvailable;
+        private Integer unitsReserved;
+        private Integer unitsFree;
         private Integer minimumStock;
         private Integer maximumCapacity;
         private LocalDateTime expiryDate;
@@ -1,12 +1,14 @@
 package com.bloodbank.dto;
 
 import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.UnitReservation;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Data Transfer Objects for BloodRequest operations
@@ -75,6 +77,81 @@ public class BloodRequestDTO {
         private String processedBy;
     }
     
+    /**
+     * DTO for moving many pending blood requests to one status in a single call
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkStatusUpdate {
+        
+        @NotEmpty(message = "At least one request id is required")
+        private List<@NotNull Long> ids;
+        
+        @NotNull(message = "Status is required")
+        private BloodRequest.RequestStatus status;
+        
+        @Size(max = 500, message = "Admin notes must not exceed 500 characters")
+        private String adminNotes;
+        
+        @NotBlank(message = "Processed by is required")
+        private String processedBy;
+    }
+    
+    /**
+     * Outcome of one request in a bulk status update
+     */
+    public enum BulkItemOutcome {
+        UPDATED,
+        NOT_FOUND,
+        ALREADY_PROCESSED,
+        INSUFFICIENT_UNITS
+    }
+    
+    /**
+     * DTO for the result of one request in a bulk status update
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkItemResult {
+        private Long id;
+        private BulkItemOutcome outcome;
+        private BloodRequest.RequestStatus status;
+        private String message;
+    }
+    
+    /**
+     * DTO for the result of a bulk status update, one entry per distinct id in request order
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkStatusUpdateResponse {
+        private BloodRequest.RequestStatus targetStatus;
+        private Integer requested;
+        private Integer updated;
+        private Integer failed;
+        private List<BulkItemResult> results;
+    }
+    
+    /**
+     * DTO for the hold of units kept for an approved request
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReservationResponse {
+        private Long id;
+        private Long requestId;
+        private String bloodGroup;
+        private Integer units;
+        private UnitReservation.Status status;
+        private LocalDateTime expiresAt;
+        private String createdBy;
+        private LocalDateTime createdAt;
+    }
+    
     /**
      * DTO for blood request response
      */
@@ -0,0 +1,61 @@
+package com.bloodbank.dto;
+
+import com.bloodbank.entity.RecallCampaign;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Objects for donor recall campaign operations
+ */
+public class CampaignDTO {
+    
+    /**
+     * DTO for starting a recall campaign
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CampaignCreateRequest {
+        
+        @NotBlank(message = "Blood group is required")
+        @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group format")
+        private String bloodGroup;
+        
+        @Size(max = 255, message = "Message must not exceed 255 characters")
+        private String message;
+        
+        @Size(max = 100, message = "Started by must not exceed 100 characters")
+        private String startedBy;
+        
+        /**
+         * Only call donors of the exact blood group instead of all compatible groups
+         */
+        private Boolean exactMatchOnly = false;
+    }
+    
+    /**
+     * DTO for recall campaign response
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CampaignResponse {
+        private Long id;
+        private String bloodGroup;
+        private RecallCampaign.CampaignStatus status;
+        private String statusDisplay;
+        private RecallCampaign.TriggerType triggerType;
+        private String message;
+        private String startedBy;
+        private Long candidateCount;
+        private Long pendingCount;
+        private Long sentCount;
+        private Long failedCount;
+        private LocalDateTime createdAt;
+        private LocalDateTime completedAt;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bloodbank.dto;
+
+import com.bloodbank.entity.ChangeEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Objects for the change-event feed
+ */
+public class ChangeEventDTO {
+    
+    /**
+     * DTO for a single change event
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChangeEventResponse {
+        private Long sequence;
+        private String entityType;
+        private Long entityId;
+        private ChangeEvent.ChangeType changeType;
+        @JsonRawValue
+        private String payload;
+        private LocalDateTime createdAt;
+    }
+    
+    /**
+     * DTO for one page of the change feed
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChangeFeed {
+        private List<ChangeEventResponse> events;
+        private Long lastSequence;
+        private Boolean hasMore;
+    }
+}
@@ -81,4 +81,36 @@ public class CommonDTO {
         private String timestamp;
         private int status;
     }
+    
+    /**
+     * DTO for read cache statistics
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheStats {
+        private String cacheName;
+        private Long size;
+        private Long hitCount;
+        private Long missCount;
+        private Double hitRate;
+        private Long loadCount;
+        private Long evictionCount;
+        private Double averageLoadMillis;
+    }
+    
+    /**
+     * DTO for request coalescing statistics of one endpoint key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CoalescingStats {
+        private String key;
+        private Long calls;
+        private Long executions;
+        private Long coalesced;
+        private Double coalescingRatio;
+        private Boolean inFlight;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.bloodbank.dto;
+
+import com.bloodbank.entity.Donation;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Objects for Donation operations
+ */
+public class DonationDTO {
+    
+    /**
+     * DTO for recording a donation
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DonationCreateRequest {
+        
+        @NotNull(message = "Donor ID is required")
+        private Long donorId;
+        
+        @NotNull(message = "Units count is required")
+        @Min(value = 1, message = "Units must be at least 1")
+        @Max(value = 2, message = "A donation yields at most 2 units")
+        private Integer units = 1;
+        
+        /**
+         * Defaults to today
+         */
+        @PastOrPresent(message = "Donation date cannot be in the future")
+        private LocalDate donationDate;
+        
+        @Size(max = 100, message = "Collection site must not exceed 100 characters")
+        private String collectionSite;
+        
+        /**
+         * Overrides donations.inventory-mode; DEFERRED suits busy collection sites
+         */
+        private Donation.InventoryMode inventoryMode;
+        
+        @Size(max = 100, message = "Recorded by must not exceed 100 characters")
+        private String recordedBy;
+        
+        @Size(max = 255, message = "Notes must not exceed 255 characters")
+        private String notes;
+    }
+    
+    /**
+     * DTO for donation response
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DonationResponse {
+        private Long id;
+        private Long donorId;
+        private String bloodGroup;
+        private Integer units;
+        private LocalDate donationDate;
+        private String collectionSite;
+        private Donation.InventoryMode inventoryMode;
+        private Boolean inventoryApplied;
+        private LocalDateTime inventoryAppliedAt;
+        private String recordedBy;
+        private String notes;
+        private LocalDateTime createdAt;
+    }
+}
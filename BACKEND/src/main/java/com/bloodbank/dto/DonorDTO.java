@@ -37,7 +37,7 @@ public class DonorDTO {
         @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group format")
         private String bloodGroup;
         
-        @Past(message = "Last donation date cannot be in the future")
+        @PastOrPresent(message = "Last donation date cannot be in the future")
         private LocalDate lastDonationDate;
         
         @NotNull(message = "Age is required")
@@ -68,7 +68,7 @@ public class DonorDTO {
         @Pattern(regexp = "^[+]?[0-9]{10,15}$", message = "Invalid phone number format")
         private String phone;
         
-        @Past(message = "Last donation date cannot be in the future")
+        @PastOrPresent(message = "Last donation date cannot be in the future")
         private LocalDate lastDonationDate;
         
         @Min(value = 18, message = "Donor must be at least 18 years old")
@@ -0,0 +1,35 @@
+package com.bloodbank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Objects for demand forecasts
+ */
+public class ForecastDTO {
+    
+    /**
+     * DTO for the forecast of one blood group
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ForecastResponse {
+        private String bloodGroup;
+        private Double dailyDemand;
+        private Double leadTimeDemand;
+        private Integer safetyStock;
+        private Integer reorderPoint;
+        private Integer unitsAvailable;
+        private Integer unitsFree;
+        private Double daysOfCover;
+        private Boolean belowReorderPoint;
+        private Long observations;
+        private LocalDate lastObservedDate;
+        private LocalDateTime updatedAt;
+    }
+}
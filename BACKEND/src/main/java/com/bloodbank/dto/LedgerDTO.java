@@ -0,0 +1,45 @@
+package com.bloodbank.dto;
+
+import com.bloodbank.entity.InventoryMovement;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Objects for the inventory movement ledger
+ */
+public class LedgerDTO {
+    
+    /**
+     * DTO for a single ledger movement
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MovementResponse {
+        private Long id;
+        private String bloodGroup;
+        private Integer delta;
+        private InventoryMovement.MovementType movementType;
+        private String movementTypeDisplay;
+        private Long requestId;
+        private String performedBy;
+        private String notes;
+        private LocalDateTime createdAt;
+    }
+    
+    /**
+     * DTO for a point-in-time balance
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BalanceResponse {
+        private String bloodGroup;
+        private LocalDateTime at;
+        private Long balance;
+        private LocalDateTime snapshotAsOf;
+    }
+}
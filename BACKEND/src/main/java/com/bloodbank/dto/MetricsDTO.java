@@ -0,0 +1,42 @@
+package com.bloodbank.dto;
+
+import com.bloodbank.entity.MetricRollup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Objects for activity time series
+ */
+public class MetricsDTO {
+    
+    /**
+     * DTO for one bucket of a series
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SeriesPoint {
+        private LocalDateTime bucketStart;
+        private Long value;
+    }
+    
+    /**
+     * DTO for a metric series over a time range
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MetricSeries {
+        private MetricRollup.Metric metric;
+        private String bloodGroup;
+        private MetricRollup.Tier resolution;
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private Long total;
+        private List<SeriesPoint> points;
+    }
+}
@@ -2,9 +2,12 @@ package com.bloodbank.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -21,10 +24,14 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * BloodInventory entity representing available blood units in the bank
+ * BloodInventory entity representing available blood units in the bank.
+ * Cached in the second-level cache with READ_WRITE so concurrent unit updates
+ * never expose a stale row.
  */
 @Slf4j
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "blood-inventory")
 @Table(name = "blood_inventory")
 @Data
 @NoArgsConstructor
@@ -44,6 +51,13 @@ public class BloodInventory {
     @Column(name = "units_available", nullable = false)
     private Integer unitsAvailable = 0;
     
+    /**
+     * Units held for approved requests that have not been collected yet; kept by ReservationService
+     */
+    @Min(value = 0, message = "Reserved units cannot be negative")
+    @Column(name = "units_reserved", nullable = false)
+    private Integer unitsReserved = 0;
+    
     @Min(value = 0, message = "Minimum stock level cannot be negative")
     @Column(name = "minimum_stock", nullable = false)
     private Integer minimumStock = 5;
@@ -74,6 +88,13 @@ public class BloodInventory {
         return unitsAvailable <= minimumStock;
     }
     
+    /**
+     * Units that can still be promised: available units minus active holds
+     */
+    public int getUnitsFree() {
+        return Math.max(0, unitsAvailable - unitsReserved);
+    }
+    
     /**
      * Check if inventory is at maximum capacity
      */
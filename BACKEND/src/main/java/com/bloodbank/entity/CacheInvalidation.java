@@ -0,0 +1,50 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * CacheInvalidation entity representing one cache eviction broadcast to the other nodes.
+ * A null cache key means the whole cache was cleared.
+ */
+@Entity
+@Immutable
+@Table(name = "cache_invalidations", indexes = {
+    @Index(name = "idx_cache_invalidations_created", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "cache_name", nullable = false, length = 50, updatable = false)
+    private String cacheName;
+    
+    @Column(name = "cache_key", length = 255, updatable = false)
+    private String cacheKey;
+    
+    @Column(name = "key_type", length = 20, updatable = false)
+    private String keyType;
+    
+    @Column(name = "origin_node", nullable = false, length = 64, updatable = false)
+    private String originNode;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,100 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * CampaignNotification entity representing one outbox row of a recall campaign.
+ * Rows are bulk-inserted by RecallCampaignService and drained by CampaignDispatcher,
+ * which claims each batch (status SENDING plus a claim token) before delivering it.
+ */
+@Entity
+@Table(name = "campaign_notifications", indexes = {
+    @Index(name = "idx_campaign_notifications_status_id", columnList = "status, id"),
+    @Index(name = "idx_campaign_notifications_campaign", columnList = "campaign_id, status"),
+    @Index(name = "idx_campaign_notifications_claim", columnList = "claimed_by")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignNotification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+    
+    @Column(name = "donor_id", nullable = false)
+    private Long donorId;
+    
+    @Column(name = "donor_name", nullable = false, length = 100)
+    private String donorName;
+    
+    @Column(name = "recipient", nullable = false, length = 150)
+    private String recipient;
+    
+    @Column(name = "blood_group", nullable = false, length = 3)
+    private String bloodGroup;
+    
+    /**
+     * Position of the donor in the campaign ranking (1 = longest since last donation)
+     */
+    @Column(name = "priority", nullable = false)
+    private Integer priority;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private DeliveryStatus status = DeliveryStatus.PENDING;
+    
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", length = 255)
+    private String lastError;
+    
+    /**
+     * Earliest time a failed notification may be claimed again; null when it may go at once
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    /**
+     * Token of the dispatch pass that currently owns the row
+     */
+    @Column(name = "claimed_by", length = 36)
+    private String claimedBy;
+    
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
+    /**
+     * Enum for outbox delivery status
+     */
+    public enum DeliveryStatus {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED,
+        CANCELLED
+    }
+}
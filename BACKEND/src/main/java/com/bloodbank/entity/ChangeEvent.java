@@ -0,0 +1,74 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ChangeEvent entity representing one row of the change-event outbox.
+ * Written in the same transaction as the entity mutation it describes. The feed
+ * sequence number is assigned later by ChangeEventService.publish, once the row
+ * has committed, so feed order follows commit order rather than id order.
+ */
+@Entity
+@Table(name = "change_events", indexes = {
+    @Index(name = "idx_change_events_entity", columnList = "entity_type, entity_id, id"),
+    @Index(name = "idx_change_events_created_at", columnList = "created_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_change_events_feed_sequence", columnNames = "feed_sequence")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "entity_type", nullable = false, length = 30)
+    private String entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+    
+    /**
+     * JSON snapshot of the entity after the change; null for deletions
+     */
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * Position in the change feed; null until the event is published
+     */
+    @Column(name = "feed_sequence")
+    private Long feedSequence;
+    
+    /**
+     * Enum for the kind of mutation
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,96 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DemandForecast entity holding the exponential smoothing state and the derived
+ * reorder point for one blood group. Updated incrementally by ForecastService.
+ */
+@Entity
+@Table(name = "demand_forecasts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemandForecast {
+    
+    public static final int SEASON_LENGTH = 7;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "blood_group", nullable = false, unique = true, length = 3)
+    private String bloodGroup;
+    
+    /**
+     * Smoothed daily demand level, excluding the weekly pattern
+     */
+    @Column(name = "level_value", nullable = false)
+    private Double level = 0.0;
+    
+    /**
+     * Additive weekly seasonal indices, Monday first, comma separated
+     */
+    @Column(name = "seasonal_indices", nullable = false, length = 200)
+    private String seasonalIndices = "0,0,0,0,0,0,0";
+    
+    /**
+     * Exponentially weighted mean squared one-step forecast error
+     */
+    @Column(name = "mean_squared_error", nullable = false)
+    private Double meanSquaredError = 0.0;
+    
+    @Column(name = "observations", nullable = false)
+    private Long observations = 0L;
+    
+    @Column(name = "last_observed_date")
+    private LocalDate lastObservedDate;
+    
+    @Column(name = "daily_demand", nullable = false)
+    private Double dailyDemand = 0.0;
+    
+    @Column(name = "lead_time_demand", nullable = false)
+    private Double leadTimeDemand = 0.0;
+    
+    @Column(name = "safety_stock", nullable = false)
+    private Integer safetyStock = 0;
+    
+    @Column(name = "reorder_point", nullable = false)
+    private Integer reorderPoint = 0;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Get the seasonal indices as an array, Monday first
+     */
+    public double[] getSeasonalArray() {
+        return Arrays.stream(seasonalIndices.split(",")).mapToDouble(Double::parseDouble).toArray();
+    }
+    
+    /**
+     * Store the seasonal indices, Monday first
+     */
+    public void setSeasonalArray(double[] seasonal) {
+        this.seasonalIndices = Arrays.stream(seasonal)
+                .mapToObj(value -> String.format(Locale.ROOT, "%.4f", value))
+                .collect(Collectors.joining(","));
+    }
+}
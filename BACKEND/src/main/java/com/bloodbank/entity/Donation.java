@@ -0,0 +1,89 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Donation entity representing one collection from a donor.
+ * Recorded by DonationService together with the donor's last donation date; the units
+ * reach the inventory in the same transaction, or later through DonationInventoryApplier
+ * when the donation was recorded in DEFERRED mode.
+ */
+@Entity
+@Table(name = "donations", indexes = {
+    @Index(name = "idx_donations_donor_date", columnList = "donor_id, donation_date"),
+    @Index(name = "idx_donations_pending", columnList = "inventory_applied_at, blood_group, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Donation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "donor_id", nullable = false, updatable = false)
+    private Long donorId;
+    
+    @Column(name = "blood_group", nullable = false, length = 3, updatable = false)
+    private String bloodGroup;
+    
+    @Column(name = "units", nullable = false, updatable = false)
+    private Integer units;
+    
+    @Column(name = "donation_date", nullable = false, updatable = false)
+    private LocalDate donationDate;
+    
+    @Column(name = "collection_site", length = 100, updatable = false)
+    private String collectionSite;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "inventory_mode", nullable = false, length = 20, updatable = false)
+    private InventoryMode inventoryMode;
+    
+    @Column(name = "recorded_by", length = 100, updatable = false)
+    private String recordedBy;
+    
+    @Column(name = "notes", length = 255, updatable = false)
+    private String notes;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * When the units were added to the blood inventory; null while still pending
+     */
+    @Column(name = "inventory_applied_at")
+    private LocalDateTime inventoryAppliedAt;
+    
+    public boolean isInventoryApplied() {
+        return inventoryAppliedAt != null;
+    }
+    
+    /**
+     * Enum for how a donation reaches the blood inventory
+     */
+    public enum InventoryMode {
+        /** Inventory row locked and incremented in the donation's own transaction */
+        IMMEDIATE,
+        /** Donation only inserted; units folded into the inventory per blood group in the background */
+        DEFERRED
+    }
+}
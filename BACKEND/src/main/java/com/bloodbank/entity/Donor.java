@@ -3,21 +3,25 @@ package com.bloodbank.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -26,11 +30,16 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Donor entity representing blood donors in the system
+ * Donor entity representing blood donors in the system.
+ * Read far more often than written, so cached with NONSTRICT_READ_WRITE.
  */
 @Slf4j
 @Entity
-@Table(name = "donors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "donor")
+@Table(name = "donors", indexes = {
+    @Index(name = "idx_donors_recall", columnList = "blood_group, is_eligible, last_donation_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -60,7 +69,7 @@ public class Donor {
     @Column(name = "blood_group", nullable = false, length = 3)
     private String bloodGroup;
     
-    @Past(message = "Last donation date cannot be in the future")
+    @PastOrPresent(message = "Last donation date cannot be in the future")
     @Column(name = "last_donation_date")
     private LocalDate lastDonationDate;
     
@@ -94,9 +103,16 @@ public class Donor {
      * Donors must wait at least 56 days between donations
      */
     public boolean canDonate() {
+        return canDonateOn(LocalDate.now());
+    }
+    
+    /**
+     * Check if donor is eligible to donate on the given date
+     */
+    public boolean canDonateOn(LocalDate date) {
         if (lastDonationDate == null) {
             return isEligible;
         }
-        return isEligible && lastDonationDate.isBefore(LocalDate.now().minusDays(56));
+        return isEligible && lastDonationDate.isBefore(date.minusDays(56));
     }
 }
\ No newline at end of file
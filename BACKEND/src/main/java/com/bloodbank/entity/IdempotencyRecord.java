@@ -0,0 +1,56 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * IdempotencyRecord entity holding the outcome of one Idempotency-Key.
+ * The row is claimed (response status null) before the request runs and completed
+ * with the response afterwards, so a retry replays the response instead of re-executing.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+    
+    /**
+     * SHA-256 of method, path and body, so a key reused for a different request is rejected
+     */
+    @Column(name = "request_hash", nullable = false, length = 64, updatable = false)
+    private String requestHash;
+    
+    @Column(name = "response_status")
+    private Integer responseStatus;
+    
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    /**
+     * Check whether the original request has finished and its response is stored
+     */
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+}
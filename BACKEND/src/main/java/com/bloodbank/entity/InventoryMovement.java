@@ -0,0 +1,83 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * InventoryMovement entity representing one append-only entry of the stock ledger.
+ * Rows are inserted in batches by InventoryLedgerService and never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "inventory_movements", indexes = {
+    @Index(name = "idx_inventory_movements_group_id", columnList = "blood_group, id"),
+    @Index(name = "idx_inventory_movements_group_created", columnList = "blood_group, created_at"),
+    @Index(name = "idx_inventory_movements_request", columnList = "request_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovement {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "blood_group", nullable = false, length = 3, updatable = false)
+    private String bloodGroup;
+    
+    @Column(name = "delta", nullable = false, updatable = false)
+    private Integer delta;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, length = 20, updatable = false)
+    private MovementType movementType;
+    
+    @Column(name = "request_id", updatable = false)
+    private Long requestId;
+    
+    @Column(name = "performed_by", length = 100, updatable = false)
+    private String performedBy;
+    
+    @Column(name = "notes", length = 255, updatable = false)
+    private String notes;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * Enum for the reason of a stock movement
+     */
+    public enum MovementType {
+        INITIAL("Initial Stock"),
+        OPENING("Opening Balance"),
+        INTAKE("Intake"),
+        ISSUE("Issue"),
+        ADJUSTMENT("Manual Adjustment"),
+        REMOVAL("Inventory Removed");
+        
+        private final String displayName;
+        
+        MovementType(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * InventorySnapshot entity representing the ledger balance of a blood group
+ * after all movements up to and including lastMovementId
+ */
+@Entity
+@Immutable
+@Table(name = "inventory_snapshots", indexes = {
+    @Index(name = "idx_inventory_snapshots_group_as_of", columnList = "blood_group, as_of")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "blood_group", nullable = false, length = 3, updatable = false)
+    private String bloodGroup;
+    
+    @Column(name = "balance", nullable = false, updatable = false)
+    private Long balance;
+    
+    @Column(name = "last_movement_id", nullable = false, updatable = false)
+    private Long lastMovementId;
+    
+    @Column(name = "as_of", nullable = false, updatable = false)
+    private LocalDateTime asOf;
+}
@@ -0,0 +1,96 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MetricRollup entity representing one time bucket of an activity counter.
+ * Writes increment MINUTE buckets; RollupService compacts them into HOUR and DAY buckets.
+ */
+@Entity
+@Table(name = "metric_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_metric_rollups_bucket", columnNames = {"tier", "metric", "blood_group", "bucket_start"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tier", nullable = false, length = 10)
+    private Tier tier;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 30)
+    private Metric metric;
+    
+    @Column(name = "blood_group", nullable = false, length = 3)
+    private String bloodGroup;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+    
+    /**
+     * Enum for counted activities
+     */
+    public enum Metric {
+        REQUESTS_CREATED,
+        REQUESTS_FULFILLED,
+        UNITS_ISSUED,
+        UNITS_RECEIVED,
+        DONATIONS
+    }
+    
+    /**
+     * Enum for bucket resolutions, finest first
+     */
+    public enum Tier {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+        
+        private final ChronoUnit unit;
+        
+        Tier(ChronoUnit unit) {
+            this.unit = unit;
+        }
+        
+        public ChronoUnit getUnit() {
+            return unit;
+        }
+        
+        /**
+         * Get the start of the bucket containing the given time
+         */
+        public LocalDateTime truncate(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+        
+        /**
+         * Get the next finer tier, or null for MINUTE
+         */
+        public Tier finer() {
+            return this == MINUTE ? null : values()[ordinal() - 1];
+        }
+    }
+}
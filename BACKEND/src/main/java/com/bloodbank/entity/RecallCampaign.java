@@ -0,0 +1,135 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RecallCampaign entity representing a donor call-up for a blood group in shortage
+ */
+@Entity
+@Table(name = "recall_campaigns", indexes = {
+    @Index(name = "idx_recall_campaigns_group_status", columnList = "blood_group, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecallCampaign {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank(message = "Blood group is required")
+    @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group format")
+    @Column(name = "blood_group", nullable = false, length = 3)
+    private String bloodGroup;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private CampaignStatus status = CampaignStatus.ACTIVE;
+    
+    /**
+     * Blood group while the campaign is active, null otherwise. The unique constraint
+     * allows at most one active campaign per blood group even under concurrent starts.
+     */
+    @Column(name = "active_blood_group", length = 3, unique = true)
+    private String activeBloodGroup;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trigger_type", nullable = false, length = 20)
+    private TriggerType triggerType = TriggerType.MANUAL;
+    
+    @Column(name = "candidate_count", nullable = false)
+    private Long candidateCount = 0L;
+    
+    @Size(max = 255, message = "Message must not exceed 255 characters")
+    @Column(length = 255)
+    private String message;
+    
+    @Column(name = "started_by", length = 100)
+    private String startedBy;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Enum for campaign status
+     */
+    public enum CampaignStatus {
+        ACTIVE("Active"),
+        COMPLETED("Completed"),
+        CANCELLED("Cancelled");
+        
+        private final String displayName;
+        
+        CampaignStatus(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
+    /**
+     * Enum for what started the campaign
+     */
+    public enum TriggerType {
+        MANUAL("Manual"),
+        CRITICAL_SHORTAGE("Critical Shortage");
+        
+        private final String displayName;
+        
+        TriggerType(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
+    /**
+     * Keep the active-campaign key in step with the status
+     */
+    @PrePersist
+    @PreUpdate
+    void syncActiveBloodGroup() {
+        activeBloodGroup = isActive() ? bloodGroup : null;
+    }
+    
+    /**
+     * Check if campaign is still delivering notifications
+     */
+    public boolean isActive() {
+        return status == CampaignStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RollupWatermark entity recording up to which time a coarse rollup tier has been
+ * compacted from the next finer tier
+ */
+@Entity
+@Table(name = "rollup_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupWatermark {
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tier", length = 10)
+    private MetricRollup.Tier tier;
+    
+    /**
+     * Buckets of this tier starting before this time are complete
+     */
+    @Column(name = "rolled_up_to", nullable = false)
+    private LocalDateTime rolledUpTo;
+}
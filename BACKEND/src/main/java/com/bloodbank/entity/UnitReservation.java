@@ -0,0 +1,78 @@
+package com.bloodbank.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * UnitReservation entity representing a time-bounded hold of blood units for an approved
+ * request. The sum of the ACTIVE holds of a blood group is kept in BloodInventory.unitsReserved;
+ * the rows let the in-memory expiry timer be rebuilt after a restart.
+ */
+@Entity
+@Table(name = "unit_reservations", indexes = {
+    @Index(name = "idx_unit_reservations_status_expires", columnList = "status, expires_at"),
+    @Index(name = "idx_unit_reservations_request", columnList = "request_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnitReservation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "request_id", nullable = false, updatable = false)
+    private Long requestId;
+    
+    @Column(name = "blood_group", nullable = false, length = 3, updatable = false)
+    private String bloodGroup;
+    
+    @Column(name = "units", nullable = false, updatable = false)
+    private Integer units;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.ACTIVE;
+    
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "created_by", length = 100, updatable = false)
+    private String createdBy;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * When the hold was consumed, released or expired
+     */
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+    
+    /**
+     * Enum for the life cycle of a hold
+     */
+    public enum Status {
+        /** Units are held and not offered to other requests */
+        ACTIVE,
+        /** The request collected the units */
+        CONSUMED,
+        /** The request was cancelled or deleted before collecting */
+        RELEASED,
+        /** Nobody collected the units before the hold ran out */
+        EXPIRED
+    }
+}
@@ -0,0 +1,15 @@
+package com.bloodbank.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published when a stock movement leaves a blood group in critical shortage
+ */
+@Data
+@AllArgsConstructor
+public class InventoryShortageEvent {
+    private String bloodGroup;
+    private Integer unitsAvailable;
+    private Integer minimumStock;
+}
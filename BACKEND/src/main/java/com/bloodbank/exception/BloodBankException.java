@@ -0,0 +1,14 @@
+package com.bloodbank.exception;
+
+/**
+ * Base class for expected business outcomes (not found, conflicting state, not enough units).
+ * These are thrown on ordinary request paths, including by probing or retrying clients, so they
+ * skip stack-trace capture and suppression: the message says everything the caller needs.
+ * GlobalExceptionHandler maps each subtype to its HTTP status.
+ */
+public abstract class BloodBankException extends RuntimeException {
+    
+    protected BloodBankException(String message) {
+        super(message, null, false, false);
+    }
+}
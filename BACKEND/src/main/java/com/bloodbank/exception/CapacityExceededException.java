@@ -0,0 +1,11 @@
+package com.bloodbank.exception;
+
+/**
+ * Adding units would take an inventory above its maximum capacity (409)
+ */
+public class CapacityExceededException extends BloodBankException {
+    
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.bloodbank.exception;
+
+/**
+ * A unique attribute (donor email or phone, blood group, active campaign) is already taken (409)
+ */
+public class DuplicateResourceException extends BloodBankException {
+    
+    public DuplicateResourceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.bloodbank.exception;
+
+/**
+ * Not enough units of a blood group in stock to cover the operation (409)
+ */
+public class InsufficientUnitsException extends BloodBankException {
+    
+    public InsufficientUnitsException(String message) {
+        super(message);
+    }
+}
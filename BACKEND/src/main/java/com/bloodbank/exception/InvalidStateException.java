@@ -0,0 +1,12 @@
+package com.bloodbank.exception;
+
+/**
+ * The resource is no longer in a state that allows the operation,
+ * e.g. a request that has already been processed (409)
+ */
+public class InvalidStateException extends BloodBankException {
+    
+    public InvalidStateException(String message) {
+        super(message);
+    }
+}
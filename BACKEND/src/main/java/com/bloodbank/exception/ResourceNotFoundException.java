@@ -0,0 +1,11 @@
+package com.bloodbank.exception;
+
+/**
+ * The addressed donor, request, inventory, campaign or forecast does not exist (404)
+ */
+public class ResourceNotFoundException extends BloodBankException {
+    
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bloodbank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Fields shared by the application's JFR events
+ */
+@Category("Blood Bank")
+@StackTrace(false)
+abstract class BloodBankEvent extends Event {
+    
+    static final String OK = "OK";
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Blood Group")
+    String bloodGroup;
+    
+    @Label("Units")
+    int units;
+    
+    @Label("DB Time")
+    @Description("Time spent executing statements and committing")
+    @Timespan
+    long dbTime;
+    
+    @Label("Lock Wait")
+    @Description("Time spent in row-locking statements (INSERT/UPDATE/DELETE, SELECT ... FOR UPDATE), an upper bound on row-lock waits")
+    @Timespan
+    long lockWait;
+    
+    @Label("Connection Wait")
+    @Description("Time spent waiting for a pooled connection")
+    @Timespan
+    long connectionWait;
+    
+    @Label("Statements")
+    long statements;
+    
+    @Label("Outcome")
+    @Description("OK, or the simple name of the exception that ended the operation")
+    String outcome;
+    
+    void complete(DbTime.Snapshot usage, String outcome) {
+        this.dbTime = usage.dbNanos();
+        this.lockWait = usage.lockingNanos();
+        this.connectionWait = usage.connectionWaitNanos();
+        this.statements = usage.statements();
+        this.outcome = outcome;
+    }
+}
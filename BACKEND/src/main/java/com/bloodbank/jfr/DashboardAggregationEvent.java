@@ -0,0 +1,14 @@
+package com.bloodbank.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One computation of the dashboard statistics; units is the total stock counted
+ */
+@Name(DashboardAggregationEvent.NAME)
+@Label("Dashboard Aggregation")
+class DashboardAggregationEvent extends BloodBankEvent {
+    
+    static final String NAME = "bloodbank.DashboardAggregation";
+}
@@ -0,0 +1,62 @@
+package com.bloodbank.jfr;
+
+/**
+ * Per-thread totals of time spent in JDBC, fed by {@link JdbcTimingDataSource}.
+ * Callers take a snapshot before an operation and subtract it afterwards, so
+ * nested operations each see only their own share.
+ */
+public final class DbTime {
+    
+    private static final int DB = 0;
+    private static final int LOCKING = 1;
+    private static final int CONNECTION_WAIT = 2;
+    private static final int STATEMENTS = 3;
+    
+    private static final ThreadLocal<long[]> TOTALS = ThreadLocal.withInitial(() -> new long[4]);
+    
+    private DbTime() {
+    }
+    
+    /**
+     * Record one executed statement; locking statements are INSERT/UPDATE/DELETE
+     * and SELECT ... FOR UPDATE, whose time includes any row-lock wait
+     */
+    static void recordStatement(long nanos, boolean locking) {
+        long[] totals = TOTALS.get();
+        totals[DB] += nanos;
+        totals[STATEMENTS]++;
+        if (locking) {
+            totals[LOCKING] += nanos;
+        }
+    }
+    
+    /**
+     * Record a commit or rollback round trip
+     */
+    static void recordTransactionEnd(long nanos) {
+        TOTALS.get()[DB] += nanos;
+    }
+    
+    /**
+     * Record time spent waiting for a pooled connection
+     */
+    static void recordConnectionWait(long nanos) {
+        TOTALS.get()[CONNECTION_WAIT] += nanos;
+    }
+    
+    public static Snapshot snapshot() {
+        long[] totals = TOTALS.get();
+        return new Snapshot(totals[DB], totals[LOCKING], totals[CONNECTION_WAIT], totals[STATEMENTS]);
+    }
+    
+    public record Snapshot(long dbNanos, long lockingNanos, long connectionWaitNanos, long statements) {
+        
+        /**
+         * Time accumulated between an earlier snapshot and this one
+         */
+        public Snapshot minus(Snapshot earlier) {
+            return new Snapshot(dbNanos - earlier.dbNanos, lockingNanos - earlier.lockingNanos,
+                    connectionWaitNanos - earlier.connectionWaitNanos, statements - earlier.statements);
+        }
+    }
+}
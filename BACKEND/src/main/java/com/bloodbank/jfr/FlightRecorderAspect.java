@@ -0,0 +1,152 @@
+package com.bloodbank.jfr;
+
+import com.bloodbank.dto.BloodInventoryDTO;
+import com.bloodbank.dto.BloodRequestDTO;
+import com.bloodbank.dto.DonationDTO;
+import com.bloodbank.dto.CommonDTO;
+import com.bloodbank.entity.BloodInventory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Emits JFR events around the inventory mutations, the request lifecycle and the
+ * dashboard aggregation. Runs outside the transaction advice so DB time includes the commit,
+ * but inside ExposeInvocationInterceptor, which the args(...) bindings need.
+ * When the events are disabled in the active recording the only cost is one isEnabled() check.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class FlightRecorderAspect {
+    
+    @Around("execution(* com.bloodbank.service.BloodInventoryService.addUnits(String, ..)) && args(bloodGroup, request)")
+    public Object addUnits(ProceedingJoinPoint joinPoint, String bloodGroup,
+                           BloodInventoryDTO.UnitsUpdateRequest request) throws Throwable {
+        InventoryMutationEvent event = new InventoryMutationEvent();
+        event.operation = "ADD_UNITS";
+        event.bloodGroup = bloodGroup;
+        event.units = request.getUnits() != null ? request.getUnits() : 0;
+        return record(joinPoint, event, result -> { });
+    }
+    
+    @Around("execution(* com.bloodbank.service.BloodInventoryService.removeUnits(String, ..)) && args(bloodGroup, request, ..)")
+    public Object removeUnits(ProceedingJoinPoint joinPoint, String bloodGroup,
+                              BloodInventoryDTO.UnitsUpdateRequest request) throws Throwable {
+        InventoryMutationEvent event = new InventoryMutationEvent();
+        event.operation = "REMOVE_UNITS";
+        event.bloodGroup = bloodGroup;
+        event.units = request.getUnits() != null ? request.getUnits() : 0;
+        Object[] args = joinPoint.getArgs();
+        if (args.length > 2 && args[2] instanceof Long requestId) {
+            event.requestId = requestId;
+        }
+        return record(joinPoint, event, result -> { });
+    }
+    
+    @Around("execution(* com.bloodbank.service.BloodInventoryService.issueUnits(..)) && args(inventory, unitsByRequest, ..)")
+    public Object issueUnits(ProceedingJoinPoint joinPoint, BloodInventory inventory,
+                             Map<Long, Integer> unitsByRequest) throws Throwable {
+        InventoryMutationEvent event = new InventoryMutationEvent();
+        event.operation = "ISSUE_UNITS";
+        event.bloodGroup = inventory.getBloodGroup();
+        event.units = unitsByRequest.values().stream().mapToInt(Integer::intValue).sum();
+        return record(joinPoint, event, result -> { });
+    }
+    
+    @Around("execution(* com.bloodbank.service.BloodInventoryService.intake(..)) && args(manifest)")
+    public Object intake(ProceedingJoinPoint joinPoint, BloodInventoryDTO.IntakeManifest manifest) throws Throwable {
+        InventoryMutationEvent event = new InventoryMutationEvent();
+        event.operation = "INTAKE";
+        event.units = manifest.getBags() != null ? manifest.getBags().size() : 0;
+        return record(joinPoint, event, result -> { });
+    }
+    
+    @Around("execution(* com.bloodbank.service.DonationService.recordDonation(..)) && args(request)")
+    public Object recordDonation(ProceedingJoinPoint joinPoint, DonationDTO.DonationCreateRequest request) throws Throwable {
+        InventoryMutationEvent event = new InventoryMutationEvent();
+        event.operation = "DONATION";
+        event.units = request.getUnits() != null ? request.getUnits() : 1;
+        return record(joinPoint, event, result -> {
+            if (result instanceof DonationDTO.DonationResponse donation) {
+                event.bloodGroup = donation.getBloodGroup();
+            }
+        });
+    }
+    
+    @Around("execution(* com.bloodbank.service.BloodRequestService.createBloodRequest(..)) && args(request)")
+    public Object createBloodRequest(ProceedingJoinPoint joinPoint,
+                                     BloodRequestDTO.BloodRequestCreateRequest request) throws Throwable {
+        RequestLifecycleEvent event = new RequestLifecycleEvent();
+        event.operation = "CREATE";
+        event.bloodGroup = request.getBloodGroup();
+        event.units = request.getUnitsRequested() != null ? request.getUnitsRequested() : 0;
+        event.urgency = request.getUrgencyLevel() != null ? request.getUrgencyLevel().name() : null;
+        return record(joinPoint, event, result -> {
+            if (result instanceof BloodRequestDTO.BloodRequestResponse response && response.getId() != null) {
+                event.requestId = response.getId();
+            }
+        });
+    }
+    
+    @Around("execution(* com.bloodbank.service.BloodRequestService.approveAndFulfillRequest(..)) && args(id, ..)")
+    public Object approveAndFulfillRequest(ProceedingJoinPoint joinPoint, Long id) throws Throwable {
+        RequestLifecycleEvent event = new RequestLifecycleEvent();
+        event.operation = "APPROVE_AND_FULFILL";
+        event.requestId = id != null ? id : 0;
+        return record(joinPoint, event, result -> {
+            if (result instanceof BloodRequestDTO.BloodRequestResponse response) {
+                event.bloodGroup = response.getBloodGroup();
+                event.units = response.getUnitsRequested() != null ? response.getUnitsRequested() : 0;
+                event.urgency = response.getUrgencyLevel() != null ? response.getUrgencyLevel().name() : null;
+            }
+        });
+    }
+    
+    @Around("execution(* com.bloodbank.service.BloodRequestService.bulkUpdateStatus(..)) && args(request)")
+    public Object bulkUpdateStatus(ProceedingJoinPoint joinPoint, BloodRequestDTO.BulkStatusUpdate request) throws Throwable {
+        RequestLifecycleEvent event = new RequestLifecycleEvent();
+        event.operation = "BULK_" + request.getStatus();
+        return record(joinPoint, event, result -> { });
+    }
+    
+    @Around("execution(* com.bloodbank.service.DashboardService.getDashboardStats())")
+    public Object getDashboardStats(ProceedingJoinPoint joinPoint) throws Throwable {
+        DashboardAggregationEvent event = new DashboardAggregationEvent();
+        event.operation = "DASHBOARD_STATS";
+        return record(joinPoint, event, result -> {
+            if (result instanceof CommonDTO.DashboardStats stats && stats.getTotalBloodUnits() != null) {
+                event.units = stats.getTotalBloodUnits().intValue();
+            }
+        });
+    }
+    
+    private Object record(ProceedingJoinPoint joinPoint, BloodBankEvent event, Consumer<Object> onResult) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        DbTime.Snapshot before = DbTime.snapshot();
+        String outcome = BloodBankEvent.OK;
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            onResult.accept(result);
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.complete(DbTime.snapshot().minus(before), outcome);
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bloodbank.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Continuous flight recording under the "jfr" profile.
+ * Starts with the context, keeps a bounded on-disk ring buffer and writes it to
+ * jfr.recording.directory when the application stops (or the JVM exits).
+ * Summarise the file with {@link RecordingAnalyzer}.
+ */
+@Component
+@Profile("jfr")
+@Slf4j
+public class FlightRecording {
+    
+    /**
+     * JDK settings the recording is based on: "default" (~1% overhead) or "profile" (~2%, adds method sampling detail)
+     */
+    @Value("${jfr.recording.settings:profile}")
+    private String settings;
+    
+    @Value("${jfr.recording.directory:recordings}")
+    private String directory;
+    
+    @Value("${jfr.recording.max-age-hours:6}")
+    private int maxAgeHours;
+    
+    @Value("${jfr.recording.max-size-mb:512}")
+    private long maxSizeMb;
+    
+    /**
+     * Application events shorter than this are not recorded
+     */
+    @Value("${jfr.recording.event-threshold-ms:0}")
+    private long eventThresholdMillis;
+    
+    private Recording recording;
+    
+    @PostConstruct
+    void start() throws IOException, ParseException {
+        Path destination = Files.createDirectories(Path.of(directory)).resolve(
+                "bloodbank-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr");
+        
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("bloodbank");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofHours(maxAgeHours));
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.setDumpOnExit(true);
+        recording.setDestination(destination);
+        Duration threshold = Duration.ofMillis(eventThresholdMillis);
+        recording.enable(InventoryMutationEvent.class).withThreshold(threshold);
+        recording.enable(RequestLifecycleEvent.class).withThreshold(threshold);
+        recording.enable(DashboardAggregationEvent.class).withThreshold(threshold);
+        recording.start();
+        log.info("Flight recording started with '{}' settings, writing to {}", settings, destination);
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            // stop() writes the recording to its destination
+            recording.stop();
+            log.info("Flight recording written to {}", recording.getDestination());
+            recording.close();
+        }
+    }
+}
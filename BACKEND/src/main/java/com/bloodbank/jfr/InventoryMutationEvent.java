@@ -0,0 +1,17 @@
+package com.bloodbank.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Units added to or removed from a blood group's inventory
+ */
+@Name(InventoryMutationEvent.NAME)
+@Label("Inventory Mutation")
+class InventoryMutationEvent extends BloodBankEvent {
+    
+    static final String NAME = "bloodbank.InventoryMutation";
+    
+    @Label("Blood Request Id")
+    long requestId;
+}
@@ -0,0 +1,117 @@
+package com.bloodbank.jfr;
+
+import com.bloodbank.diagnostics.SqlStatistics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * DataSource wrapper that times pool checkout, statement execution and commits
+ * into {@link DbTime} for the calling thread, and reports each execution to
+ * {@link SqlStatistics} for slow-statement logging. Only commit, rollback and the
+ * statement execute calls are timed; parameter binding and result reads go straight
+ * to the driver. unwrap() still reaches the pool, so Hikari metrics and health
+ * checks are unaffected.
+ */
+public class JdbcTimingDataSource extends DelegatingDataSource implements AutoCloseable {
+    
+    public JdbcTimingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+    
+    /**
+     * The context infers the pool's destroy method from this wrapper, so pass close() through
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        DbTime.recordConnectionWait(System.nanoTime() - start);
+        return timed(connection);
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        DbTime.recordConnectionWait(System.nanoTime() - start);
+        return timed(connection);
+    }
+    
+    private static Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(JdbcTimingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+    
+    static boolean isLocking(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("insert") || normalized.startsWith("update")
+                || normalized.startsWith("delete") || normalized.startsWith("merge")
+                || normalized.startsWith("replace") || normalized.contains(" for update")
+                || normalized.contains(" for share") || normalized.contains(" lock in share mode");
+    }
+    
+    static void recordExecution(String sql, long nanos) {
+        DbTime.recordStatement(nanos, isLocking(sql));
+        SqlStatistics.recordExecution(sql, nanos);
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+    
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "commit":
+                case "rollback": {
+                    long start = System.nanoTime();
+                    try {
+                        return JdbcTimingDataSource.invoke(target, method, args);
+                    } finally {
+                        DbTime.recordTransactionEnd(System.nanoTime() - start);
+                    }
+                }
+                default:
+                    Object result = JdbcTimingDataSource.invoke(target, method, args);
+                    // Callable statements are rare here and are passed through untimed
+                    if (method.getReturnType() == PreparedStatement.class) {
+                        return new TimedPreparedStatement((PreparedStatement) result, (String) args[0]);
+                    }
+                    if (method.getReturnType() == Statement.class) {
+                        return new TimedStatement<>((Statement) result, null);
+                    }
+                    return result;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.bloodbank.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Offline summary of the application events in a .jfr file.
+ * Splits each operation's wall time into phases (application code, SQL excluding
+ * locking statements, locking statements, pool wait) and ranks the hottest ones.
+ *
+ *   java -cp target/classes com.bloodbank.jfr.RecordingAnalyzer recordings/bloodbank-20250101-120000.jfr [top]
+ *
+ * Nested operations (removeUnits inside approve-and-fulfill) are also counted in their parent.
+ */
+public final class RecordingAnalyzer {
+
+    private static final List<String> EVENT_NAMES = List.of(
+            InventoryMutationEvent.NAME, RequestLifecycleEvent.NAME, DashboardAggregationEvent.NAME);
+
+    private RecordingAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RecordingAnalyzer <recording.jfr> [top phases, default 10]");
+            System.exit(2);
+        }
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Map<String, OperationStats> operations = analyze(Path.of(args[0]));
+        if (operations.isEmpty()) {
+            System.out.println("No blood bank events in " + args[0]);
+            return;
+        }
+        print(operations, top);
+    }
+
+    static Map<String, OperationStats> analyze(Path file) throws IOException {
+        Map<String, OperationStats> operations = new TreeMap<>();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                if (!EVENT_NAMES.contains(event.getEventType().getName())) {
+                    continue;
+                }
+                operations.computeIfAbsent(event.getString("operation"), OperationStats::new).add(event);
+            }
+        }
+        return operations;
+    }
+
+    private static void print(Map<String, OperationStats> operations, int top) {
+        System.out.printf("%-22s %8s %7s %10s %10s %10s %10s %10s %9s%n",
+                "operation", "count", "errors", "total ms", "p50 ms", "p99 ms", "max ms", "db ms/op", "stmts/op");
+        for (OperationStats stats : operations.values()) {
+            double[] durations = stats.sortedDurationsMillis();
+            System.out.printf("%-22s %8d %7d %10.1f %10.2f %10.2f %10.2f %10.2f %9.1f%n",
+                    stats.operation, stats.count, stats.errors, stats.totalNanos / 1e6,
+                    percentile(durations, 0.50), percentile(durations, 0.99), durations[durations.length - 1],
+                    stats.dbNanos / 1e6 / stats.count, (double) stats.statements / stats.count);
+        }
+
+        List<Phase> phases = new ArrayList<>();
+        for (OperationStats stats : operations.values()) {
+            phases.add(new Phase(stats.operation, "application", stats.totalNanos - stats.dbNanos - stats.connectionWaitNanos));
+            phases.add(new Phase(stats.operation, "sql", stats.dbNanos - stats.lockingNanos));
+            phases.add(new Phase(stats.operation, "locking statements", stats.lockingNanos));
+            phases.add(new Phase(stats.operation, "connection wait", stats.connectionWaitNanos));
+        }
+        long allNanos = operations.values().stream().mapToLong(stats -> stats.totalNanos).sum();
+
+        System.out.printf("%nHottest phases%n%-22s %-20s %10s %7s%n", "operation", "phase", "total ms", "share");
+        phases.stream()
+                .filter(phase -> phase.nanos > 0)
+                .sorted(Comparator.comparingLong(Phase::nanos).reversed())
+                .limit(top)
+                .forEach(phase -> System.out.printf("%-22s %-20s %10.1f %6.1f%%%n",
+                        phase.operation, phase.name, phase.nanos / 1e6, 100.0 * phase.nanos / allNanos));
+
+        System.out.printf("%nSlowest blood groups per operation (total ms)%n");
+        for (OperationStats stats : operations.values()) {
+            String groups = stats.nanosByBloodGroup.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(3)
+                    .map(entry -> String.format("%s %.1f", entry.getKey(), entry.getValue() / 1e6))
+                    .reduce((a, b) -> a + ", " + b)
+                    .orElse("-");
+            System.out.printf("%-22s %s%n", stats.operation, groups);
+        }
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    static final class OperationStats {
+
+        private final String operation;
+        private final Map<String, Long> nanosByBloodGroup = new HashMap<>();
+        private long[] durations = new long[256];
+        private int count;
+        private int errors;
+        private long totalNanos;
+        private long dbNanos;
+        private long lockingNanos;
+        private long connectionWaitNanos;
+        private long statements;
+
+        OperationStats(String operation) {
+            this.operation = operation;
+        }
+
+        void add(RecordedEvent event) {
+            long duration = event.getDuration().toNanos();
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = duration;
+            totalNanos += duration;
+            dbNanos += event.getDuration("dbTime").toNanos();
+            lockingNanos += event.getDuration("lockWait").toNanos();
+            connectionWaitNanos += event.getDuration("connectionWait").toNanos();
+            statements += event.getLong("statements");
+            if (!BloodBankEvent.OK.equals(event.getString("outcome"))) {
+                errors++;
+            }
+            String bloodGroup = event.getString("bloodGroup");
+            nanosByBloodGroup.merge(bloodGroup != null ? bloodGroup : "-", duration, Long::sum);
+        }
+
+        double[] sortedDurationsMillis() {
+            return Arrays.stream(durations, 0, count).sorted().mapToDouble(nanos -> nanos / 1e6).toArray();
+        }
+    }
+
+    private record Phase(String operation, String name, long nanos) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.bloodbank.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A blood request being created or approved and fulfilled
+ */
+@Name(RequestLifecycleEvent.NAME)
+@Label("Request Lifecycle")
+class RequestLifecycleEvent extends BloodBankEvent {
+    
+    static final String NAME = "bloodbank.RequestLifecycle";
+    
+    @Label("Blood Request Id")
+    long requestId;
+    
+    @Label("Urgency")
+    String urgency;
+}
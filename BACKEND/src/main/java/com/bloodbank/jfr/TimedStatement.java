@@ -0,0 +1,379 @@
+package com.bloodbank.jfr;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * Statement handed out by {@link JdbcTimingDataSource}. Only the execute calls are
+ * timed; everything else is a plain delegate call. Batches of a plain statement are
+ * reported without SQL, prepared ones against the SQL they were prepared with.
+ */
+class TimedStatement<S extends Statement> implements Statement {
+    
+    final S target;
+    
+    final String preparedSql;
+    
+    TimedStatement(S target, String preparedSql) {
+        this.target = target;
+        this.preparedSql = preparedSql;
+    }
+    
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        target.addBatch(sql);
+    }
+    
+    @Override
+    public void cancel() throws SQLException {
+        target.cancel();
+    }
+    
+    @Override
+    public void clearBatch() throws SQLException {
+        target.clearBatch();
+    }
+    
+    @Override
+    public void clearWarnings() throws SQLException {
+        target.clearWarnings();
+    }
+    
+    @Override
+    public void close() throws SQLException {
+        target.close();
+    }
+    
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        target.closeOnCompletion();
+    }
+    
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return target.enquoteIdentifier(identifier, alwaysQuote);
+    }
+    
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return target.enquoteLiteral(val);
+    }
+    
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return target.enquoteNCharLiteral(val);
+    }
+    
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute(sql);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute(sql, columnNames);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute(sql, autoGeneratedKeys);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute(sql, columnIndexes);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public int[] executeBatch() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeBatch();
+        } finally {
+            JdbcTimingDataSource.recordExecution(preparedSql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeBatch();
+        } finally {
+            JdbcTimingDataSource.recordExecution(preparedSql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate(sql);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate(sql, columnNames);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate(sql, autoGeneratedKeys);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate(sql, columnIndexes);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeQuery(sql);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate(sql);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate(sql, columnNames);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate(sql, autoGeneratedKeys);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate(sql, columnIndexes);
+        } finally {
+            JdbcTimingDataSource.recordExecution(sql, System.nanoTime() - start);
+        }
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target.getConnection();
+    }
+    
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return target.getFetchDirection();
+    }
+    
+    @Override
+    public int getFetchSize() throws SQLException {
+        return target.getFetchSize();
+    }
+    
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return target.getGeneratedKeys();
+    }
+    
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return target.getLargeMaxRows();
+    }
+    
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return target.getLargeUpdateCount();
+    }
+    
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return target.getMaxFieldSize();
+    }
+    
+    @Override
+    public int getMaxRows() throws SQLException {
+        return target.getMaxRows();
+    }
+    
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return target.getMoreResults();
+    }
+    
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return target.getMoreResults(current);
+    }
+    
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return target.getQueryTimeout();
+    }
+    
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return target.getResultSet();
+    }
+    
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return target.getResultSetConcurrency();
+    }
+    
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return target.getResultSetHoldability();
+    }
+    
+    @Override
+    public int getResultSetType() throws SQLException {
+        return target.getResultSetType();
+    }
+    
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return target.getUpdateCount();
+    }
+    
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return target.getWarnings();
+    }
+    
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return target.isCloseOnCompletion();
+    }
+    
+    @Override
+    public boolean isClosed() throws SQLException {
+        return target.isClosed();
+    }
+    
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return target.isPoolable();
+    }
+    
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return target.isSimpleIdentifier(identifier);
+    }
+    
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        target.setCursorName(name);
+    }
+    
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        target.setEscapeProcessing(enable);
+    }
+    
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        target.setFetchDirection(direction);
+    }
+    
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        target.setFetchSize(rows);
+    }
+    
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        target.setLargeMaxRows(max);
+    }
+    
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        target.setMaxFieldSize(max);
+    }
+    
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        target.setMaxRows(max);
+    }
+    
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        target.setPoolable(poolable);
+    }
+    
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        target.setQueryTimeout(seconds);
+    }
+    
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : target.unwrap(iface);
+    }
+    
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,74 @@
+package com.bloodbank.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a configured fraction of INFO and lower events per logger; WARN and ERROR always pass.
+ * Runs as a turbo filter, before the message is formatted, so dropped events cost no allocation.
+ *
+ *   &lt;turboFilter class="com.bloodbank.logging.SamplingTurboFilter"&gt;
+ *       &lt;sample&gt;com.bloodbank.service=0.05&lt;/sample&gt;
+ *   &lt;/turboFilter&gt;
+ *
+ * The longest matching logger prefix wins; loggers without a rule are not sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    
+    private final Map<String, Double> rates = new LinkedHashMap<>();
+    private final ConcurrentMap<String, Double> resolved = new ConcurrentHashMap<>();
+    
+    /**
+     * Add a "logger=rate" rule, rate between 0 (drop all) and 1 (keep all)
+     */
+    public void addSample(String rule) {
+        int separator = rule.lastIndexOf('=');
+        if (separator <= 0) {
+            addWarn("Ignoring sampling rule '" + rule + "', expected <logger>=<rate>");
+            return;
+        }
+        try {
+            double rate = Double.parseDouble(rule.substring(separator + 1).trim());
+            rates.put(rule.substring(0, separator).trim(), Math.max(0, Math.min(1, rate)));
+            resolved.clear();
+        } catch (NumberFormatException e) {
+            addWarn("Ignoring sampling rule '" + rule + "', rate is not a number");
+        }
+    }
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || rates.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = resolved.computeIfAbsent(logger.getName(), this::rateFor);
+        if (rate >= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+    
+    private double rateFor(String loggerName) {
+        double rate = 1;
+        int matchedLength = -1;
+        for (Map.Entry<String, Double> entry : rates.entrySet()) {
+            String prefix = entry.getKey();
+            boolean matches = loggerName.equals(prefix)
+                    || (loggerName.startsWith(prefix) && loggerName.charAt(prefix.length()) == '.');
+            if (matches && prefix.length() > matchedLength) {
+                rate = entry.getValue();
+                matchedLength = prefix.length();
+            }
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bloodbank.mapper;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+import com.bloodbank.dto.BloodInventoryDTO;
+import com.bloodbank.entity.BloodInventory;
+
+/**
+ * Compile-time generated mapper between BloodInventory and its DTOs
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface BloodInventoryMapper {
+    
+    /**
+     * Create a new BloodInventory entity from a create request
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "unitsReserved", ignore = true)
+    BloodInventory toEntity(BloodInventoryDTO.BloodInventoryCreateRequest request);
+    
+    /**
+     * Copy the non-null fields of an update request onto an existing entity
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "bloodGroup", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "unitsReserved", ignore = true)
+    void updateEntity(BloodInventoryDTO.BloodInventoryUpdateRequest request, @MappingTarget BloodInventory inventory);
+    
+    /**
+     * Convert BloodInventory entity to BloodInventoryResponse DTO
+     */
+    @Mapping(target = "isCriticalShortage", expression = "java(inventory.isCriticalShortage())")
+    @Mapping(target = "isAtMaxCapacity", expression = "java(inventory.isAtMaxCapacity())")
+    BloodInventoryDTO.BloodInventoryResponse toResponse(BloodInventory inventory);
+    
+    /**
+     * Convert BloodInventory entity to BloodInventorySummary DTO
+     */
+    @Mapping(target = "isCriticalShortage", expression = "java(inventory.isCriticalShortage())")
+    BloodInventoryDTO.BloodInventorySummary toSummary(BloodInventory inventory);
+    
+    /**
+     * Convert BloodInventory entity to BloodGroupAvailability DTO; units held for approved
+     * requests are not offered again
+     */
+    @Mapping(target = "status", source = "stockStatus")
+    @Mapping(target = "unitsAvailable", source = "unitsFree")
+    @Mapping(target = "available", expression = "java(inventory.getUnitsFree() > 0)")
+    BloodInventoryDTO.BloodGroupAvailability toAvailability(BloodInventory inventory);
+}
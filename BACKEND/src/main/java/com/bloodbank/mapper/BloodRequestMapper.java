@@ -0,0 +1,42 @@
+package com.bloodbank.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import com.bloodbank.dto.BloodRequestDTO;
+import com.bloodbank.entity.BloodRequest;
+
+/**
+ * Compile-time generated mapper between BloodRequest and its DTOs.
+ * Status changes go through BloodRequest.markAsProcessed rather than a mapper.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface BloodRequestMapper {
+    
+    /**
+     * Create a new BloodRequest entity from a create request
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "adminNotes", ignore = true)
+    @Mapping(target = "processedBy", ignore = true)
+    @Mapping(target = "processedAt", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    BloodRequest toEntity(BloodRequestDTO.BloodRequestCreateRequest request);
+    
+    /**
+     * Convert BloodRequest entity to BloodRequestResponse DTO
+     */
+    @Mapping(target = "urgencyLevelDisplay", expression = "java(request.getUrgencyLevel().getDisplayName())")
+    @Mapping(target = "statusDisplay", expression = "java(request.getStatus().getDisplayName())")
+    BloodRequestDTO.BloodRequestResponse toResponse(BloodRequest request);
+    
+    /**
+     * Convert BloodRequest entity to BloodRequestSummary DTO
+     */
+    @Mapping(target = "urgencyLevelDisplay", expression = "java(request.getUrgencyLevel().getDisplayName())")
+    @Mapping(target = "statusDisplay", expression = "java(request.getStatus().getDisplayName())")
+    BloodRequestDTO.BloodRequestSummary toSummary(BloodRequest request);
+}
@@ -0,0 +1,50 @@
+package com.bloodbank.mapper;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+import com.bloodbank.dto.DonorDTO;
+import com.bloodbank.entity.Donor;
+
+/**
+ * Compile-time generated mapper between Donor and its DTOs
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface DonorMapper {
+    
+    /**
+     * Create a new Donor entity from a create request
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "isEligible", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Donor toEntity(DonorDTO.DonorCreateRequest request);
+    
+    /**
+     * Copy the non-null fields of an update request onto an existing entity
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "email", ignore = true)
+    @Mapping(target = "bloodGroup", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEntity(DonorDTO.DonorUpdateRequest request, @MappingTarget Donor donor);
+    
+    /**
+     * Convert Donor entity to DonorResponse DTO
+     */
+    @Mapping(target = "canDonate", expression = "java(donor.canDonate())")
+    DonorDTO.DonorResponse toResponse(Donor donor);
+    
+    /**
+     * Convert Donor entity to DonorSummary DTO
+     */
+    @Mapping(target = "canDonate", expression = "java(donor.canDonate())")
+    DonorDTO.DonorSummary toSummary(Donor donor);
+}
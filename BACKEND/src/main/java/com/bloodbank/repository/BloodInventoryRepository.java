@@ -1,40 +1,61 @@
 package com.bloodbank.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.bloodbank.entity.BloodInventory;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 /**
- * Repository interface for BloodInventory entity
+ * Repository interface for BloodInventory entity.
+ * The frequent finders are served from the Hibernate query cache; any write to
+ * blood_inventory through Hibernate invalidates them.
  */
 @Repository
 public interface BloodInventoryRepository extends JpaRepository<BloodInventory, Long> {
     
+    /**
+     * Find all blood inventories
+     */
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<BloodInventory> findAll();
+    
     /**
      * Find blood inventory by blood group
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<BloodInventory> findByBloodGroup(String bloodGroup);
     
     /**
      * Find all inventories with critical shortage
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("SELECT bi FROM BloodInventory bi WHERE bi.unitsAvailable <= bi.minimumStock")
     List<BloodInventory> findCriticalShortages();
     
     /**
      * Find all inventories with low stock
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("SELECT bi FROM BloodInventory bi WHERE bi.unitsAvailable <= (bi.minimumStock * 2) AND bi.unitsAvailable > bi.minimumStock")
     List<BloodInventory> findLowStock();
     
     /**
      * Find inventories with adequate stock
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("SELECT bi FROM BloodInventory bi WHERE bi.unitsAvailable > (bi.minimumStock * 2)")
     List<BloodInventory> findAdequateStock();
     
@@ -47,6 +68,7 @@ public interface BloodInventoryRepository extends JpaRepository<BloodInventory,
     /**
      * Get total units available across all blood groups
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("SELECT SUM(bi.unitsAvailable) FROM BloodInventory bi")
     Long getTotalUnitsAvailable();
     
@@ -57,15 +79,16 @@ public interface BloodInventoryRepository extends JpaRepository<BloodInventory,
     Integer getUnitsAvailableByBloodGroup(String bloodGroup);
     
     /**
-     * Check if sufficient units are available for blood group
+     * Check if sufficient units are available for blood group, leaving out units held for approved requests
      */
-    @Query("SELECT CASE WHEN bi.unitsAvailable >= :requiredUnits THEN true ELSE false END " +
+    @Query("SELECT CASE WHEN bi.unitsAvailable - bi.unitsReserved >= :requiredUnits THEN true ELSE false END " +
            "FROM BloodInventory bi WHERE bi.bloodGroup = :bloodGroup")
     Boolean hasSufficientUnits(String bloodGroup, Integer requiredUnits);
     
     /**
      * Find all blood groups with zero units
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("SELECT bi FROM BloodInventory bi WHERE bi.unitsAvailable = 0")
     List<BloodInventory> findOutOfStock();
     
@@ -84,4 +107,33 @@ public interface BloodInventoryRepository extends JpaRepository<BloodInventory,
      * Check if blood group exists in inventory
      */
     boolean existsByBloodGroup(String bloodGroup);
-}
\ No newline at end of file
+    
+    /**
+     * Row count and latest modification time of the inventory, used as a cheap version probe
+     */
+    interface VersionProbe {
+        Long getRowCount();
+        LocalDateTime getLastUpdated();
+    }
+    
+    /**
+     * Probe the inventory version without loading any entity
+     */
+    @Query("SELECT COUNT(bi) AS rowCount, MAX(bi.updatedAt) AS lastUpdated FROM BloodInventory bi")
+    VersionProbe probeVersion();
+    
+    /**
+     * Lock one inventory by primary key for an update of its stock levels
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bi FROM BloodInventory bi WHERE bi.id = :id")
+    Optional<BloodInventory> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Lock the inventories of several blood groups for a stock movement.
+     * Rows are locked in blood group order so concurrent batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bi FROM BloodInventory bi WHERE bi.bloodGroup IN :bloodGroups ORDER BY bi.bloodGroup")
+    List<BloodInventory> findByBloodGroupInForUpdate(@Param("bloodGroups") Collection<String> bloodGroups);
+}
@@ -2,12 +2,15 @@ package com.bloodbank.repository;
 
 import com.bloodbank.entity.BloodRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for BloodRequest entity
@@ -115,4 +118,21 @@ public interface BloodRequestRepository extends JpaRepository<BloodRequest, Long
      * Find requests by patient name
      */
     List<BloodRequest> findByPatientNameContainingIgnoreCase(String patientName);
-}
\ No newline at end of file
+    
+    /**
+     * Move the given pending requests to a processed status in one statement.
+     * Requests that are no longer pending are left alone, so a result lower than
+     * ids.size() means another transaction processed some of them first.
+     * Pending changes are flushed first and the persistence context is cleared afterwards,
+     * since loaded requests no longer match their rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BloodRequest br SET br.status = :status, br.processedBy = :processedBy, " +
+           "br.processedAt = :processedAt, br.adminNotes = :adminNotes, br.updatedAt = :processedAt " +
+           "WHERE br.id IN :ids AND br.status = 'PENDING'")
+    int markPendingAsProcessed(@Param("ids") Collection<Long> ids,
+                               @Param("status") BloodRequest.RequestStatus status,
+                               @Param("processedBy") String processedBy,
+                               @Param("adminNotes") String adminNotes,
+                               @Param("processedAt") LocalDateTime processedAt);
+}
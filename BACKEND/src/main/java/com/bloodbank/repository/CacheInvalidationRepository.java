@@ -0,0 +1,48 @@
+package com.bloodbank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.CacheInvalidation;
+
+/**
+ * Repository interface for the cross-node cache invalidation log
+ */
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    
+    /**
+     * Read invalidations appended after the given id
+     */
+    @Query("SELECT i FROM CacheInvalidation i WHERE i.id > :after ORDER BY i.id ASC")
+    List<CacheInvalidation> findAfter(@Param("after") Long after, Pageable pageable);
+    
+    /**
+     * Re-read recent invalidations at or below the given id, which catches rows
+     * whose transaction committed after a higher id had already been seen
+     */
+    @Query("SELECT i FROM CacheInvalidation i WHERE i.createdAt >= :since AND i.id <= :upTo ORDER BY i.id ASC")
+    List<CacheInvalidation> findRecentUpTo(@Param("upTo") Long upTo,
+                                           @Param("since") LocalDateTime since,
+                                           Pageable pageable);
+    
+    /**
+     * Get the highest id currently stored
+     */
+    @Query("SELECT MAX(i.id) FROM CacheInvalidation i")
+    Long findLatestId();
+    
+    /**
+     * Delete invalidations older than the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation i WHERE i.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
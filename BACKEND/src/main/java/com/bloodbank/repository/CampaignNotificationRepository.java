@@ -0,0 +1,102 @@
+package com.bloodbank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.CampaignNotification;
+
+/**
+ * Repository interface for CampaignNotification outbox rows
+ */
+@Repository
+public interface CampaignNotificationRepository extends JpaRepository<CampaignNotification, Long> {
+    
+    /**
+     * Ids of the next batch of undelivered notifications in insertion order, skipping
+     * failed ones whose retry is not due yet
+     */
+    @Query("SELECT n.id FROM CampaignNotification n WHERE n.status = 'PENDING' " +
+           "AND (n.nextAttemptAt IS NULL OR n.nextAttemptAt <= :now) ORDER BY n.id ASC")
+    List<Long> findNextPendingIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * Claim notifications for one dispatch pass. The status guard makes the claim atomic:
+     * when two nodes race for the same rows, the second update re-checks the committed
+     * status and skips rows the first one already took.
+     */
+    @Modifying
+    @Query("UPDATE CampaignNotification n SET n.status = :status, n.claimedBy = :claimedBy, " +
+           "n.claimedAt = :claimedAt WHERE n.id IN :ids AND n.status = 'PENDING' " +
+           "AND (n.nextAttemptAt IS NULL OR n.nextAttemptAt <= :claimedAt)")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("status") CampaignNotification.DeliveryStatus status,
+              @Param("claimedBy") String claimedBy,
+              @Param("claimedAt") LocalDateTime claimedAt);
+    
+    /**
+     * Read back the rows a dispatch pass claimed
+     */
+    List<CampaignNotification> findByClaimedByAndStatusOrderByIdAsc(String claimedBy,
+                                                                    CampaignNotification.DeliveryStatus status);
+    
+    /**
+     * Return notifications whose claim outlived the lease (the claiming node died mid-batch) to the queue
+     */
+    @Modifying
+    @Query("UPDATE CampaignNotification n SET n.status = :status, n.claimedBy = NULL, n.claimedAt = NULL " +
+           "WHERE n.status = 'SENDING' AND n.claimedAt < :claimedBefore")
+    int releaseExpiredClaims(@Param("status") CampaignNotification.DeliveryStatus status,
+                             @Param("claimedBefore") LocalDateTime claimedBefore);
+    
+    /**
+     * Mark a batch of notifications as sent
+     */
+    @Modifying
+    @Query("UPDATE CampaignNotification n SET n.status = :status, n.sentAt = :sentAt, " +
+           "n.attempts = n.attempts + 1 WHERE n.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("status") CampaignNotification.DeliveryStatus status,
+                 @Param("sentAt") LocalDateTime sentAt);
+    
+    /**
+     * Record a failed delivery attempt with the status and retry time decided by the dispatcher
+     */
+    @Modifying
+    @Query("UPDATE CampaignNotification n SET n.attempts = n.attempts + 1, n.lastError = :error, " +
+           "n.status = :status, n.nextAttemptAt = :nextAttemptAt WHERE n.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("error") String error,
+                   @Param("status") CampaignNotification.DeliveryStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    /**
+     * Cancel all undelivered notifications of a campaign, including ones claimed for sending
+     */
+    @Modifying
+    @Query("UPDATE CampaignNotification n SET n.status = :status " +
+           "WHERE n.campaignId = :campaignId AND n.status IN ('PENDING', 'SENDING')")
+    int cancelPending(@Param("campaignId") Long campaignId,
+                      @Param("status") CampaignNotification.DeliveryStatus status);
+    
+    /**
+     * Count notifications per campaign and delivery status for a set of campaigns
+     */
+    @Query("SELECT n.campaignId, n.status, COUNT(n) FROM CampaignNotification n " +
+           "WHERE n.campaignId IN :campaignIds GROUP BY n.campaignId, n.status")
+    List<Object[]> countByCampaignIdsGroupByStatus(@Param("campaignIds") Collection<Long> campaignIds);
+    
+    /**
+     * Find campaigns that still have undelivered notifications among the given ids
+     */
+    @Query("SELECT DISTINCT n.campaignId FROM CampaignNotification n " +
+           "WHERE n.campaignId IN :campaignIds AND n.status IN ('PENDING', 'SENDING')")
+    List<Long> findCampaignIdsWithPending(@Param("campaignIds") Collection<Long> campaignIds);
+}
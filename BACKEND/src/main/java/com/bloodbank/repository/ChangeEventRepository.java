@@ -0,0 +1,46 @@
+package com.bloodbank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.ChangeEvent;
+
+/**
+ * Repository interface for ChangeEvent outbox rows
+ */
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+    
+    /**
+     * Read the next page of the change feed after a sequence number
+     */
+    @Query("SELECT e FROM ChangeEvent e WHERE e.feedSequence > :after ORDER BY e.feedSequence ASC")
+    List<ChangeEvent> findFeedPage(@Param("after") Long after, Pageable pageable);
+    
+    /**
+     * Get the highest sequence number published so far
+     */
+    @Query("SELECT MAX(e.feedSequence) FROM ChangeEvent e")
+    Long findLatestSequence();
+    
+    /**
+     * Find committed events that have no feed sequence yet, oldest first
+     */
+    @Query("SELECT e.id FROM ChangeEvent e WHERE e.feedSequence IS NULL ORDER BY e.id ASC")
+    List<Long> findUnpublishedIds(Pageable pageable);
+    
+    /**
+     * Find events older than the cutoff that have been superseded by a newer
+     * event for the same entity
+     */
+    @Query("SELECT e.id FROM ChangeEvent e WHERE e.createdAt < :cutoff AND EXISTS (" +
+           "SELECT 1 FROM ChangeEvent n WHERE n.entityType = e.entityType " +
+           "AND n.entityId = e.entityId AND n.id > e.id) ORDER BY e.id ASC")
+    List<Long> findSupersededIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
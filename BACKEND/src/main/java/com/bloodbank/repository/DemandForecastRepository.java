@@ -0,0 +1,33 @@
+package com.bloodbank.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.DemandForecast;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for DemandForecast entity
+ */
+@Repository
+public interface DemandForecastRepository extends JpaRepository<DemandForecast, Long> {
+    
+    /**
+     * Find forecast state by blood group
+     */
+    Optional<DemandForecast> findByBloodGroup(String bloodGroup);
+    
+    /**
+     * Lock the forecast state of a blood group; held while its model is refreshed, so
+     * a node that waits sees the days already consumed and skips them
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM DemandForecast f WHERE f.bloodGroup = :bloodGroup")
+    Optional<DemandForecast> findByBloodGroupForUpdate(@Param("bloodGroup") String bloodGroup);
+}
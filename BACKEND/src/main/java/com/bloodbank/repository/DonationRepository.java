@@ -0,0 +1,46 @@
+package com.bloodbank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.Donation;
+
+/**
+ * Repository interface for Donation entity
+ */
+@Repository
+public interface DonationRepository extends JpaRepository<Donation, Long> {
+    
+    /**
+     * Find the donations of a donor, most recent first
+     */
+    List<Donation> findByDonorIdOrderByDonationDateDescIdDesc(Long donorId);
+    
+    /**
+     * Find the blood groups that have donations whose units have not reached the inventory
+     */
+    @Query("SELECT DISTINCT d.bloodGroup FROM Donation d WHERE d.inventoryAppliedAt IS NULL")
+    List<String> findBloodGroupsWithPending();
+    
+    /**
+     * Fetch the next batch of pending donations of one blood group, in insertion order
+     */
+    @Query("SELECT d FROM Donation d WHERE d.inventoryAppliedAt IS NULL AND d.bloodGroup = :bloodGroup ORDER BY d.id ASC")
+    List<Donation> findNextPendingByBloodGroup(@Param("bloodGroup") String bloodGroup, Pageable pageable);
+    
+    /**
+     * Mark donations as added to the inventory. Returns fewer rows than requested when
+     * another node applied some of them first.
+     */
+    @Modifying
+    @Query("UPDATE Donation d SET d.inventoryAppliedAt = :appliedAt WHERE d.id IN :ids AND d.inventoryAppliedAt IS NULL")
+    int markApplied(@Param("ids") Collection<Long> ids, @Param("appliedAt") LocalDateTime appliedAt);
+}
@@ -1,16 +1,23 @@
 package com.bloodbank.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.bloodbank.entity.Donor;
 
+import jakarta.persistence.LockModeType;
+
 /**
  * Repository interface for Donor entity
  */
@@ -88,4 +95,61 @@ public interface DonorRepository extends JpaRepository<Donor, Long> {
      */
     @Query("SELECT d.bloodGroup, COUNT(d) FROM Donor d GROUP BY d.bloodGroup")
     List<Object[]> getDonorStatsByBloodGroup();
-}
\ No newline at end of file
+    
+    /**
+     * Read-only view of a donor used when building recall campaigns
+     */
+    interface RecallCandidate {
+        Long getId();
+        String getName();
+        String getEmail();
+        String getBloodGroup();
+        LocalDate getLastDonationDate();
+    }
+    
+    /**
+     * Next chunk of eligible donors who have never donated, keyed by id
+     */
+    @Query("SELECT d.id AS id, d.name AS name, d.email AS email, d.bloodGroup AS bloodGroup, " +
+           "d.lastDonationDate AS lastDonationDate FROM Donor d " +
+           "WHERE d.bloodGroup IN :bloodGroups AND d.isEligible = true " +
+           "AND d.lastDonationDate IS NULL AND d.id > :afterId ORDER BY d.id ASC")
+    List<RecallCandidate> findNeverDonatedCandidates(@Param("bloodGroups") Collection<String> bloodGroups,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+    
+    /**
+     * Next chunk of eligible donors past the donation interval, oldest donation first,
+     * keyed by (lastDonationDate, id)
+     */
+    @Query("SELECT d.id AS id, d.name AS name, d.email AS email, d.bloodGroup AS bloodGroup, " +
+           "d.lastDonationDate AS lastDonationDate FROM Donor d " +
+           "WHERE d.bloodGroup IN :bloodGroups AND d.isEligible = true " +
+           "AND d.lastDonationDate < :cutoffDate " +
+           "AND (d.lastDonationDate > :afterDate OR (d.lastDonationDate = :afterDate AND d.id > :afterId)) " +
+           "ORDER BY d.lastDonationDate ASC, d.id ASC")
+    List<RecallCandidate> findLapsedCandidates(@Param("bloodGroups") Collection<String> bloodGroups,
+                                               @Param("cutoffDate") LocalDate cutoffDate,
+                                               @Param("afterDate") LocalDate afterDate,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+    
+    /**
+     * Lock a donor for a change that depends on their current state, such as a donation
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Donor d WHERE d.id = :id")
+    Optional<Donor> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Record a donation date for several donors in one statement, never moving a
+     * donor's last donation date backwards. Returns the number of donors updated.
+     * The persistence context is cleared afterwards, since loaded donors no longer match their rows.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Donor d SET d.lastDonationDate = :donationDate, d.updatedAt = :updatedAt " +
+           "WHERE d.id IN :ids AND (d.lastDonationDate IS NULL OR d.lastDonationDate < :donationDate)")
+    int recordDonations(@Param("ids") Collection<Long> ids,
+                        @Param("donationDate") LocalDate donationDate,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,63 @@
+package com.bloodbank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.InventoryMovement;
+
+/**
+ * Repository interface for InventoryMovement ledger entries
+ */
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+    
+    /**
+     * Find movements of a blood group within a time range, newest first
+     */
+    @Query("SELECT m FROM InventoryMovement m WHERE m.bloodGroup = :bloodGroup " +
+           "AND m.createdAt >= :from AND m.createdAt <= :to ORDER BY m.id DESC")
+    List<InventoryMovement> findByBloodGroupBetween(@Param("bloodGroup") String bloodGroup,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    Pageable pageable);
+    
+    /**
+     * Find movements recorded for a blood request
+     */
+    List<InventoryMovement> findByRequestIdOrderByIdAsc(Long requestId);
+    
+    /**
+     * Sum deltas of a blood group after a ledger position, up to a point in time
+     */
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM InventoryMovement m WHERE m.bloodGroup = :bloodGroup " +
+           "AND m.id > :afterId AND m.createdAt <= :at")
+    Long sumDeltaSince(@Param("bloodGroup") String bloodGroup,
+                       @Param("afterId") Long afterId,
+                       @Param("at") LocalDateTime at);
+    
+    /**
+     * Sum deltas of a blood group in the ledger range (afterId, uptoId]
+     */
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM InventoryMovement m WHERE m.bloodGroup = :bloodGroup " +
+           "AND m.id > :afterId AND m.id <= :uptoId")
+    Long sumDeltaBetween(@Param("bloodGroup") String bloodGroup,
+                         @Param("afterId") Long afterId,
+                         @Param("uptoId") Long uptoId);
+    
+    /**
+     * Get the last ledger position of a blood group recorded before a cutoff
+     */
+    @Query("SELECT MAX(m.id) FROM InventoryMovement m WHERE m.bloodGroup = :bloodGroup AND m.createdAt < :cutoff")
+    Long findLastMovementIdBefore(@Param("bloodGroup") String bloodGroup, @Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Check whether a blood group has any ledger movement
+     */
+    boolean existsByBloodGroup(String bloodGroup);
+}
@@ -0,0 +1,26 @@
+package com.bloodbank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.InventorySnapshot;
+
+/**
+ * Repository interface for InventorySnapshot entity
+ */
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+    
+    /**
+     * Find the most recent snapshot of a blood group
+     */
+    Optional<InventorySnapshot> findFirstByBloodGroupOrderByLastMovementIdDesc(String bloodGroup);
+    
+    /**
+     * Find the most recent snapshot of a blood group taken at or before a point in time
+     */
+    Optional<InventorySnapshot> findFirstByBloodGroupAndAsOfLessThanEqualOrderByAsOfDesc(String bloodGroup, LocalDateTime at);
+}
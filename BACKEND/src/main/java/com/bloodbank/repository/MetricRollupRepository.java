@@ -0,0 +1,54 @@
+package com.bloodbank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.MetricRollup;
+
+/**
+ * Repository interface for MetricRollup buckets
+ */
+@Repository
+public interface MetricRollupRepository extends JpaRepository<MetricRollup, Long> {
+    
+    /**
+     * Sum a metric per bucket of a tier within [from, to), optionally for one blood group
+     */
+    @Query("SELECT r.bucketStart, SUM(r.amount) FROM MetricRollup r WHERE r.tier = :tier AND r.metric = :metric " +
+           "AND (:bloodGroup IS NULL OR r.bloodGroup = :bloodGroup) " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<Object[]> sumByBucket(@Param("tier") MetricRollup.Tier tier,
+                               @Param("metric") MetricRollup.Metric metric,
+                               @Param("bloodGroup") String bloodGroup,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+    
+    /**
+     * Read all buckets of a tier within [from, to) for compaction
+     */
+    @Query("SELECT r FROM MetricRollup r WHERE r.tier = :tier " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<MetricRollup> findBuckets(@Param("tier") MetricRollup.Tier tier,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+    
+    /**
+     * Get the earliest bucket of a tier
+     */
+    @Query("SELECT MIN(r.bucketStart) FROM MetricRollup r WHERE r.tier = :tier")
+    LocalDateTime findEarliestBucket(@Param("tier") MetricRollup.Tier tier);
+    
+    /**
+     * Delete buckets of a tier starting before a cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM MetricRollup r WHERE r.tier = :tier AND r.bucketStart < :cutoff")
+    int deleteOlderThan(@Param("tier") MetricRollup.Tier tier, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,30 @@
+package com.bloodbank.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.RecallCampaign;
+
+/**
+ * Repository interface for RecallCampaign entity
+ */
+@Repository
+public interface RecallCampaignRepository extends JpaRepository<RecallCampaign, Long> {
+    
+    /**
+     * Find campaigns by status
+     */
+    List<RecallCampaign> findByStatusOrderByCreatedAtDesc(RecallCampaign.CampaignStatus status);
+    
+    /**
+     * Find all campaigns, newest first
+     */
+    List<RecallCampaign> findAllByOrderByCreatedAtDesc();
+    
+    /**
+     * Check if a campaign for the blood group is already running
+     */
+    boolean existsByBloodGroupAndStatus(String bloodGroup, RecallCampaign.CampaignStatus status);
+}
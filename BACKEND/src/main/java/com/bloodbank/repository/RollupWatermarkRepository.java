@@ -0,0 +1,27 @@
+package com.bloodbank.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.entity.RollupWatermark;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository interface for RollupWatermark entity
+ */
+@Repository
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, MetricRollup.Tier> {
+    
+    /**
+     * Lock all watermarks; held for the whole compaction pass so only one node compacts at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM RollupWatermark w ORDER BY w.tier")
+    List<RollupWatermark> findAllForUpdate();
+}
@@ -0,0 +1,61 @@
+package com.bloodbank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bloodbank.entity.UnitReservation;
+
+/**
+ * Repository interface for UnitReservation entity.
+ * Every lookup goes through an index; expiry never scans the table.
+ */
+@Repository
+public interface UnitReservationRepository extends JpaRepository<UnitReservation, Long> {
+    
+    /**
+     * Find the active hold of a blood request
+     */
+    @Query("SELECT r FROM UnitReservation r WHERE r.requestId = :requestId AND r.status = 'ACTIVE'")
+    Optional<UnitReservation> findActiveByRequestId(@Param("requestId") Long requestId);
+    
+    /**
+     * Find the holds among the given ids that are still active
+     */
+    @Query("SELECT r FROM UnitReservation r WHERE r.id IN :ids AND r.status = 'ACTIVE'")
+    List<UnitReservation> findActiveByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Next chunk of active holds in expiry order, keyed by (expiresAt, id); used to rebuild the timer
+     */
+    @Query("SELECT r FROM UnitReservation r WHERE r.status = 'ACTIVE' " +
+           "AND (r.expiresAt > :afterExpiresAt OR (r.expiresAt = :afterExpiresAt AND r.id > :afterId)) " +
+           "ORDER BY r.expiresAt ASC, r.id ASC")
+    List<UnitReservation> findActiveAfter(@Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+    
+    /**
+     * Active holds that ran out before the cutoff, oldest first
+     */
+    @Query("SELECT r FROM UnitReservation r WHERE r.status = 'ACTIVE' AND r.expiresAt <= :cutoff ORDER BY r.expiresAt ASC")
+    List<UnitReservation> findActiveExpiredBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    /**
+     * Close active holds. Returns fewer rows than requested when some were closed concurrently.
+     */
+    @Modifying
+    @Query("UPDATE UnitReservation r SET r.status = :status, r.closedAt = :closedAt " +
+           "WHERE r.id IN :ids AND r.status = 'ACTIVE'")
+    int closeActive(@Param("ids") Collection<Long> ids,
+                    @Param("status") UnitReservation.Status status,
+                    @Param("closedAt") LocalDateTime closedAt);
+}
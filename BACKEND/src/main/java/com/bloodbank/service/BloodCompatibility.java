@@ -0,0 +1,40 @@
+package com.bloodbank.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Red cell compatibility table: which donor blood groups a recipient group can receive
+ */
+public final class BloodCompatibility {
+    
+    /**
+     * All blood groups handled by the bank
+     */
+    public static final List<String> ALL_BLOOD_GROUPS = List.of("A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-");
+    
+    private static final Map<String, List<String>> COMPATIBLE_DONORS = Map.of(
+        "O-", List.of("O-"),
+        "O+", List.of("O+", "O-"),
+        "A-", List.of("A-", "O-"),
+        "A+", List.of("A+", "A-", "O+", "O-"),
+        "B-", List.of("B-", "O-"),
+        "B+", List.of("B+", "B-", "O+", "O-"),
+        "AB-", List.of("AB-", "A-", "B-", "O-"),
+        "AB+", List.of("AB+", "AB-", "A+", "A-", "B+", "B-", "O+", "O-")
+    );
+    
+    private BloodCompatibility() {
+    }
+    
+    /**
+     * Get the donor blood groups compatible with the given recipient blood group
+     */
+    public static List<String> compatibleDonorGroups(String recipientBloodGroup) {
+        List<String> groups = COMPATIBLE_DONORS.get(recipientBloodGroup);
+        if (groups == null) {
+            throw new IllegalArgumentException("Unknown blood group: " + recipientBloodGroup);
+        }
+        return groups;
+    }
+}
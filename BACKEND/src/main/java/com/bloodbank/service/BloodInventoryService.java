@@ -1,16 +1,48 @@
 package com.bloodbank.service;
 
+import com.bloodbank.config.CacheConfig;
 import com.bloodbank.dto.BloodInventoryDTO;
 import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.ChangeEvent;
+import com.bloodbank.entity.InventoryMovement;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.event.InventoryShortageEvent;
+import com.bloodbank.exception.CapacityExceededException;
+import com.bloodbank.exception.DuplicateResourceException;
+import com.bloodbank.exception.InsufficientUnitsException;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.exception.ResourceNotFoundException;
+import com.bloodbank.mapper.BloodInventoryMapper;
 import com.bloodbank.repository.BloodInventoryRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -22,26 +54,45 @@ import java.util.stream.Collectors;
 @Transactional
 public class BloodInventoryService {
     
+    private static final String INTAKE_SQL =
+        "UPDATE blood_inventory SET units_available = units_available + ?, updated_at = ? " +
+        "WHERE blood_group = ? AND units_available + ? <= maximum_capacity";
+    
     private final BloodInventoryRepository bloodInventoryRepository;
+    private final BloodInventoryMapper bloodInventoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeEventService changeEventService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final RollupService rollupService;
+    private final DonorService donorService;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    
+    @Value("${inventory.intake.max-bags:2000}")
+    private int intakeMaxBags;
     
     /**
      * Create a new blood inventory record
      */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#request.bloodGroup")
     public BloodInventoryDTO.BloodInventoryResponse createBloodInventory(BloodInventoryDTO.BloodInventoryCreateRequest request) {
         log.info("Creating new blood inventory for blood group: {}", request.getBloodGroup());
         
         // Check if blood group already exists
         if (bloodInventoryRepository.existsByBloodGroup(request.getBloodGroup())) {
-            throw new RuntimeException("Blood inventory for blood group " + request.getBloodGroup() + " already exists");
+            throw new DuplicateResourceException("Blood inventory for blood group " + request.getBloodGroup() + " already exists");
         }
         
-        BloodInventory inventory = new BloodInventory();
-        BeanUtils.copyProperties(request, inventory);
+        BloodInventory inventory = bloodInventoryMapper.toEntity(request);
         
         BloodInventory savedInventory = bloodInventoryRepository.save(inventory);
+        if (savedInventory.getUnitsAvailable() != 0) {
+            inventoryLedgerService.recordMovement(savedInventory.getBloodGroup(), savedInventory.getUnitsAvailable(),
+                    InventoryMovement.MovementType.INITIAL, null, null, request.getNotes());
+        }
         log.info("Successfully created blood inventory with ID: {}", savedInventory.getId());
         
-        return convertToResponse(savedInventory);
+        return recordChange(savedInventory, ChangeEvent.ChangeType.CREATED);
     }
     
     /**
@@ -51,17 +102,18 @@ public class BloodInventoryService {
     public Optional<BloodInventoryDTO.BloodInventoryResponse> getBloodInventoryById(Long id) {
         log.info("Fetching blood inventory with ID: {}", id);
         return bloodInventoryRepository.findById(id)
-                .map(this::convertToResponse);
+                .map(bloodInventoryMapper::toResponse);
     }
     
     /**
      * Get blood inventory by blood group
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#bloodGroup", sync = true)
     public Optional<BloodInventoryDTO.BloodInventoryResponse> getBloodInventoryByBloodGroup(String bloodGroup) {
         log.info("Fetching blood inventory for blood group: {}", bloodGroup);
         return bloodInventoryRepository.findByBloodGroup(bloodGroup)
-                .map(this::convertToResponse);
+                .map(bloodInventoryMapper::toResponse);
     }
     
     /**
@@ -71,78 +123,89 @@ public class BloodInventoryService {
     public List<BloodInventoryDTO.BloodInventorySummary> getAllBloodInventories() {
         log.info("Fetching all blood inventories");
         return bloodInventoryRepository.findAll().stream()
-                .map(this::convertToSummary)
+                .map(bloodInventoryMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
     /**
      * Update blood inventory
      */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#result.bloodGroup")
     public BloodInventoryDTO.BloodInventoryResponse updateBloodInventory(Long id, BloodInventoryDTO.BloodInventoryUpdateRequest request) {
         log.info("Updating blood inventory with ID: {}", id);
         
-        BloodInventory inventory = bloodInventoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blood inventory not found with ID: " + id));
+        // Locked like every other stock change, so the save cannot overwrite units held concurrently
+        BloodInventory inventory = bloodInventoryRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Blood inventory not found with ID: " + id));
         
-        // Update only non-null fields
+        // Record the stock adjustment before the non-null fields are applied
         if (request.getUnitsAvailable() != null) {
-            inventory.setUnitsAvailable(request.getUnitsAvailable());
-        }
-        if (request.getMinimumStock() != null) {
-            inventory.setMinimumStock(request.getMinimumStock());
-        }
-        if (request.getMaximumCapacity() != null) {
-            inventory.setMaximumCapacity(request.getMaximumCapacity());
-        }
-        if (request.getExpiryDate() != null) {
-            inventory.setExpiryDate(request.getExpiryDate());
-        }
-        if (request.getNotes() != null) {
-            inventory.setNotes(request.getNotes());
+            if (request.getUnitsAvailable() < inventory.getUnitsReserved()) {
+                throw new InsufficientUnitsException("Units available cannot drop below the " +
+                                         inventory.getUnitsReserved() + " units held for approved requests");
+            }
+            int delta = request.getUnitsAvailable() - inventory.getUnitsAvailable();
+            if (delta != 0) {
+                inventoryLedgerService.recordMovement(inventory.getBloodGroup(), delta,
+                        InventoryMovement.MovementType.ADJUSTMENT, null, null, request.getNotes());
+            }
         }
+        bloodInventoryMapper.updateEntity(request, inventory);
         
         BloodInventory updatedInventory = bloodInventoryRepository.save(inventory);
         log.info("Successfully updated blood inventory with ID: {}", id);
         
-        return convertToResponse(updatedInventory);
+        return recordChange(updatedInventory, ChangeEvent.ChangeType.UPDATED);
     }
     
     /**
      * Add units to blood inventory
      */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#bloodGroup")
     public BloodInventoryDTO.BloodInventoryResponse addUnits(String bloodGroup, BloodInventoryDTO.UnitsUpdateRequest request) {
         log.info("Adding {} units to blood group: {}", request.getUnits(), bloodGroup);
         
-        BloodInventory inventory = bloodInventoryRepository.findByBloodGroup(bloodGroup)
-                .orElseThrow(() -> new RuntimeException("Blood inventory not found for blood group: " + bloodGroup));
+        BloodInventory inventory = lockInventory(bloodGroup);
         
         int newUnits = inventory.getUnitsAvailable() + request.getUnits();
         if (newUnits > inventory.getMaximumCapacity()) {
-            throw new RuntimeException("Adding units would exceed maximum capacity of " + inventory.getMaximumCapacity());
+            throw new CapacityExceededException("Adding units would exceed maximum capacity of " + inventory.getMaximumCapacity());
         }
         
         inventory.setUnitsAvailable(newUnits);
         if (request.getNotes() != null) {
             inventory.setNotes(request.getNotes());
         }
+        inventoryLedgerService.recordMovement(bloodGroup, request.getUnits(),
+                InventoryMovement.MovementType.INTAKE, null, request.getPerformedBy(), request.getNotes());
+        rollupService.increment(MetricRollup.Metric.UNITS_RECEIVED, bloodGroup, request.getUnits());
         
         BloodInventory updatedInventory = bloodInventoryRepository.save(inventory);
         log.info("Successfully added {} units to blood group: {}", request.getUnits(), bloodGroup);
         
-        return convertToResponse(updatedInventory);
+        return recordChange(updatedInventory, ChangeEvent.ChangeType.UPDATED);
     }
     
     /**
      * Remove units from blood inventory
      */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#bloodGroup")
     public BloodInventoryDTO.BloodInventoryResponse removeUnits(String bloodGroup, BloodInventoryDTO.UnitsUpdateRequest request) {
+        return removeUnits(bloodGroup, request, null);
+    }
+    
+    /**
+     * Remove units from blood inventory on behalf of a blood request.
+     * Units held for approved requests cannot be removed; release or fulfil those requests first.
+     */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#bloodGroup")
+    public BloodInventoryDTO.BloodInventoryResponse removeUnits(String bloodGroup, BloodInventoryDTO.UnitsUpdateRequest request, Long requestId) {
         log.info("Removing {} units from blood group: {}", request.getUnits(), bloodGroup);
         
-        BloodInventory inventory = bloodInventoryRepository.findByBloodGroup(bloodGroup)
-                .orElseThrow(() -> new RuntimeException("Blood inventory not found for blood group: " + bloodGroup));
+        BloodInventory inventory = lockInventory(bloodGroup);
         
-        if (inventory.getUnitsAvailable() < request.getUnits()) {
-            throw new RuntimeException("Insufficient units available. Current: " + inventory.getUnitsAvailable() + 
+        if (inventory.getUnitsFree() < request.getUnits()) {
+            throw new InsufficientUnitsException("Insufficient units available. Current: " + inventory.getUnitsFree() + 
                                      ", Requested: " + request.getUnits());
         }
         
@@ -150,24 +213,202 @@ public class BloodInventoryService {
         if (request.getNotes() != null) {
             inventory.setNotes(request.getNotes());
         }
+        inventoryLedgerService.recordMovement(bloodGroup, -request.getUnits(),
+                InventoryMovement.MovementType.ISSUE, requestId, request.getPerformedBy(), request.getNotes());
+        rollupService.increment(MetricRollup.Metric.UNITS_ISSUED, bloodGroup, request.getUnits());
         
         BloodInventory updatedInventory = bloodInventoryRepository.save(inventory);
         log.info("Successfully removed {} units from blood group: {}", request.getUnits(), bloodGroup);
         
-        return convertToResponse(updatedInventory);
+        if (updatedInventory.isCriticalShortage()) {
+            eventPublisher.publishEvent(new InventoryShortageEvent(
+                bloodGroup, updatedInventory.getUnitsAvailable(), updatedInventory.getMinimumStock()));
+        }
+        
+        return recordChange(updatedInventory, ChangeEvent.ChangeType.UPDATED);
+    }
+    
+    /**
+     * Lock the inventories of the given blood groups for a stock movement in the current transaction
+     */
+    public Map<String, BloodInventory> lockInventories(Collection<String> bloodGroups) {
+        return bloodInventoryRepository.findByBloodGroupInForUpdate(bloodGroups).stream()
+                .collect(Collectors.toMap(BloodInventory::getBloodGroup, Function.identity()));
+    }
+    
+    /**
+     * Change the units held for approved requests in one blood group. The inventory must have
+     * been locked with lockInventories in the same transaction; a positive change must fit
+     * in the units that are not held yet.
+     */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#inventory.bloodGroup")
+    public BloodInventoryDTO.BloodInventoryResponse changeReservedUnits(BloodInventory inventory, int delta) {
+        String bloodGroup = inventory.getBloodGroup();
+        log.info("Changing units held in blood group: {} by {}", bloodGroup, delta);
+        
+        if (delta > inventory.getUnitsFree()) {
+            throw new InsufficientUnitsException("Insufficient units available. Current: " + inventory.getUnitsFree() +
+                                     ", Requested: " + delta);
+        }
+        
+        inventory.setUnitsReserved(Math.max(0, inventory.getUnitsReserved() + delta));
+        BloodInventory updatedInventory = bloodInventoryRepository.save(inventory);
+        return recordChange(updatedInventory, ChangeEvent.ChangeType.UPDATED);
+    }
+    
+    /**
+     * Receive units into one blood group. The inventory must have been locked with
+     * lockInventories in the same transaction.
+     */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#inventory.bloodGroup")
+    public BloodInventoryDTO.BloodInventoryResponse receiveUnits(BloodInventory inventory, int units,
+                                                                 String performedBy, String notes) {
+        String bloodGroup = inventory.getBloodGroup();
+        log.info("Receiving {} units into blood group: {}", units, bloodGroup);
+        
+        int newUnits = inventory.getUnitsAvailable() + units;
+        if (newUnits > inventory.getMaximumCapacity()) {
+            throw new CapacityExceededException("Adding units would exceed maximum capacity of " + inventory.getMaximumCapacity());
+        }
+        
+        inventory.setUnitsAvailable(newUnits);
+        inventoryLedgerService.recordMovement(bloodGroup, units,
+                InventoryMovement.MovementType.INTAKE, null, performedBy, notes);
+        rollupService.increment(MetricRollup.Metric.UNITS_RECEIVED, bloodGroup, units);
+        
+        BloodInventory updatedInventory = bloodInventoryRepository.save(inventory);
+        return recordChange(updatedInventory, ChangeEvent.ChangeType.UPDATED);
+    }
+    
+    /**
+     * Issue units to several blood requests of one blood group with a single inventory update.
+     * The inventory must have been locked with lockInventories in the same transaction; each
+     * request still gets its own ledger movement.
+     */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, key = "#inventory.bloodGroup")
+    public BloodInventoryDTO.BloodInventoryResponse issueUnits(BloodInventory inventory, Map<Long, Integer> unitsByRequest,
+                                                               String performedBy, String notes) {
+        String bloodGroup = inventory.getBloodGroup();
+        int totalUnits = unitsByRequest.values().stream().mapToInt(Integer::intValue).sum();
+        log.info("Issuing {} units from blood group: {} to {} requests", totalUnits, bloodGroup, unitsByRequest.size());
+        
+        if (inventory.getUnitsFree() < totalUnits) {
+            throw new InsufficientUnitsException("Insufficient units available. Current: " + inventory.getUnitsFree() +
+                                     ", Requested: " + totalUnits);
+        }
+        
+        inventory.setUnitsAvailable(inventory.getUnitsAvailable() - totalUnits);
+        unitsByRequest.forEach((requestId, units) -> inventoryLedgerService.recordMovement(bloodGroup, -units,
+                InventoryMovement.MovementType.ISSUE, requestId, performedBy, notes));
+        rollupService.increment(MetricRollup.Metric.UNITS_ISSUED, bloodGroup, totalUnits);
+        
+        BloodInventory updatedInventory = bloodInventoryRepository.save(inventory);
+        
+        if (updatedInventory.isCriticalShortage()) {
+            eventPublisher.publishEvent(new InventoryShortageEvent(
+                bloodGroup, updatedInventory.getUnitsAvailable(), updatedInventory.getMinimumStock()));
+        }
+        
+        return recordChange(updatedInventory, ChangeEvent.ChangeType.UPDATED);
+    }
+    
+    /**
+     * Receive the bags returned from a donation drive in one transaction.
+     * Capacity is checked for every blood group before anything is written, then the
+     * increments go out as one JDBC batch of conditional updates, and the donors linked to
+     * bags get their last donation date in one statement.
+     */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, allEntries = true)
+    public BloodInventoryDTO.IntakeResponse intake(BloodInventoryDTO.IntakeManifest manifest) {
+        List<BloodInventoryDTO.IntakeBag> bags = manifest.getBags();
+        log.info("Receiving intake manifest of {} bags", bags.size());
+        if (bags.size() > intakeMaxBags) {
+            throw new IllegalArgumentException("An intake manifest is limited to " + intakeMaxBags + " bags");
+        }
+        
+        // Sorted so the conditional updates lock rows in blood group order, like lockInventories
+        Map<String, Integer> unitsByBloodGroup = new TreeMap<>();
+        Map<Long, String> bloodGroupByDonor = new HashMap<>();
+        for (BloodInventoryDTO.IntakeBag bag : bags) {
+            unitsByBloodGroup.merge(bag.getBloodGroup(), 1, Integer::sum);
+            if (bag.getDonorId() != null && bloodGroupByDonor.put(bag.getDonorId(), bag.getBloodGroup()) != null) {
+                throw new IllegalArgumentException("Donor " + bag.getDonorId() + " appears on more than one bag");
+            }
+        }
+        
+        Map<String, BloodInventory> inventories = lockInventories(unitsByBloodGroup.keySet());
+        List<String> missing = unitsByBloodGroup.keySet().stream()
+                .filter(bloodGroup -> !inventories.containsKey(bloodGroup))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Blood inventory not found for blood groups: " + missing);
+        }
+        List<String> overCapacity = unitsByBloodGroup.entrySet().stream()
+                .filter(entry -> {
+                    BloodInventory inventory = inventories.get(entry.getKey());
+                    return inventory.getUnitsAvailable() + entry.getValue() > inventory.getMaximumCapacity();
+                })
+                .map(entry -> {
+                    BloodInventory inventory = inventories.get(entry.getKey());
+                    return entry.getKey() + " (" + inventory.getUnitsAvailable() + " + " + entry.getValue() +
+                           " > " + inventory.getMaximumCapacity() + ")";
+                })
+                .toList();
+        if (!overCapacity.isEmpty()) {
+            throw new CapacityExceededException("Intake would exceed maximum capacity for: " + String.join(", ", overCapacity));
+        }
+        
+        // The batch bypasses Hibernate; drop the loaded copies and the cached ones
+        inventories.values().forEach(entityManager::detach);
+        evictSecondLevelOnCompletion();
+        applyIncrements(unitsByBloodGroup);
+        
+        unitsByBloodGroup.forEach((bloodGroup, units) -> {
+            inventoryLedgerService.recordMovement(bloodGroup, units,
+                    InventoryMovement.MovementType.INTAKE, null, manifest.getPerformedBy(), manifest.getNotes());
+            rollupService.increment(MetricRollup.Metric.UNITS_RECEIVED, bloodGroup, units);
+        });
+        
+        int donorsUpdated = 0;
+        if (!bloodGroupByDonor.isEmpty()) {
+            LocalDate donationDate = manifest.getDonationDate() != null ? manifest.getDonationDate() : LocalDate.now();
+            donorsUpdated = donorService.recordDonations(bloodGroupByDonor, donationDate);
+        }
+        
+        List<BloodInventoryDTO.BloodInventoryResponse> responses = bloodInventoryRepository
+                .findByBloodGroupInForUpdate(unitsByBloodGroup.keySet()).stream()
+                .map(inventory -> recordChange(inventory, ChangeEvent.ChangeType.UPDATED))
+                .toList();
+        
+        log.info("Received {} bags across {} blood groups, {} donors updated",
+                bags.size(), unitsByBloodGroup.size(), donorsUpdated);
+        return new BloodInventoryDTO.IntakeResponse(bags.size(), unitsByBloodGroup, donorsUpdated, responses);
     }
     
     /**
      * Delete blood inventory
      */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, allEntries = true)
     public void deleteBloodInventory(Long id) {
         log.info("Deleting blood inventory with ID: {}", id);
         
-        if (!bloodInventoryRepository.existsById(id)) {
-            throw new RuntimeException("Blood inventory not found with ID: " + id);
+        String bloodGroup = bloodInventoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Blood inventory not found with ID: " + id))
+                .getBloodGroup();
+        // Locked so no hold can be placed between the check and the delete
+        BloodInventory inventory = lockInventory(bloodGroup);
+        // Active holds would have nothing to expire or release against
+        if (inventory.getUnitsReserved() > 0) {
+            throw new InvalidStateException("Blood inventory " + inventory.getBloodGroup() + " has "
+                    + inventory.getUnitsReserved() + " units on hold; fulfil or cancel the approved requests first");
         }
         
+        if (inventory.getUnitsAvailable() != 0) {
+            inventoryLedgerService.recordMovement(inventory.getBloodGroup(), -inventory.getUnitsAvailable(),
+                    InventoryMovement.MovementType.REMOVAL, null, null, "Inventory record deleted");
+        }
         bloodInventoryRepository.deleteById(id);
+        changeEventService.record(ChangeEventService.BLOOD_INVENTORY, id, ChangeEvent.ChangeType.DELETED, null);
         log.info("Successfully deleted blood inventory with ID: {}", id);
     }
     
@@ -178,7 +419,7 @@ public class BloodInventoryService {
     public List<BloodInventoryDTO.BloodInventorySummary> getCriticalShortages() {
         log.info("Fetching critical shortages");
         return bloodInventoryRepository.findCriticalShortages().stream()
-                .map(this::convertToSummary)
+                .map(bloodInventoryMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -189,7 +430,7 @@ public class BloodInventoryService {
     public List<BloodInventoryDTO.BloodInventorySummary> getLowStock() {
         log.info("Fetching low stock inventories");
         return bloodInventoryRepository.findLowStock().stream()
-                .map(this::convertToSummary)
+                .map(bloodInventoryMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -200,7 +441,7 @@ public class BloodInventoryService {
     public List<BloodInventoryDTO.BloodInventorySummary> getOutOfStock() {
         log.info("Fetching out of stock inventories");
         return bloodInventoryRepository.findOutOfStock().stream()
-                .map(this::convertToSummary)
+                .map(bloodInventoryMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -221,7 +462,7 @@ public class BloodInventoryService {
     public List<BloodInventoryDTO.BloodGroupAvailability> getBloodGroupAvailability() {
         log.info("Fetching blood group availability");
         return bloodInventoryRepository.findAll().stream()
-                .map(this::convertToAvailability)
+                .map(bloodInventoryMapper::toAvailability)
                 .collect(Collectors.toList());
     }
     
@@ -251,6 +492,7 @@ public class BloodInventoryService {
     /**
      * Initialize blood inventory for all blood groups
      */
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, allEntries = true)
     public void initializeBloodGroups() {
         log.info("Initializing blood inventory for all blood groups");
         
@@ -265,46 +507,101 @@ public class BloodInventoryService {
                 inventory.setMaximumCapacity(100);
                 inventory.setNotes("Initialized automatically");
                 
-                bloodInventoryRepository.save(inventory);
+                BloodInventory savedInventory = bloodInventoryRepository.save(inventory);
+                recordChange(savedInventory, ChangeEvent.ChangeType.CREATED);
                 log.info("Initialized blood inventory for blood group: {}", bloodGroup);
             }
         }
     }
     
     /**
-     * Convert BloodInventory entity to BloodInventoryResponse DTO
+     * Record an OPENING movement for the current units of every blood group that has stock
+     * but no ledger movements yet, i.e. stock that predates the ledger. Without it the
+     * ledger balance of such a group would be off by that stock forever. The rows are
+     * locked, so nodes starting together record each opening balance once.
      */
-    private BloodInventoryDTO.BloodInventoryResponse convertToResponse(BloodInventory inventory) {
-        BloodInventoryDTO.BloodInventoryResponse response = new BloodInventoryDTO.BloodInventoryResponse();
-        BeanUtils.copyProperties(inventory, response);
-        response.setStockStatus(inventory.getStockStatus());
-        response.setIsCriticalShortage(inventory.isCriticalShortage());
-        response.setIsAtMaxCapacity(inventory.isAtMaxCapacity());
-        return response;
+    @EventListener(ApplicationReadyEvent.class)
+    public void recordOpeningBalances() {
+        int recorded = 0;
+        for (BloodInventory inventory : lockInventories(BloodCompatibility.ALL_BLOOD_GROUPS).values()) {
+            if (inventory.getUnitsAvailable() <= 0 || inventoryLedgerService.hasMovements(inventory.getBloodGroup())) {
+                continue;
+            }
+            inventoryLedgerService.recordMovement(inventory.getBloodGroup(), inventory.getUnitsAvailable(),
+                    InventoryMovement.MovementType.OPENING, null, null, "Stock on hand before the ledger");
+            recorded++;
+        }
+        if (recorded > 0) {
+            log.info("Recorded opening ledger balances for {} blood groups", recorded);
+        }
+    }
+    
+    /**
+     * Lock the inventory of one blood group for a stock movement in the current transaction
+     */
+    private BloodInventory lockInventory(String bloodGroup) {
+        BloodInventory inventory = lockInventories(List.of(bloodGroup)).get(bloodGroup);
+        if (inventory == null) {
+            throw new ResourceNotFoundException("Blood inventory not found for blood group: " + bloodGroup);
+        }
+        return inventory;
+    }
+    
+    /**
+     * Add units to several blood groups with one JDBC batch. Each statement repeats the
+     * capacity check, so the batch can never overfill a group; a rejected row rolls back the intake.
+     */
+    private void applyIncrements(Map<String, Integer> unitsByBloodGroup) {
+        List<Map.Entry<String, Integer>> increments = new ArrayList<>(unitsByBloodGroup.entrySet());
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(INTAKE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<String, Integer> increment = increments.get(i);
+                ps.setInt(1, increment.getValue());
+                ps.setTimestamp(2, updatedAt);
+                ps.setString(3, increment.getKey());
+                ps.setInt(4, increment.getValue());
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return increments.size();
+            }
+        });
+        
+        List<String> rejected = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                rejected.add(increments.get(i).getKey());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            throw new CapacityExceededException("Intake would exceed maximum capacity for: " + rejected);
+        }
     }
     
     /**
-     * Convert BloodInventory entity to BloodInventorySummary DTO
+     * Evict blood inventories from the second-level and query caches once the current
+     * transaction ends, after a write that did not go through Hibernate
      */
-    private BloodInventoryDTO.BloodInventorySummary convertToSummary(BloodInventory inventory) {
-        BloodInventoryDTO.BloodInventorySummary summary = new BloodInventoryDTO.BloodInventorySummary();
-        summary.setId(inventory.getId());
-        summary.setBloodGroup(inventory.getBloodGroup());
-        summary.setUnitsAvailable(inventory.getUnitsAvailable());
-        summary.setStockStatus(inventory.getStockStatus());
-        summary.setIsCriticalShortage(inventory.isCriticalShortage());
-        return summary;
+    private void evictSecondLevelOnCompletion() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                jakarta.persistence.Cache secondLevelCache = entityManager.getEntityManagerFactory().getCache();
+                secondLevelCache.evict(BloodInventory.class);
+                secondLevelCache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            }
+        });
     }
     
     /**
-     * Convert BloodInventory entity to BloodGroupAvailability DTO
+     * Record a change event for the inventory and return its response DTO
      */
-    private BloodInventoryDTO.BloodGroupAvailability convertToAvailability(BloodInventory inventory) {
-        BloodInventoryDTO.BloodGroupAvailability availability = new BloodInventoryDTO.BloodGroupAvailability();
-        availability.setBloodGroup(inventory.getBloodGroup());
-        availability.setUnitsAvailable(inventory.getUnitsAvailable());
-        availability.setStatus(inventory.getStockStatus());
-        availability.setAvailable(inventory.getUnitsAvailable() > 0);
-        return availability;
+    private BloodInventoryDTO.BloodInventoryResponse recordChange(BloodInventory inventory, ChangeEvent.ChangeType changeType) {
+        BloodInventoryDTO.BloodInventoryResponse response = bloodInventoryMapper.toResponse(inventory);
+        changeEventService.record(ChangeEventService.BLOOD_INVENTORY, inventory.getId(), changeType, response);
+        return response;
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,36 @@
 package com.bloodbank.service;
 
+import com.bloodbank.config.CacheConfig;
 import com.bloodbank.dto.BloodRequestDTO;
+import com.bloodbank.entity.BloodInventory;
 import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.ChangeEvent;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.exception.InsufficientUnitsException;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.exception.ResourceNotFoundException;
+import com.bloodbank.mapper.BloodRequestMapper;
 import com.bloodbank.repository.BloodRequestRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,32 +43,59 @@ import java.util.stream.Collectors;
 public class BloodRequestService {
     
     private final BloodRequestRepository bloodRequestRepository;
+    private final BloodRequestMapper bloodRequestMapper;
     private final BloodInventoryService bloodInventoryService;
+    private final ReservationService reservationService;
+    private final ChangeEventService changeEventService;
+    private final RollupService rollupService;
+    private final SparseFieldsetQuery sparseFieldsetQuery;
+    private final CacheManager cacheManager;
+    
+    @Value("${requests.bulk.max-size:500}")
+    private int maxBulkSize;
+    
+    /**
+     * Order in which a bulk approval hands out stock: most urgent first, then oldest
+     */
+    private static final Comparator<BloodRequest> ALLOCATION_ORDER = Comparator
+            .comparing(BloodRequest::getUrgencyLevel)
+            .thenComparing(BloodRequest::getCreatedAt)
+            .thenComparing(BloodRequest::getId);
+    
+    /**
+     * Summary fields that may be selected through a sparse field set
+     */
+    private static final List<String> SPARSE_FIELDS = List.of(
+        "id", "requesterName", "bloodGroup", "unitsRequested", "urgencyLevel",
+        "hospitalName", "patientName", "status", "createdAt"
+    );
     
     /**
      * Create a new blood request
      */
+    @CacheEvict(cacheNames = CacheConfig.BLOOD_REQUEST_BY_ID, key = "#result.id")
     public BloodRequestDTO.BloodRequestResponse createBloodRequest(BloodRequestDTO.BloodRequestCreateRequest request) {
         log.info("Creating new blood request for blood group: {} by {}", request.getBloodGroup(), request.getRequesterName());
         
-        BloodRequest bloodRequest = new BloodRequest();
-        BeanUtils.copyProperties(request, bloodRequest);
+        BloodRequest bloodRequest = bloodRequestMapper.toEntity(request);
         bloodRequest.setStatus(BloodRequest.RequestStatus.PENDING);
         
         BloodRequest savedRequest = bloodRequestRepository.save(bloodRequest);
+        rollupService.increment(MetricRollup.Metric.REQUESTS_CREATED, savedRequest.getBloodGroup(), 1);
         log.info("Successfully created blood request with ID: {}", savedRequest.getId());
         
-        return convertToResponse(savedRequest);
+        return recordChange(savedRequest, ChangeEvent.ChangeType.CREATED);
     }
     
     /**
      * Get blood request by ID
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BLOOD_REQUEST_BY_ID, key = "#id", sync = true)
     public Optional<BloodRequestDTO.BloodRequestResponse> getBloodRequestById(Long id) {
         log.info("Fetching blood request with ID: {}", id);
         return bloodRequestRepository.findById(id)
-                .map(this::convertToResponse);
+                .map(bloodRequestMapper::toResponse);
     }
     
     /**
@@ -59,10 +105,19 @@ public class BloodRequestService {
     public List<BloodRequestDTO.BloodRequestSummary> getAllBloodRequests() {
         log.info("Fetching all blood requests");
         return bloodRequestRepository.findAll().stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get all blood requests selecting only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllBloodRequests(String fields) {
+        log.info("Fetching all blood requests with fields: {}", fields);
+        return sparseFieldsetQuery.select(BloodRequest.class, sparseFieldsetQuery.parseFields(fields, SPARSE_FIELDS));
+    }
+    
     /**
      * Get blood requests by status
      */
@@ -70,7 +125,7 @@ public class BloodRequestService {
     public List<BloodRequestDTO.BloodRequestSummary> getBloodRequestsByStatus(BloodRequest.RequestStatus status) {
         log.info("Fetching blood requests with status: {}", status);
         return bloodRequestRepository.findByStatus(status).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -81,7 +136,7 @@ public class BloodRequestService {
     public List<BloodRequestDTO.BloodRequestSummary> getPendingBloodRequests() {
         log.info("Fetching pending blood requests");
         return bloodRequestRepository.findByStatusOrderByCreatedAtAsc(BloodRequest.RequestStatus.PENDING).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -95,7 +150,7 @@ public class BloodRequestService {
                 BloodRequest.UrgencyLevel.EMERGENCY, 
                 BloodRequest.RequestStatus.PENDING
         ).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -106,7 +161,7 @@ public class BloodRequestService {
     public List<BloodRequestDTO.BloodRequestSummary> getBloodRequestsByBloodGroup(String bloodGroup) {
         log.info("Fetching blood requests for blood group: {}", bloodGroup);
         return bloodRequestRepository.findByBloodGroup(bloodGroup).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -117,33 +172,27 @@ public class BloodRequestService {
     public List<BloodRequestDTO.BloodRequestSummary> getBloodRequestsByEmail(String email) {
         log.info("Fetching blood requests for email: {}", email);
         return bloodRequestRepository.findByContactEmail(email).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
     /**
      * Update blood request status (approve/reject)
      */
+    @CacheEvict(cacheNames = CacheConfig.BLOOD_REQUEST_BY_ID, key = "#id")
     public BloodRequestDTO.BloodRequestResponse updateRequestStatus(Long id, BloodRequestDTO.BloodRequestStatusUpdate request) {
         log.info("Updating blood request status for ID: {} to {}", id, request.getStatus());
         
         BloodRequest bloodRequest = bloodRequestRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blood request not found with ID: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Blood request not found with ID: " + id));
         
         if (!bloodRequest.isPending()) {
-            throw new RuntimeException("Blood request has already been processed");
+            throw new InvalidStateException("Blood request has already been processed");
         }
         
-        // If approving, check if sufficient units are available
+        // If approving, hold the units until the request is collected; fails with InsufficientUnitsException
         if (request.getStatus() == BloodRequest.RequestStatus.APPROVED) {
-            boolean hasSufficientUnits = bloodInventoryService.hasSufficientUnits(
-                bloodRequest.getBloodGroup(), 
-                bloodRequest.getUnitsRequested()
-            );
-            
-            if (!hasSufficientUnits) {
-                throw new RuntimeException("Insufficient blood units available for blood group: " + bloodRequest.getBloodGroup());
-            }
+            reservationService.reserve(bloodRequest, request.getProcessedBy());
         }
         
         bloodRequest.markAsProcessed(request.getProcessedBy(), request.getStatus(), request.getAdminNotes());
@@ -151,20 +200,21 @@ public class BloodRequestService {
         BloodRequest updatedRequest = bloodRequestRepository.save(bloodRequest);
         log.info("Successfully updated blood request status for ID: {}", id);
         
-        return convertToResponse(updatedRequest);
+        return recordChange(updatedRequest, ChangeEvent.ChangeType.UPDATED);
     }
     
     /**
      * Approve blood request and deduct units from inventory
      */
+    @CacheEvict(cacheNames = CacheConfig.BLOOD_REQUEST_BY_ID, key = "#id")
     public BloodRequestDTO.BloodRequestResponse approveAndFulfillRequest(Long id, BloodRequestDTO.BloodRequestStatusUpdate request) {
         log.info("Approving and fulfilling blood request with ID: {}", id);
         
         BloodRequest bloodRequest = bloodRequestRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blood request not found with ID: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Blood request not found with ID: " + id));
         
         if (!bloodRequest.isPending()) {
-            throw new RuntimeException("Blood request has already been processed");
+            throw new InvalidStateException("Blood request has already been processed");
         }
         
         // Check if sufficient units are available
@@ -174,43 +224,157 @@ public class BloodRequestService {
         );
         
         if (!hasSufficientUnits) {
-            throw new RuntimeException("Insufficient blood units available for blood group: " + bloodRequest.getBloodGroup());
+            throw new InsufficientUnitsException("Insufficient blood units available for blood group: " + bloodRequest.getBloodGroup());
         }
         
-        // Deduct units from inventory
-        try {
-            bloodInventoryService.removeUnits(
-                bloodRequest.getBloodGroup(),
-                new com.bloodbank.dto.BloodInventoryDTO.UnitsUpdateRequest(
-                    bloodRequest.getUnitsRequested(),
-                    "Units deducted for approved request ID: " + id
-                )
+        // Deduct units from inventory; a concurrent withdrawal surfaces as InsufficientUnitsException
+        com.bloodbank.dto.BloodInventoryDTO.UnitsUpdateRequest unitsRequest =
+            new com.bloodbank.dto.BloodInventoryDTO.UnitsUpdateRequest(
+                bloodRequest.getUnitsRequested(),
+                "Units deducted for approved request ID: " + id
             );
-        } catch (Exception e) {
-            log.error("Failed to deduct units from inventory: {}", e.getMessage());
-            throw new RuntimeException("Failed to fulfill request: " + e.getMessage());
-        }
+        unitsRequest.setPerformedBy(request.getProcessedBy());
+        bloodInventoryService.removeUnits(bloodRequest.getBloodGroup(), unitsRequest, id);
         
         // Mark request as fulfilled
         bloodRequest.markAsProcessed(request.getProcessedBy(), BloodRequest.RequestStatus.FULFILLED, request.getAdminNotes());
         
         BloodRequest updatedRequest = bloodRequestRepository.save(bloodRequest);
+        rollupService.increment(MetricRollup.Metric.REQUESTS_FULFILLED, updatedRequest.getBloodGroup(), 1);
         log.info("Successfully approved and fulfilled blood request with ID: {}", id);
         
-        return convertToResponse(updatedRequest);
+        return recordChange(updatedRequest, ChangeEvent.ChangeType.UPDATED);
+    }
+    
+    /**
+     * Fulfil an approved request from the units held for it.
+     * If the hold ran out in the meantime the units are taken from free stock instead.
+     */
+    @CacheEvict(cacheNames = CacheConfig.BLOOD_REQUEST_BY_ID, key = "#id")
+    public BloodRequestDTO.BloodRequestResponse fulfillApprovedRequest(Long id, BloodRequestDTO.BloodRequestStatusUpdate request) {
+        log.info("Fulfilling approved blood request with ID: {}", id);
+        
+        BloodRequest bloodRequest = bloodRequestRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Blood request not found with ID: " + id));
+        
+        if (bloodRequest.getStatus() != BloodRequest.RequestStatus.APPROVED) {
+            throw new InvalidStateException("Only approved blood requests can be fulfilled");
+        }
+        
+        if (!reservationService.consume(id)) {
+            log.info("Hold for blood request ID: {} has run out, fulfilling from free stock", id);
+        }
+        
+        // With the hold consumed its units are free again; a concurrent withdrawal surfaces as InsufficientUnitsException
+        com.bloodbank.dto.BloodInventoryDTO.UnitsUpdateRequest unitsRequest =
+            new com.bloodbank.dto.BloodInventoryDTO.UnitsUpdateRequest(
+                bloodRequest.getUnitsRequested(),
+                "Units deducted for approved request ID: " + id
+            );
+        unitsRequest.setPerformedBy(request.getProcessedBy());
+        bloodInventoryService.removeUnits(bloodRequest.getBloodGroup(), unitsRequest, id);
+        
+        bloodRequest.markAsProcessed(request.getProcessedBy(), BloodRequest.RequestStatus.FULFILLED, request.getAdminNotes());
+        
+        BloodRequest updatedRequest = bloodRequestRepository.save(bloodRequest);
+        rollupService.increment(MetricRollup.Metric.REQUESTS_FULFILLED, updatedRequest.getBloodGroup(), 1);
+        log.info("Successfully fulfilled blood request with ID: {}", id);
+        
+        return recordChange(updatedRequest, ChangeEvent.ChangeType.UPDATED);
+    }
+    
+    /**
+     * Move many pending requests to one status in a single transaction.
+     * The requests are loaded with one query and validated as a set. For approvals and
+     * fulfilments each blood group's stock is allocated to its requests by urgency, then age;
+     * approvals hold it and fulfilments deduct it with one inventory update per blood group. Requests that cannot
+     * move are reported per item and left unchanged, the rest are updated with one statement.
+     */
+    public BloodRequestDTO.BulkStatusUpdateResponse bulkUpdateStatus(BloodRequestDTO.BulkStatusUpdate request) {
+        BloodRequest.RequestStatus targetStatus = request.getStatus();
+        List<Long> ids = request.getIds().stream().distinct().toList();
+        log.info("Bulk updating {} blood requests to {}", ids.size(), targetStatus);
+        
+        if (targetStatus == BloodRequest.RequestStatus.PENDING) {
+            throw new IllegalArgumentException("Blood requests cannot be moved back to " + targetStatus);
+        }
+        if (ids.size() > maxBulkSize) {
+            throw new IllegalArgumentException("At most " + maxBulkSize + " blood requests can be updated at once");
+        }
+        
+        Map<Long, BloodRequest> requestsById = bloodRequestRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(BloodRequest::getId, Function.identity()));
+        Map<Long, BloodRequestDTO.BulkItemResult> failures = new HashMap<>();
+        List<BloodRequest> candidates = new ArrayList<>();
+        for (Long id : ids) {
+            BloodRequest bloodRequest = requestsById.get(id);
+            if (bloodRequest == null) {
+                failures.put(id, new BloodRequestDTO.BulkItemResult(id, BloodRequestDTO.BulkItemOutcome.NOT_FOUND,
+                        null, "Blood request not found with ID: " + id));
+            } else if (!bloodRequest.isPending()) {
+                failures.put(id, new BloodRequestDTO.BulkItemResult(id, BloodRequestDTO.BulkItemOutcome.ALREADY_PROCESSED,
+                        bloodRequest.getStatus(), "Blood request has already been processed"));
+            } else {
+                candidates.add(bloodRequest);
+            }
+        }
+        
+        List<BloodRequest> accepted = targetStatus == BloodRequest.RequestStatus.APPROVED
+                || targetStatus == BloodRequest.RequestStatus.FULFILLED
+                ? allocateStock(candidates, request, failures)
+                : candidates;
+        
+        if (!accepted.isEmpty()) {
+            LocalDateTime processedAt = LocalDateTime.now();
+            int updated = bloodRequestRepository.markPendingAsProcessed(
+                    accepted.stream().map(BloodRequest::getId).toList(),
+                    targetStatus, request.getProcessedBy(), request.getAdminNotes(), processedAt);
+            if (updated != accepted.size()) {
+                // Some were processed by another transaction after we loaded them; roll back the whole batch
+                throw new InvalidStateException("Some blood requests were processed concurrently; no changes were applied");
+            }
+            
+            Cache requestCache = cacheManager.getCache(CacheConfig.BLOOD_REQUEST_BY_ID);
+            for (BloodRequest bloodRequest : accepted) {
+                // The JPQL update cleared the persistence context; apply its change to this copy for the event
+                bloodRequest.markAsProcessed(request.getProcessedBy(), targetStatus, request.getAdminNotes());
+                bloodRequest.setProcessedAt(processedAt);
+                bloodRequest.setUpdatedAt(processedAt);
+                recordChange(bloodRequest, ChangeEvent.ChangeType.UPDATED);
+                if (requestCache != null) {
+                    requestCache.evict(bloodRequest.getId());
+                }
+            }
+            if (targetStatus == BloodRequest.RequestStatus.FULFILLED) {
+                accepted.stream()
+                        .collect(Collectors.groupingBy(BloodRequest::getBloodGroup, Collectors.counting()))
+                        .forEach((bloodGroup, count) ->
+                                rollupService.increment(MetricRollup.Metric.REQUESTS_FULFILLED, bloodGroup, count));
+            }
+        }
+        
+        List<BloodRequestDTO.BulkItemResult> results = ids.stream()
+                .map(id -> failures.getOrDefault(id, new BloodRequestDTO.BulkItemResult(
+                        id, BloodRequestDTO.BulkItemOutcome.UPDATED, targetStatus, null)))
+                .collect(Collectors.toList());
+        log.info("Bulk update to {}: {} updated, {} failed", targetStatus, accepted.size(), failures.size());
+        return new BloodRequestDTO.BulkStatusUpdateResponse(targetStatus, ids.size(), accepted.size(), failures.size(), results);
     }
     
     /**
      * Cancel blood request
      */
+    @CacheEvict(cacheNames = CacheConfig.BLOOD_REQUEST_BY_ID, key = "#id")
     public BloodRequestDTO.BloodRequestResponse cancelBloodRequest(Long id, String reason) {
         log.info("Cancelling blood request with ID: {}", id);
         
         BloodRequest bloodRequest = bloodRequestRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Blood request not found with ID: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Blood request not found with ID: " + id));
         
-        if (!bloodRequest.isPending()) {
-            throw new RuntimeException("Blood request has already been processed");
+        if (bloodRequest.getStatus() == BloodRequest.RequestStatus.APPROVED) {
+            reservationService.release(id);
+        } else if (!bloodRequest.isPending()) {
+            throw new InvalidStateException("Blood request has already been processed");
         }
         
         bloodRequest.markAsProcessed("System", BloodRequest.RequestStatus.CANCELLED, reason);
@@ -218,20 +382,23 @@ public class BloodRequestService {
         BloodRequest updatedRequest = bloodRequestRepository.save(bloodRequest);
         log.info("Successfully cancelled blood request with ID: {}", id);
         
-        return convertToResponse(updatedRequest);
+        return recordChange(updatedRequest, ChangeEvent.ChangeType.UPDATED);
     }
     
     /**
      * Delete blood request
      */
+    @CacheEvict(cacheNames = CacheConfig.BLOOD_REQUEST_BY_ID, key = "#id")
     public void deleteBloodRequest(Long id) {
         log.info("Deleting blood request with ID: {}", id);
         
         if (!bloodRequestRepository.existsById(id)) {
-            throw new RuntimeException("Blood request not found with ID: " + id);
+            throw new ResourceNotFoundException("Blood request not found with ID: " + id);
         }
         
+        reservationService.release(id);
         bloodRequestRepository.deleteById(id);
+        changeEventService.record(ChangeEventService.BLOOD_REQUEST, id, ChangeEvent.ChangeType.DELETED, null);
         log.info("Successfully deleted blood request with ID: {}", id);
     }
     
@@ -243,7 +410,7 @@ public class BloodRequestService {
         log.info("Fetching recent blood requests");
         LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
         return bloodRequestRepository.findRecentRequests(sevenDaysAgo).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -255,7 +422,7 @@ public class BloodRequestService {
         log.info("Fetching overdue pending requests");
         LocalDateTime twentyFourHoursAgo = LocalDateTime.now().minusHours(24);
         return bloodRequestRepository.findOverduePendingRequests(twentyFourHoursAgo).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -266,7 +433,7 @@ public class BloodRequestService {
     public List<BloodRequestDTO.BloodRequestSummary> searchByHospitalName(String hospitalName) {
         log.info("Searching blood requests by hospital name: {}", hospitalName);
         return bloodRequestRepository.findByHospitalNameContainingIgnoreCase(hospitalName).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -277,7 +444,7 @@ public class BloodRequestService {
     public List<BloodRequestDTO.BloodRequestSummary> searchByPatientName(String patientName) {
         log.info("Searching blood requests by patient name: {}", patientName);
         return bloodRequestRepository.findByPatientNameContainingIgnoreCase(patientName).stream()
-                .map(this::convertToSummary)
+                .map(bloodRequestMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -339,32 +506,49 @@ public class BloodRequestService {
     }
     
     /**
-     * Convert BloodRequest entity to BloodRequestResponse DTO
+     * Allocate each blood group's free stock to the candidate requests, most urgent and oldest first,
+     * and hold it when approving or issue it when fulfilling. Requests that do not fit are added to the failures.
      */
-    private BloodRequestDTO.BloodRequestResponse convertToResponse(BloodRequest request) {
-        BloodRequestDTO.BloodRequestResponse response = new BloodRequestDTO.BloodRequestResponse();
-        BeanUtils.copyProperties(request, response);
-        response.setUrgencyLevelDisplay(request.getUrgencyLevel().getDisplayName());
-        response.setStatusDisplay(request.getStatus().getDisplayName());
-        return response;
+    private List<BloodRequest> allocateStock(List<BloodRequest> candidates, BloodRequestDTO.BulkStatusUpdate request,
+                                             Map<Long, BloodRequestDTO.BulkItemResult> failures) {
+        Map<String, List<BloodRequest>> byBloodGroup = candidates.stream()
+                .collect(Collectors.groupingBy(BloodRequest::getBloodGroup, TreeMap::new, Collectors.toList()));
+        Map<String, BloodInventory> inventories = bloodInventoryService.lockInventories(byBloodGroup.keySet());
+        
+        List<BloodRequest> accepted = new ArrayList<>();
+        byBloodGroup.forEach((bloodGroup, requests) -> {
+            BloodInventory inventory = inventories.get(bloodGroup);
+            int remaining = inventory != null ? inventory.getUnitsFree() : 0;
+            Map<Long, Integer> unitsByRequest = new LinkedHashMap<>();
+            requests.sort(ALLOCATION_ORDER);
+            for (BloodRequest bloodRequest : requests) {
+                int units = bloodRequest.getUnitsRequested();
+                if (units <= remaining) {
+                    remaining -= units;
+                    unitsByRequest.put(bloodRequest.getId(), units);
+                    accepted.add(bloodRequest);
+                } else {
+                    failures.put(bloodRequest.getId(), new BloodRequestDTO.BulkItemResult(bloodRequest.getId(),
+                            BloodRequestDTO.BulkItemOutcome.INSUFFICIENT_UNITS, bloodRequest.getStatus(),
+                            "Insufficient blood units available for blood group: " + bloodGroup));
+                }
+            }
+            if (request.getStatus() == BloodRequest.RequestStatus.FULFILLED && !unitsByRequest.isEmpty()) {
+                bloodInventoryService.issueUnits(inventory, unitsByRequest, request.getProcessedBy(),
+                        "Units deducted for bulk fulfilment");
+            } else if (request.getStatus() == BloodRequest.RequestStatus.APPROVED && !unitsByRequest.isEmpty()) {
+                reservationService.reserve(inventory, unitsByRequest, request.getProcessedBy());
+            }
+        });
+        return accepted;
     }
     
     /**
-     * Convert BloodRequest entity to BloodRequestSummary DTO
+     * Record a change event for the request and return its response DTO
      */
-    private BloodRequestDTO.BloodRequestSummary convertToSummary(BloodRequest request) {
-        BloodRequestDTO.BloodRequestSummary summary = new BloodRequestDTO.BloodRequestSummary();
-        summary.setId(request.getId());
-        summary.setRequesterName(request.getRequesterName());
-        summary.setBloodGroup(request.getBloodGroup());
-        summary.setUnitsRequested(request.getUnitsRequested());
-        summary.setUrgencyLevel(request.getUrgencyLevel());
-        summary.setUrgencyLevelDisplay(request.getUrgencyLevel().getDisplayName());
-        summary.setHospitalName(request.getHospitalName());
-        summary.setPatientName(request.getPatientName());
-        summary.setStatus(request.getStatus());
-        summary.setStatusDisplay(request.getStatus().getDisplayName());
-        summary.setCreatedAt(request.getCreatedAt());
-        return summary;
+    private BloodRequestDTO.BloodRequestResponse recordChange(BloodRequest request, ChangeEvent.ChangeType changeType) {
+        BloodRequestDTO.BloodRequestResponse response = bloodRequestMapper.toResponse(request);
+        changeEventService.record(ChangeEventService.BLOOD_REQUEST, request.getId(), changeType, response);
+        return response;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,187 @@
+package com.bloodbank.service;
+
+import com.bloodbank.config.CacheConfig;
+import com.bloodbank.config.InvalidationBroadcastingCacheManager;
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.CacheInvalidation;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.repository.CacheInvalidationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service class for cross-node cache coherence.
+ * Evictions are appended to the cache_invalidations table (in the writer's
+ * transaction when there is one) and every node tails the table with an
+ * indexed poll, evicting its local read caches and Hibernate second-level cache.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationService {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO cache_invalidations (cache_name, cache_key, key_type, origin_node, created_at) " +
+        "VALUES (?, ?, ?, ?, ?)";
+    
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<InvalidationBroadcastingCacheManager> cacheManagerProvider;
+    
+    @Value("${cache.invalidation.node-id:}")
+    private String configuredNodeId;
+    
+    @Value("${cache.invalidation.batch-size:500}")
+    private int batchSize;
+    
+    /**
+     * Rows younger than this are re-read on every poll so that a transaction
+     * which took a lower id but committed later is still applied
+     */
+    @Value("${cache.invalidation.settle-ms:5000}")
+    private long settleMillis;
+    
+    @Value("${cache.invalidation.retention-minutes:60}")
+    private int retentionMinutes;
+    
+    private String nodeId;
+    private long lastSeenId;
+    private final Map<Long, LocalDateTime> recentlyApplied = new HashMap<>();
+    
+    @PostConstruct
+    void init() {
+        nodeId = configuredNodeId == null || configuredNodeId.isBlank()
+                ? UUID.randomUUID().toString() : configuredNodeId;
+        Long latest = cacheInvalidationRepository.findLatestId();
+        lastSeenId = latest != null ? latest : 0L;
+        log.info("Cache invalidation log tailing as node {} from id {}", nodeId, lastSeenId);
+    }
+    
+    /**
+     * Get the identifier this node writes into the invalidation log
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    /**
+     * Append an eviction to the invalidation log. A null key clears the whole cache
+     * on the peers; keys other than String/Long/Integer are broadcast as a clear.
+     */
+    public void publish(String cacheName, Object key) {
+        String cacheKey = null;
+        String keyType = null;
+        if (key instanceof String || key instanceof Long || key instanceof Integer) {
+            cacheKey = key.toString();
+            keyType = key.getClass().getSimpleName();
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, cacheName, cacheKey, keyType, nodeId, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            // Peers fall back to the cache TTL for this entry
+            log.warn("Could not publish invalidation of {}[{}]: {}", cacheName, key, e.getMessage());
+        }
+    }
+    
+    /**
+     * Tail the invalidation log and evict entries written by other nodes
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        LocalDateTime settleStart = LocalDateTime.now().minusNanos(settleMillis * 1_000_000L);
+        int applied = 0;
+        
+        for (CacheInvalidation invalidation : cacheInvalidationRepository.findRecentUpTo(
+                lastSeenId, settleStart, PageRequest.of(0, batchSize))) {
+            applied += apply(invalidation);
+        }
+        
+        List<CacheInvalidation> page;
+        do {
+            page = cacheInvalidationRepository.findAfter(lastSeenId, PageRequest.of(0, batchSize));
+            for (CacheInvalidation invalidation : page) {
+                applied += apply(invalidation);
+                lastSeenId = invalidation.getId();
+            }
+        } while (page.size() == batchSize);
+        
+        recentlyApplied.values().removeIf(createdAt -> createdAt.isBefore(settleStart));
+        if (applied > 0) {
+            log.debug("Applied {} cache invalidations from peers, last seen id {}", applied, lastSeenId);
+        }
+    }
+    
+    /**
+     * Purge invalidations older than the retention window
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidation.purge-interval-ms:600000}")
+    @Transactional
+    public void purge() {
+        int removed = cacheInvalidationRepository.deleteOlderThan(LocalDateTime.now().minusMinutes(retentionMinutes));
+        if (removed > 0) {
+            log.info("Purged {} cache invalidations", removed);
+        }
+    }
+    
+    private int apply(CacheInvalidation invalidation) {
+        if (recentlyApplied.putIfAbsent(invalidation.getId(), invalidation.getCreatedAt()) != null
+                || nodeId.equals(invalidation.getOriginNode())) {
+            return 0;
+        }
+        Object key = toKey(invalidation);
+        cacheManagerProvider.getObject().evictLocally(invalidation.getCacheName(), key);
+        evictSecondLevel(invalidation.getCacheName(), key);
+        return 1;
+    }
+    
+    /**
+     * Mirror the eviction into the Hibernate second-level and query caches
+     */
+    private void evictSecondLevel(String cacheName, Object key) {
+        jakarta.persistence.Cache secondLevelCache = entityManagerFactory.getCache();
+        switch (cacheName) {
+            case CacheConfig.INVENTORY_BY_BLOOD_GROUP -> {
+                secondLevelCache.evict(BloodInventory.class);
+                secondLevelCache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            }
+            case CacheConfig.DONOR_BY_ID -> {
+                if (key instanceof Long id) {
+                    secondLevelCache.evict(Donor.class, id);
+                } else {
+                    secondLevelCache.evict(Donor.class);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+    
+    private Object toKey(CacheInvalidation invalidation) {
+        if (invalidation.getCacheKey() == null) {
+            return null;
+        }
+        return switch (invalidation.getKeyType()) {
+            case "Long" -> Long.valueOf(invalidation.getCacheKey());
+            case "Integer" -> Integer.valueOf(invalidation.getCacheKey());
+            default -> invalidation.getCacheKey();
+        };
+    }
+}
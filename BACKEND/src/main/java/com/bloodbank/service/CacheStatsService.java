@@ -0,0 +1,57 @@
+package com.bloodbank.service;
+
+import com.bloodbank.config.InvalidationBroadcastingCacheManager;
+import com.bloodbank.dto.CommonDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Service class exposing hit/miss/eviction statistics of the read caches
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+    
+    private final CacheManager cacheManager;
+    
+    /**
+     * Get statistics for every Caffeine-backed cache
+     */
+    public List<CommonDTO.CacheStats> getCacheStatistics() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(name -> toStats(name, cacheManager.getCache(name)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    private CommonDTO.CacheStats toStats(String name, Cache cache) {
+        Cache target = cache instanceof InvalidationBroadcastingCacheManager.BroadcastingCache broadcasting
+                ? broadcasting.getTargetCache() : cache;
+        target = target instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : target;
+        if (!(target instanceof CaffeineCache caffeineCache)) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CommonDTO.CacheStats(
+            name,
+            nativeCache.estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.loadCount(),
+            stats.evictionCount(),
+            stats.averageLoadPenalty() / 1_000_000.0
+        );
+    }
+}
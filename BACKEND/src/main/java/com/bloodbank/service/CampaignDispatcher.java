@@ -0,0 +1,202 @@
+package com.bloodbank.service;
+
+import com.bloodbank.entity.CampaignNotification;
+import com.bloodbank.entity.RecallCampaign;
+import com.bloodbank.repository.CampaignNotificationRepository;
+import com.bloodbank.repository.RecallCampaignRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the campaign_notifications outbox in batches and hands each row to the
+ * configured NotificationSender, paced to a maximum send rate.
+ * Each batch is claimed (status SENDING) in a short transaction first, so several
+ * replicas can run the dispatcher without delivering the same row twice. Sending
+ * happens outside any transaction; results are written back per batch. A failed
+ * notification goes back to PENDING with an exponentially growing delay before it
+ * may be claimed again, so a sender outage is not retried at full rate.
+ */
+@Component
+@Slf4j
+public class CampaignDispatcher {
+    
+    private final CampaignNotificationRepository campaignNotificationRepository;
+    private final RecallCampaignRepository recallCampaignRepository;
+    private final RecallCampaignService recallCampaignService;
+    private final NotificationSender notificationSender;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${campaign.dispatch.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${campaign.dispatch.rate-per-second:20}")
+    private int ratePerSecond;
+    
+    @Value("${campaign.dispatch.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${campaign.dispatch.retry-initial-backoff-ms:60000}")
+    private long retryInitialBackoffMillis;
+    
+    @Value("${campaign.dispatch.retry-max-backoff-ms:3600000}")
+    private long retryMaxBackoffMillis;
+    
+    /**
+     * How long a claimed batch may stay unresolved before another node may retry it
+     */
+    @Value("${campaign.dispatch.claim-timeout-ms:600000}")
+    private long claimTimeoutMillis;
+    
+    private long nextSendAtNanos = System.nanoTime();
+    
+    public CampaignDispatcher(CampaignNotificationRepository campaignNotificationRepository,
+                              RecallCampaignRepository recallCampaignRepository,
+                              RecallCampaignService recallCampaignService,
+                              NotificationSender notificationSender,
+                              PlatformTransactionManager transactionManager) {
+        this.campaignNotificationRepository = campaignNotificationRepository;
+        this.recallCampaignRepository = recallCampaignRepository;
+        this.recallCampaignService = recallCampaignService;
+        this.notificationSender = notificationSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Deliver the next batch of pending notifications
+     */
+    @Scheduled(fixedDelayString = "${campaign.dispatch.interval-ms:5000}")
+    public void dispatch() {
+        List<CampaignNotification> batch = claimNextBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        Set<Long> campaignIds = batch.stream().map(CampaignNotification::getCampaignId).collect(Collectors.toSet());
+        Map<Long, RecallCampaign> campaigns = recallCampaignRepository.findAllById(campaignIds).stream()
+                .collect(Collectors.toMap(RecallCampaign::getId, Function.identity()));
+        
+        List<Long> sent = new ArrayList<>();
+        List<CampaignNotification> failed = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        Set<Long> inactiveCampaigns = new HashSet<>();
+        
+        for (CampaignNotification notification : batch) {
+            RecallCampaign campaign = campaigns.get(notification.getCampaignId());
+            if (campaign == null || !campaign.isActive()) {
+                inactiveCampaigns.add(notification.getCampaignId());
+                continue;
+            }
+            acquirePermit();
+            try {
+                notificationSender.send(notification, campaign);
+                sent.add(notification.getId());
+            } catch (Exception e) {
+                log.warn("Failed to deliver notification {}: {}", notification.getId(), e.getMessage());
+                failed.add(notification);
+                errors.add(truncate(e.getMessage()));
+            }
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!sent.isEmpty()) {
+                campaignNotificationRepository.markSent(sent, CampaignNotification.DeliveryStatus.SENT, now);
+            }
+            for (int i = 0; i < failed.size(); i++) {
+                CampaignNotification notification = failed.get(i);
+                int attempts = notification.getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    campaignNotificationRepository.markFailed(notification.getId(), errors.get(i),
+                            CampaignNotification.DeliveryStatus.FAILED, null);
+                } else {
+                    campaignNotificationRepository.markFailed(notification.getId(), errors.get(i),
+                            CampaignNotification.DeliveryStatus.PENDING,
+                            now.plus(retryBackoffMillis(attempts), ChronoUnit.MILLIS));
+                }
+            }
+            for (Long campaignId : inactiveCampaigns) {
+                campaignNotificationRepository.cancelPending(campaignId, CampaignNotification.DeliveryStatus.CANCELLED);
+            }
+            recallCampaignService.completeDrainedCampaigns();
+        });
+        
+        log.info("Dispatched recall notifications: {} sent, {} failed", sent.size(), failed.size());
+    }
+    
+    /**
+     * Claim the next pending notifications under a fresh token and read back the rows
+     * this pass actually won; rows another node claimed in the meantime are skipped
+     */
+    private List<CampaignNotification> claimNextBatch() {
+        String claimToken = UUID.randomUUID().toString();
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int released = campaignNotificationRepository.releaseExpiredClaims(
+                    CampaignNotification.DeliveryStatus.PENDING, now.minus(claimTimeoutMillis, ChronoUnit.MILLIS));
+            if (released > 0) {
+                log.warn("Released {} recall notifications whose dispatch claim expired", released);
+            }
+            
+            List<Long> ids = campaignNotificationRepository.findNextPendingIds(now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            campaignNotificationRepository.claim(ids, CampaignNotification.DeliveryStatus.SENDING, claimToken, now);
+            return campaignNotificationRepository.findByClaimedByAndStatusOrderByIdAsc(
+                    claimToken, CampaignNotification.DeliveryStatus.SENDING);
+        });
+    }
+    
+    /**
+     * Delay before the next attempt of a notification that has failed the given number of times
+     */
+    private long retryBackoffMillis(int attempts) {
+        return Math.min(retryMaxBackoffMillis, retryInitialBackoffMillis << Math.min(attempts - 1, 20));
+    }
+    
+    /**
+     * Block until the next send slot under the configured rate
+     */
+    private void acquirePermit() {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long now = System.nanoTime();
+        long wait = nextSendAtNanos - now;
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            nextSendAtNanos += interval;
+        } else {
+            nextSendAtNanos = now + interval;
+        }
+    }
+    
+    private String truncate(String message) {
+        if (message == null) {
+            return "Unknown error";
+        }
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
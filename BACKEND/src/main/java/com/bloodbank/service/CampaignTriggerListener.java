@@ -0,0 +1,53 @@
+package com.bloodbank.service;
+
+import com.bloodbank.dto.CampaignDTO;
+import com.bloodbank.entity.RecallCampaign;
+import com.bloodbank.event.InventoryShortageEvent;
+import com.bloodbank.repository.RecallCampaignRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Starts a recall campaign automatically when a blood group drops into critical shortage
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignTriggerListener {
+    
+    private final RecallCampaignService recallCampaignService;
+    private final RecallCampaignRepository recallCampaignRepository;
+    
+    @Value("${campaign.auto-start:true}")
+    private boolean autoStart;
+    
+    /**
+     * Handle shortage events once the stock movement has committed
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInventoryShortage(InventoryShortageEvent event) {
+        if (!autoStart) {
+            return;
+        }
+        if (recallCampaignRepository.existsByBloodGroupAndStatus(event.getBloodGroup(), RecallCampaign.CampaignStatus.ACTIVE)) {
+            return;
+        }
+        
+        log.info("Critical shortage for blood group {} ({} units), starting recall campaign",
+                event.getBloodGroup(), event.getUnitsAvailable());
+        try {
+            CampaignDTO.CampaignCreateRequest request = new CampaignDTO.CampaignCreateRequest();
+            request.setBloodGroup(event.getBloodGroup());
+            request.setStartedBy("System");
+            recallCampaignService.startCampaign(request, RecallCampaign.TriggerType.CRITICAL_SHORTAGE);
+        } catch (RuntimeException e) {
+            log.error("Failed to start recall campaign for blood group {}: {}", event.getBloodGroup(), e.getMessage());
+        }
+    }
+}
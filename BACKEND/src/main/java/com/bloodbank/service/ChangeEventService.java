@@ -0,0 +1,172 @@
+package com.bloodbank.service;
+
+import com.bloodbank.dto.ChangeEventDTO;
+import com.bloodbank.entity.ChangeEvent;
+import com.bloodbank.repository.ChangeEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the change-event outbox and feed.
+ * Events are written without a feed position; a scheduled relay numbers committed
+ * events in one pass, so an event whose transaction commits late is numbered after
+ * everything consumers may already have read instead of below their cursor.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ChangeEventService {
+    
+    public static final String DONOR = "DONOR";
+    public static final String BLOOD_INVENTORY = "BLOOD_INVENTORY";
+    public static final String BLOOD_REQUEST = "BLOOD_REQUEST";
+    
+    private static final String ASSIGN_SEQUENCE_SQL =
+        "UPDATE change_events SET feed_sequence = ? WHERE id = ? AND feed_sequence IS NULL";
+    
+    private final ChangeEventRepository changeEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${changes.feed.max-page-size:1000}")
+    private int maxPageSize;
+    
+    @Value("${changes.feed.publish-batch-size:1000}")
+    private int publishBatchSize;
+    
+    @Value("${changes.compaction.retention-days:7}")
+    private int retentionDays;
+    
+    @Value("${changes.compaction.chunk-size:1000}")
+    private int compactionChunkSize;
+    
+    /**
+     * Append a change event to the outbox in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String entityType, Long entityId, ChangeEvent.ChangeType changeType, Object snapshot) {
+        ChangeEvent event = new ChangeEvent();
+        event.setEntityType(entityType);
+        event.setEntityId(entityId);
+        event.setChangeType(changeType);
+        event.setPayload(toJson(snapshot));
+        event.setCreatedAt(LocalDateTime.now());
+        changeEventRepository.save(event);
+    }
+    
+    /**
+     * Read the change feed after the given sequence number
+     */
+    @Transactional(readOnly = true)
+    public ChangeEventDTO.ChangeFeed getChanges(Long after, Integer limit) {
+        long afterSequence = after != null ? after : 0L;
+        int pageSize = limit == null || limit <= 0 ? maxPageSize : Math.min(limit, maxPageSize);
+        
+        List<ChangeEvent> events = changeEventRepository.findFeedPage(afterSequence, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = events.size() > pageSize;
+        if (hasMore) {
+            events = events.subList(0, pageSize);
+        }
+        
+        long lastSequence = events.isEmpty() ? afterSequence : events.get(events.size() - 1).getFeedSequence();
+        return new ChangeEventDTO.ChangeFeed(
+            events.stream().map(this::convertToResponse).collect(Collectors.toList()),
+            lastSequence,
+            hasMore
+        );
+    }
+    
+    /**
+     * Give committed events the next feed sequence numbers, oldest first.
+     * Relays on several nodes number from the same published maximum, so when two
+     * passes overlap the unique constraint on feed_sequence rejects the later one
+     * and its events are picked up by the next pass.
+     */
+    @Scheduled(fixedDelayString = "${changes.feed.publish-interval-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int publish() {
+        try {
+            Integer published = transactionTemplate.execute(status -> {
+                List<Long> ids = changeEventRepository.findUnpublishedIds(PageRequest.of(0, publishBatchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                Long latest = changeEventRepository.findLatestSequence();
+                long next = latest != null ? latest : 0L;
+                List<Object[]> args = new ArrayList<>(ids.size());
+                for (Long id : ids) {
+                    args.add(new Object[] {++next, id});
+                }
+                jdbcTemplate.batchUpdate(ASSIGN_SEQUENCE_SQL, args);
+                return ids.size();
+            });
+            return published != null ? published : 0;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Change events were published concurrently by another node: {}", e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Compact the outbox: drop events past the retention window that are
+     * superseded by a newer event for the same entity
+     */
+    @Scheduled(cron = "${changes.compaction.cron:0 30 3 * * *}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long removed = 0;
+        List<Long> ids;
+        do {
+            ids = changeEventRepository.findSupersededIds(cutoff, PageRequest.of(0, compactionChunkSize));
+            if (!ids.isEmpty()) {
+                changeEventRepository.deleteAllByIdInBatch(ids);
+                removed += ids.size();
+            }
+        } while (ids.size() == compactionChunkSize);
+        log.info("Compacted change events older than {}: {} removed", cutoff, removed);
+    }
+    
+    private String toJson(Object snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize change event payload: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Convert ChangeEvent entity to ChangeEventResponse DTO
+     */
+    private ChangeEventDTO.ChangeEventResponse convertToResponse(ChangeEvent event) {
+        return new ChangeEventDTO.ChangeEventResponse(
+            event.getFeedSequence(),
+            event.getEntityType(),
+            event.getEntityId(),
+            event.getChangeType(),
+            event.getPayload(),
+            event.getCreatedAt()
+        );
+    }
+}
@@ -2,6 +2,7 @@ package com.bloodbank.service;
 
 import com.bloodbank.dto.CommonDTO;
 import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.MetricRollup;
 import com.bloodbank.repository.BloodInventoryRepository;
 import com.bloodbank.repository.BloodRequestRepository;
 import com.bloodbank.repository.DonorRepository;
@@ -25,6 +26,7 @@ public class DashboardService {
     private final DonorRepository donorRepository;
     private final BloodInventoryRepository bloodInventoryRepository;
     private final BloodRequestRepository bloodRequestRepository;
+    private final RollupService rollupService;
     
     /**
      * Get dashboard statistics
@@ -44,10 +46,9 @@ public class DashboardService {
         Long pendingRequests = bloodRequestRepository.countByStatus(BloodRequest.RequestStatus.PENDING);
         Long emergencyRequests = bloodRequestRepository.countEmergencyRequests();
         
-        // Today's statistics
+        // Today's statistics (served from the rollups)
         LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-        LocalDateTime todayEnd = LocalDate.now().atTime(23, 59, 59);
-        Long todayRequests = (long) bloodRequestRepository.findByCreatedAtBetween(todayStart, todayEnd).size();
+        Long todayRequests = rollupService.getTotal(MetricRollup.Metric.REQUESTS_CREATED, todayStart, todayStart.plusDays(1));
         
         // Today's donations (recent donors in last 30 days as proxy)
         LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
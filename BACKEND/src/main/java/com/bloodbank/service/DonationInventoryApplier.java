@@ -0,0 +1,59 @@
+package com.bloodbank.service;
+
+import com.bloodbank.entity.Donation;
+import com.bloodbank.repository.DonationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adds the units of donations recorded in DEFERRED mode to the blood inventory.
+ * Each run takes the oldest pending donations of every blood group separately and
+ * applies them with one inventory update per group, each in its own short transaction,
+ * so a group at capacity cannot hold back the donations of the others.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DonationInventoryApplier {
+    
+    private final DonationRepository donationRepository;
+    private final DonationService donationService;
+    
+    @Value("${donations.apply.batch-size:500}")
+    private int batchSize;
+    
+    /**
+     * Apply the next batch of pending donations
+     */
+    @Scheduled(fixedDelayString = "${donations.apply.interval-ms:2000}")
+    public void applyPending() {
+        List<String> bloodGroups = donationRepository.findBloodGroupsWithPending().stream().sorted().toList();
+        if (bloodGroups.isEmpty()) {
+            return;
+        }
+        
+        int applied = 0;
+        int pending = 0;
+        for (String bloodGroup : bloodGroups) {
+            List<Donation> batch = donationRepository.findNextPendingByBloodGroup(bloodGroup, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                continue;
+            }
+            pending += batch.size();
+            try {
+                applied += donationService.applyPending(bloodGroup, batch);
+            } catch (RuntimeException e) {
+                log.warn("Could not apply {} pending donations of blood group {}: {}",
+                        batch.size(), bloodGroup, e.getMessage());
+            }
+        }
+        
+        log.info("Applied {} of {} pending donations to the blood inventory", applied, pending);
+    }
+}
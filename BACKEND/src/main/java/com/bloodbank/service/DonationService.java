@@ -0,0 +1,192 @@
+package com.bloodbank.service;
+
+import com.bloodbank.dto.DonationDTO;
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.Donation;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.exception.ResourceNotFoundException;
+import com.bloodbank.repository.DonationRepository;
+import com.bloodbank.repository.DonorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for Donation operations.
+ * A donation, the donor's last donation date and the matching blood inventory change in
+ * one transaction. In DEFERRED mode the inventory row is left out of that transaction, so
+ * concurrent donations of one blood group do not queue on it; DonationInventoryApplier
+ * adds their units in batches shortly afterwards. The DONATIONS rollup row is shared per
+ * blood group too, so a deferred donation is counted with its batch rather than when
+ * it is recorded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DonationService {
+    
+    private final DonationRepository donationRepository;
+    private final DonorRepository donorRepository;
+    private final DonorService donorService;
+    private final BloodInventoryService bloodInventoryService;
+    private final RollupService rollupService;
+    
+    @Value("${donations.inventory-mode:IMMEDIATE}")
+    private Donation.InventoryMode defaultInventoryMode;
+    
+    /**
+     * Record a donation
+     */
+    public DonationDTO.DonationResponse recordDonation(DonationDTO.DonationCreateRequest request) {
+        log.info("Recording donation for donor ID: {}", request.getDonorId());
+        
+        // Locked so two concurrent donations by one donor cannot both pass the interval check
+        Donor donor = donorRepository.findByIdForUpdate(request.getDonorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Donor not found with ID: " + request.getDonorId()));
+        LocalDate donationDate = request.getDonationDate() != null ? request.getDonationDate() : LocalDate.now();
+        if (!donor.canDonateOn(donationDate)) {
+            throw new InvalidStateException(Boolean.TRUE.equals(donor.getIsEligible())
+                    ? "Donor last donated on " + donor.getLastDonationDate() + " and must wait 56 days between donations"
+                    : "Donor is not eligible to donate");
+        }
+        
+        Donation.InventoryMode inventoryMode = request.getInventoryMode() != null
+                ? request.getInventoryMode() : defaultInventoryMode;
+        int units = request.getUnits() != null ? request.getUnits() : 1;
+        Donation donation = new Donation();
+        donation.setDonorId(donor.getId());
+        donation.setBloodGroup(donor.getBloodGroup());
+        donation.setUnits(units);
+        donation.setDonationDate(donationDate);
+        donation.setCollectionSite(request.getCollectionSite());
+        donation.setInventoryMode(inventoryMode);
+        donation.setRecordedBy(request.getRecordedBy());
+        donation.setNotes(request.getNotes());
+        if (inventoryMode == Donation.InventoryMode.IMMEDIATE) {
+            donation.setInventoryAppliedAt(LocalDateTime.now());
+        }
+        Donation savedDonation = donationRepository.save(donation);
+        
+        donorService.updateLastDonationDateUncounted(donor.getId(), donationDate);
+        
+        if (inventoryMode == Donation.InventoryMode.IMMEDIATE) {
+            BloodInventory inventory = lockInventory(donor.getBloodGroup());
+            bloodInventoryService.receiveUnits(inventory, units, request.getRecordedBy(), donationNote(savedDonation));
+            rollupService.increment(MetricRollup.Metric.DONATIONS, donor.getBloodGroup(), 1);
+        }
+        
+        log.info("Successfully recorded donation with ID: {} ({} mode)", savedDonation.getId(), inventoryMode);
+        return convertToResponse(savedDonation);
+    }
+    
+    /**
+     * Get donation by ID
+     */
+    @Transactional(readOnly = true)
+    public DonationDTO.DonationResponse getDonationById(Long id) {
+        log.info("Fetching donation with ID: {}", id);
+        return donationRepository.findById(id)
+                .map(this::convertToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Donation not found with ID: " + id));
+    }
+    
+    /**
+     * Get the donations of a donor, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<DonationDTO.DonationResponse> getDonationsByDonor(Long donorId) {
+        log.info("Fetching donations for donor ID: {}", donorId);
+        if (!donorRepository.existsById(donorId)) {
+            throw new ResourceNotFoundException("Donor not found with ID: " + donorId);
+        }
+        return donationRepository.findByDonorIdOrderByDonationDateDescIdDesc(donorId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Add pending DEFERRED donations of one blood group to its inventory with a single update.
+     * Donations are taken in insertion order while they fit under the maximum capacity; the
+     * rest stay pending. The applied donations are counted with one rollup increment.
+     * Returns the number of donations applied.
+     */
+    public int applyPending(String bloodGroup, List<Donation> pending) {
+        BloodInventory inventory = lockInventory(bloodGroup);
+        
+        int freeCapacity = inventory.getMaximumCapacity() - inventory.getUnitsAvailable();
+        List<Long> applied = new ArrayList<>();
+        int units = 0;
+        for (Donation donation : pending) {
+            if (units + donation.getUnits() > freeCapacity) {
+                break;
+            }
+            applied.add(donation.getId());
+            units += donation.getUnits();
+        }
+        if (applied.isEmpty()) {
+            log.warn("Blood group {} is at capacity; {} donations stay pending", bloodGroup, pending.size());
+            return 0;
+        }
+        
+        int marked = donationRepository.markApplied(applied, LocalDateTime.now());
+        if (marked != applied.size()) {
+            // Another node applied some of them after we loaded them; roll back and let the next run retry
+            throw new InvalidStateException("Some donations were applied concurrently; no changes were applied");
+        }
+        String notes = applied.size() == 1
+                ? "Donation #" + applied.get(0)
+                : applied.size() + " donations #" + applied.get(0) + "-#" + applied.get(applied.size() - 1);
+        bloodInventoryService.receiveUnits(inventory, units, null, notes);
+        rollupService.increment(MetricRollup.Metric.DONATIONS, bloodGroup, applied.size());
+        
+        if (applied.size() < pending.size()) {
+            log.warn("Blood group {} is near capacity; {} donations stay pending", bloodGroup, pending.size() - applied.size());
+        }
+        return applied.size();
+    }
+    
+    private BloodInventory lockInventory(String bloodGroup) {
+        BloodInventory inventory = bloodInventoryService.lockInventories(List.of(bloodGroup)).get(bloodGroup);
+        if (inventory == null) {
+            throw new ResourceNotFoundException("Blood inventory not found for blood group: " + bloodGroup);
+        }
+        return inventory;
+    }
+    
+    private static String donationNote(Donation donation) {
+        return donation.getCollectionSite() != null
+                ? "Donation #" + donation.getId() + " at " + donation.getCollectionSite()
+                : "Donation #" + donation.getId();
+    }
+    
+    /**
+     * Convert Donation entity to DonationResponse DTO
+     */
+    private DonationDTO.DonationResponse convertToResponse(Donation donation) {
+        return new DonationDTO.DonationResponse(
+            donation.getId(),
+            donation.getDonorId(),
+            donation.getBloodGroup(),
+            donation.getUnits(),
+            donation.getDonationDate(),
+            donation.getCollectionSite(),
+            donation.getInventoryMode(),
+            donation.isInventoryApplied(),
+            donation.getInventoryAppliedAt(),
+            donation.getRecordedBy(),
+            donation.getNotes(),
+            donation.getCreatedAt()
+        );
+    }
+}
@@ -1,18 +1,30 @@
 package com.bloodbank.service;
 
+import com.bloodbank.config.CacheConfig;
 import com.bloodbank.dto.DonorDTO;
+import com.bloodbank.entity.ChangeEvent;
 import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.exception.DuplicateResourceException;
+import com.bloodbank.exception.ResourceNotFoundException;
+import com.bloodbank.mapper.DonorMapper;
 import com.bloodbank.repository.DonorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -25,51 +37,68 @@ import java.util.stream.Collectors;
 public class DonorService {
     
     private final DonorRepository donorRepository;
+    private final DonorMapper donorMapper;
+    private final ChangeEventService changeEventService;
+    private final RollupService rollupService;
+    private final SparseFieldsetQuery sparseFieldsetQuery;
+    private final CacheManager cacheManager;
+    
+    /**
+     * Summary fields that may be selected through a sparse field set
+     */
+    private static final List<String> SPARSE_FIELDS = List.of(
+        "id", "name", "email", "phone", "bloodGroup", "lastDonationDate", "isEligible"
+    );
     
     /**
      * Create a new donor
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_ID, key = "#result.id"),
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_EMAIL, key = "#request.email")
+    })
     public DonorDTO.DonorResponse createDonor(DonorDTO.DonorCreateRequest request) {
         log.info("Creating new donor with email: {}", request.getEmail());
         
         // Check if email already exists
         if (donorRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Donor with email " + request.getEmail() + " already exists");
+            throw new DuplicateResourceException("Donor with email " + request.getEmail() + " already exists");
         }
         
         // Check if phone already exists
         if (donorRepository.existsByPhone(request.getPhone())) {
-            throw new RuntimeException("Donor with phone " + request.getPhone() + " already exists");
+            throw new DuplicateResourceException("Donor with phone " + request.getPhone() + " already exists");
         }
         
-        Donor donor = new Donor();
-        BeanUtils.copyProperties(request, donor);
+        Donor donor = donorMapper.toEntity(request);
         donor.setIsEligible(true);
         
         Donor savedDonor = donorRepository.save(donor);
         log.info("Successfully created donor with ID: {}", savedDonor.getId());
         
-        return convertToResponse(savedDonor);
+        return recordChange(savedDonor, ChangeEvent.ChangeType.CREATED);
     }
     
     /**
      * Get donor by ID
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DONOR_BY_ID, key = "#id", sync = true)
     public Optional<DonorDTO.DonorResponse> getDonorById(Long id) {
         log.info("Fetching donor with ID: {}", id);
         return donorRepository.findById(id)
-                .map(this::convertToResponse);
+                .map(donorMapper::toResponse);
     }
     
     /**
      * Get donor by email
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DONOR_BY_EMAIL, key = "#email", sync = true)
     public Optional<DonorDTO.DonorResponse> getDonorByEmail(String email) {
         log.info("Fetching donor with email: {}", email);
         return donorRepository.findByEmail(email)
-                .map(this::convertToResponse);
+                .map(donorMapper::toResponse);
     }
     
     /**
@@ -79,10 +108,19 @@ public class DonorService {
     public List<DonorDTO.DonorSummary> getAllDonors() {
         log.info("Fetching all donors");
         return donorRepository.findAll().stream()
-                .map(this::convertToSummary)
+                .map(donorMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get all donors selecting only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllDonors(String fields) {
+        log.info("Fetching all donors with fields: {}", fields);
+        return sparseFieldsetQuery.select(Donor.class, sparseFieldsetQuery.parseFields(fields, SPARSE_FIELDS));
+    }
+    
     /**
      * Get donors by blood group
      */
@@ -90,7 +128,7 @@ public class DonorService {
     public List<DonorDTO.DonorSummary> getDonorsByBloodGroup(String bloodGroup) {
         log.info("Fetching donors with blood group: {}", bloodGroup);
         return donorRepository.findByBloodGroup(bloodGroup).stream()
-                .map(this::convertToSummary)
+                .map(donorMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -102,7 +140,7 @@ public class DonorService {
         log.info("Fetching eligible donors");
         LocalDate cutoffDate = LocalDate.now().minusDays(56);
         return donorRepository.findEligibleDonors(cutoffDate).stream()
-                .map(this::convertToSummary)
+                .map(donorMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -114,80 +152,159 @@ public class DonorService {
         log.info("Fetching eligible donors with blood group: {}", bloodGroup);
         LocalDate cutoffDate = LocalDate.now().minusDays(56);
         return donorRepository.findEligibleDonorsByBloodGroup(bloodGroup, cutoffDate).stream()
-                .map(this::convertToSummary)
+                .map(donorMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
     /**
      * Update donor
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_EMAIL, key = "#result.email")
+    })
     public DonorDTO.DonorResponse updateDonor(Long id, DonorDTO.DonorUpdateRequest request) {
         log.info("Updating donor with ID: {}", id);
         
         Donor donor = donorRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Donor not found with ID: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Donor not found with ID: " + id));
         
-        // Update only non-null fields
-        if (request.getName() != null) {
-            donor.setName(request.getName());
-        }
         if (request.getPhone() != null) {
             // Check if phone is already used by another donor
             Optional<Donor> existingDonor = donorRepository.findByPhone(request.getPhone());
             if (existingDonor.isPresent() && !existingDonor.get().getId().equals(id)) {
-                throw new RuntimeException("Phone number is already in use");
+                throw new DuplicateResourceException("Phone number is already in use");
             }
-            donor.setPhone(request.getPhone());
-        }
-        if (request.getLastDonationDate() != null) {
-            donor.setLastDonationDate(request.getLastDonationDate());
-        }
-        if (request.getAge() != null) {
-            donor.setAge(request.getAge());
-        }
-        if (request.getWeight() != null) {
-            donor.setWeight(request.getWeight());
-        }
-        if (request.getAddress() != null) {
-            donor.setAddress(request.getAddress());
-        }
-        if (request.getIsEligible() != null) {
-            donor.setIsEligible(request.getIsEligible());
         }
         
+        // Update only non-null fields
+        donorMapper.updateEntity(request, donor);
+        
         Donor updatedDonor = donorRepository.save(donor);
         log.info("Successfully updated donor with ID: {}", id);
         
-        return convertToResponse(updatedDonor);
+        return recordChange(updatedDonor, ChangeEvent.ChangeType.UPDATED);
     }
     
     /**
      * Update last donation date
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_EMAIL, key = "#result.email")
+    })
     public DonorDTO.DonorResponse updateLastDonationDate(Long id, LocalDate donationDate) {
+        Donor updatedDonor = saveLastDonationDate(id, donationDate);
+        rollupService.increment(MetricRollup.Metric.DONATIONS, updatedDonor.getBloodGroup(), 1);
+        return recordChange(updatedDonor, ChangeEvent.ChangeType.UPDATED);
+    }
+    
+    /**
+     * Update last donation date for a donation DonationService records, which counts
+     * the donation itself (once per batch in DEFERRED mode)
+     */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_EMAIL, key = "#result.email")
+    })
+    public DonorDTO.DonorResponse updateLastDonationDateUncounted(Long id, LocalDate donationDate) {
+        return recordChange(saveLastDonationDate(id, donationDate), ChangeEvent.ChangeType.UPDATED);
+    }
+    
+    private Donor saveLastDonationDate(Long id, LocalDate donationDate) {
         log.info("Updating last donation date for donor ID: {}", id);
         
         Donor donor = donorRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Donor not found with ID: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Donor not found with ID: " + id));
         
         donor.setLastDonationDate(donationDate);
         Donor updatedDonor = donorRepository.save(donor);
         
         log.info("Successfully updated last donation date for donor ID: {}", id);
-        return convertToResponse(updatedDonor);
+        return updatedDonor;
+    }
+    
+    /**
+     * Record the donations collected during a drive for several donors at once.
+     * Every donor must exist and match the blood group of their bag; donors whose last
+     * donation is already on or after the donation date keep it. Returns the number of
+     * donors whose last donation date changed.
+     */
+    public int recordDonations(Map<Long, String> bloodGroupByDonor, LocalDate donationDate) {
+        log.info("Recording donations on {} for {} donors", donationDate, bloodGroupByDonor.size());
+        
+        // The bulk update below bypasses Bean Validation, so apply Donor's own rule on lastDonationDate here
+        if (donationDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Donation date cannot be in the future");
+        }
+        
+        Map<Long, Donor> donors = donorRepository.findAllById(bloodGroupByDonor.keySet()).stream()
+                .collect(Collectors.toMap(Donor::getId, Function.identity()));
+        List<Long> missing = bloodGroupByDonor.keySet().stream()
+                .filter(id -> !donors.containsKey(id))
+                .sorted()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Donors not found with IDs: " + missing);
+        }
+        List<String> mismatched = bloodGroupByDonor.entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(donors.get(entry.getKey()).getBloodGroup()))
+                .map(entry -> "donor " + entry.getKey() + " is " + donors.get(entry.getKey()).getBloodGroup() +
+                              " but the bag is " + entry.getValue())
+                .toList();
+        if (!mismatched.isEmpty()) {
+            throw new IllegalArgumentException("Blood group mismatch: " + String.join("; ", mismatched));
+        }
+        
+        donors.values().stream()
+                .collect(Collectors.groupingBy(Donor::getBloodGroup, Collectors.counting()))
+                .forEach((bloodGroup, count) -> rollupService.increment(MetricRollup.Metric.DONATIONS, bloodGroup, count));
+        
+        List<Donor> changed = donors.values().stream()
+                .filter(donor -> donor.getLastDonationDate() == null || donor.getLastDonationDate().isBefore(donationDate))
+                .toList();
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        
+        LocalDateTime updatedAt = LocalDateTime.now();
+        int updated = donorRepository.recordDonations(changed.stream().map(Donor::getId).toList(), donationDate, updatedAt);
+        
+        Cache donorByIdCache = cacheManager.getCache(CacheConfig.DONOR_BY_ID);
+        Cache donorByEmailCache = cacheManager.getCache(CacheConfig.DONOR_BY_EMAIL);
+        for (Donor donor : changed) {
+            // Not managed any more after the bulk update: copy the written values so the event matches the row
+            donor.setLastDonationDate(donationDate);
+            donor.setUpdatedAt(updatedAt);
+            recordChange(donor, ChangeEvent.ChangeType.UPDATED);
+            if (donorByIdCache != null) {
+                donorByIdCache.evict(donor.getId());
+            }
+            if (donorByEmailCache != null) {
+                donorByEmailCache.evict(donor.getEmail());
+            }
+        }
+        
+        log.info("Updated last donation date of {} donors", updated);
+        return updated;
     }
     
     /**
      * Delete donor
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.DONOR_BY_EMAIL, allEntries = true)
+    })
     public void deleteDonor(Long id) {
         log.info("Deleting donor with ID: {}", id);
         
         if (!donorRepository.existsById(id)) {
-            throw new RuntimeException("Donor not found with ID: " + id);
+            throw new ResourceNotFoundException("Donor not found with ID: " + id);
         }
         
         donorRepository.deleteById(id);
+        changeEventService.record(ChangeEventService.DONOR, id, ChangeEvent.ChangeType.DELETED, null);
         log.info("Successfully deleted donor with ID: {}", id);
     }
     
@@ -198,7 +315,7 @@ public class DonorService {
     public List<DonorDTO.DonorSummary> searchDonorsByName(String name) {
         log.info("Searching donors by name: {}", name);
         return donorRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(this::convertToSummary)
+                .map(donorMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
@@ -229,33 +346,16 @@ public class DonorService {
         log.info("Fetching recent donors");
         LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
         return donorRepository.findRecentDonors(thirtyDaysAgo).stream()
-                .map(this::convertToSummary)
+                .map(donorMapper::toSummary)
                 .collect(Collectors.toList());
     }
     
     /**
-     * Convert Donor entity to DonorResponse DTO
+     * Record a change event for the donor and return its response DTO
      */
-    private DonorDTO.DonorResponse convertToResponse(Donor donor) {
-        DonorDTO.DonorResponse response = new DonorDTO.DonorResponse();
-        BeanUtils.copyProperties(donor, response);
-        response.setCanDonate(donor.canDonate());
+    private DonorDTO.DonorResponse recordChange(Donor donor, ChangeEvent.ChangeType changeType) {
+        DonorDTO.DonorResponse response = donorMapper.toResponse(donor);
+        changeEventService.record(ChangeEventService.DONOR, donor.getId(), changeType, response);
         return response;
     }
-    
-    /**
-     * Convert Donor entity to DonorSummary DTO
-     */
-    private DonorDTO.DonorSummary convertToSummary(Donor donor) {
-        DonorDTO.DonorSummary summary = new DonorDTO.DonorSummary();
-        summary.setId(donor.getId());
-        summary.setName(donor.getName());
-        summary.setEmail(donor.getEmail());
-        summary.setPhone(donor.getPhone());
-        summary.setBloodGroup(donor.getBloodGroup());
-        summary.setLastDonationDate(donor.getLastDonationDate());
-        summary.setIsEligible(donor.getIsEligible());
-        summary.setCanDonate(donor.canDonate());
-        return summary;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.bloodbank.service;
+
+import com.bloodbank.repository.BloodInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Service class computing strong ETags from update timestamps.
+ * The inventory tag comes from an aggregate probe, so a conditional GET that matches
+ * never loads or serializes a row; donor and request tags come from the (usually
+ * cached) representation, so a tag never describes a different version than its body.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EntityTagService {
+    
+    private final BloodInventoryRepository bloodInventoryRepository;
+    
+    /**
+     * ETag for the inventory list and availability views.
+     * The row count is part of the tag so deletions change it too.
+     */
+    public String getInventoryTag() {
+        BloodInventoryRepository.VersionProbe probe = bloodInventoryRepository.probeVersion();
+        return quote("inventory-" + probe.getRowCount() + "-" + stamp(probe.getLastUpdated()));
+    }
+    
+    /**
+     * ETag for a donor, built from the representation it is sent with so the two
+     * always agree, even when that representation came from a cache.
+     * The current date is part of the tag because canDonate depends on it.
+     */
+    public String getDonorTag(Long id, LocalDateTime updatedAt) {
+        return quote("donor-" + id + "-" + stamp(updatedAt) + "-"
+                + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE));
+    }
+    
+    /**
+     * ETag for a blood request, built from the representation it is sent with
+     */
+    public String getBloodRequestTag(Long id, LocalDateTime updatedAt) {
+        return quote("request-" + id + "-" + stamp(updatedAt));
+    }
+    
+    private String stamp(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return "0";
+        }
+        // A representation built before the flush may carry more precision than the column keeps
+        timestamp = timestamp.truncatedTo(ChronoUnit.MICROS);
+        return Long.toString(timestamp.toEpochSecond(ZoneOffset.UTC), 36) + "." + timestamp.getNano();
+    }
+    
+    private String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
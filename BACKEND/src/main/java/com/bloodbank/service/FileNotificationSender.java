@@ -0,0 +1,64 @@
+package com.bloodbank.service;
+
+import com.bloodbank.entity.CampaignNotification;
+import com.bloodbank.entity.RecallCampaign;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * NotificationSender that appends each message to a local file.
+ * Stands in for an SMTP/SMS gateway in development and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "campaign.sender.type", havingValue = "file", matchIfMissing = true)
+@Slf4j
+public class FileNotificationSender implements NotificationSender {
+    
+    private final Path outputFile;
+    private BufferedWriter writer;
+    
+    public FileNotificationSender(@Value("${campaign.sender.file-path:notifications/outbox.log}") String outputFile) {
+        this.outputFile = Paths.get(outputFile);
+    }
+    
+    @Override
+    public synchronized void send(CampaignNotification notification, RecallCampaign campaign) throws IOException {
+        if (writer == null) {
+            Path parent = outputFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.info("Writing recall notifications to {}", outputFile.toAbsolutePath());
+        }
+        writer.write(LocalDateTime.now() + " | campaign=" + notification.getCampaignId()
+                + " | to=" + notification.getRecipient()
+                + " | name=" + notification.getDonorName()
+                + " | group=" + notification.getBloodGroup()
+                + " | priority=" + notification.getPriority()
+                + " | " + campaign.getMessage());
+        writer.newLine();
+        writer.flush();
+    }
+    
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.bloodbank.service;
+
+import com.bloodbank.config.CacheConfig;
+import com.bloodbank.dto.ForecastDTO;
+import com.bloodbank.dto.MetricsDTO;
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.DemandForecast;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.exception.ResourceNotFoundException;
+import com.bloodbank.repository.BloodInventoryRepository;
+import com.bloodbank.repository.DemandForecastRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for blood demand forecasting.
+ * Fits additive exponential smoothing with weekly seasonality to the daily
+ * UNITS_ISSUED rollups of each blood group and derives reorder points and days
+ * of cover. The model state is persisted, so each refresh only consumes the days
+ * observed since the previous one. Inventory reads are not affected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ForecastService {
+    
+    /**
+     * Create the forecast row of a blood group unless another node already has
+     */
+    private static final String INSERT_FORECAST_SQL =
+        "INSERT INTO demand_forecasts (blood_group, level_value, seasonal_indices, mean_squared_error, observations, " +
+        "daily_demand, lead_time_demand, safety_stock, reorder_point) VALUES (?, 0, '0,0,0,0,0,0,0', 0, 0, 0, 0, 0, 0) " +
+        "ON DUPLICATE KEY UPDATE blood_group = blood_group";
+    
+    private final DemandForecastRepository demandForecastRepository;
+    private final BloodInventoryRepository bloodInventoryRepository;
+    private final RollupService rollupService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${forecast.alpha:0.3}")
+    private double alpha;
+    
+    @Value("${forecast.gamma:0.2}")
+    private double gamma;
+    
+    @Value("${forecast.error-smoothing:0.1}")
+    private double errorSmoothing;
+    
+    @Value("${forecast.lead-time-days:3}")
+    private int leadTimeDays;
+    
+    @Value("${forecast.service-level-z:1.65}")
+    private double serviceLevelZ;
+    
+    @Value("${forecast.history-days:90}")
+    private int historyDays;
+    
+    /**
+     * Copy computed reorder points into BloodInventory.minimumStock
+     */
+    @Value("${forecast.apply-reorder-point:false}")
+    private boolean applyReorderPoint;
+    
+    /**
+     * Get forecasts for all blood groups
+     */
+    @Transactional(readOnly = true)
+    public List<ForecastDTO.ForecastResponse> getForecasts() {
+        log.info("Fetching demand forecasts");
+        Map<String, BloodInventory> inventories = bloodInventoryRepository.findAll().stream()
+                .collect(Collectors.toMap(BloodInventory::getBloodGroup, Function.identity()));
+        return demandForecastRepository.findAll().stream()
+                .map(forecast -> convertToResponse(forecast, inventories.get(forecast.getBloodGroup())))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Get the forecast for one blood group
+     */
+    @Transactional(readOnly = true)
+    public ForecastDTO.ForecastResponse getForecast(String bloodGroup) {
+        log.info("Fetching demand forecast for blood group: {}", bloodGroup);
+        DemandForecast forecast = demandForecastRepository.findByBloodGroup(bloodGroup)
+                .orElseThrow(() -> new ResourceNotFoundException("No forecast available for blood group: " + bloodGroup));
+        return convertToResponse(forecast, bloodInventoryRepository.findByBloodGroup(bloodGroup).orElse(null));
+    }
+    
+    /**
+     * Feed every complete day since the last refresh into each blood group's model.
+     * Each blood group is refreshed in its own transaction with its forecast row locked,
+     * so nodes running the refresh at the same time neither fail nor count a day twice.
+     */
+    @Scheduled(cron = "${forecast.refresh-cron:0 15 0 * * *}")
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_BY_BLOOD_GROUP, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshForecasts() {
+        LocalDate today = LocalDate.now();
+        int updated = 0;
+        
+        for (String bloodGroup : BloodCompatibility.ALL_BLOOD_GROUPS) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> refreshForecast(bloodGroup, today)))) {
+                    updated++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh the demand forecast for blood group {}: {}", bloodGroup, e.getMessage());
+            }
+        }
+        
+        log.info("Refreshed demand forecasts for {} blood groups", updated);
+    }
+    
+    private boolean refreshForecast(String bloodGroup, LocalDate today) {
+        jdbcTemplate.update(INSERT_FORECAST_SQL, bloodGroup);
+        DemandForecast forecast = demandForecastRepository.findByBloodGroupForUpdate(bloodGroup).orElseThrow();
+        
+        LocalDate firstDay = forecast.getLastObservedDate() != null
+                ? forecast.getLastObservedDate().plusDays(1)
+                : today.minusDays(historyDays);
+        if (!firstDay.isBefore(today)) {
+            return false;
+        }
+        
+        MetricsDTO.MetricSeries series = rollupService.getSeries(MetricRollup.Metric.UNITS_ISSUED, bloodGroup,
+                firstDay.atStartOfDay(), today.atStartOfDay(), MetricRollup.Tier.DAY);
+        Map<LocalDate, Long> issuedByDay = new HashMap<>();
+        series.getPoints().forEach(point -> issuedByDay.put(point.getBucketStart().toLocalDate(), point.getValue()));
+        
+        for (LocalDate day = firstDay; day.isBefore(today); day = day.plusDays(1)) {
+            observe(forecast, day, issuedByDay.getOrDefault(day, 0L));
+        }
+        updateReorderPoint(forecast, today);
+        demandForecastRepository.save(forecast);
+        
+        if (applyReorderPoint) {
+            bloodInventoryRepository.findByBloodGroup(bloodGroup)
+                    .ifPresent(inventory -> inventory.setMinimumStock(Math.max(1, forecast.getReorderPoint())));
+        }
+        return true;
+    }
+    
+    /**
+     * Apply one daily observation to the smoothing state
+     */
+    void observe(DemandForecast forecast, LocalDate day, long issued) {
+        double[] seasonal = forecast.getSeasonalArray();
+        int index = day.getDayOfWeek().getValue() - 1;
+        
+        if (forecast.getObservations() == 0) {
+            forecast.setLevel((double) issued);
+        } else {
+            double predicted = forecast.getLevel() + seasonal[index];
+            double error = issued - predicted;
+            forecast.setMeanSquaredError(errorSmoothing * error * error
+                    + (1 - errorSmoothing) * forecast.getMeanSquaredError());
+            
+            double level = alpha * (issued - seasonal[index]) + (1 - alpha) * forecast.getLevel();
+            seasonal[index] = gamma * (issued - level) + (1 - gamma) * seasonal[index];
+            forecast.setLevel(level);
+            forecast.setSeasonalArray(seasonal);
+        }
+        forecast.setObservations(forecast.getObservations() + 1);
+        forecast.setLastObservedDate(day);
+    }
+    
+    /**
+     * Derive lead-time demand, safety stock and reorder point from the current state
+     */
+    void updateReorderPoint(DemandForecast forecast, LocalDate today) {
+        double[] seasonal = forecast.getSeasonalArray();
+        
+        double weekDemand = 0;
+        for (int i = 0; i < DemandForecast.SEASON_LENGTH; i++) {
+            weekDemand += Math.max(0, forecast.getLevel() + seasonal[i]);
+        }
+        
+        double leadTimeDemand = 0;
+        for (int d = 0; d < leadTimeDays; d++) {
+            int index = today.plusDays(d).getDayOfWeek().getValue() - 1;
+            leadTimeDemand += Math.max(0, forecast.getLevel() + seasonal[index]);
+        }
+        
+        double safetyStock = serviceLevelZ * Math.sqrt(forecast.getMeanSquaredError()) * Math.sqrt(leadTimeDays);
+        
+        forecast.setDailyDemand(weekDemand / DemandForecast.SEASON_LENGTH);
+        forecast.setLeadTimeDemand(leadTimeDemand);
+        forecast.setSafetyStock((int) Math.ceil(safetyStock));
+        forecast.setReorderPoint((int) Math.ceil(leadTimeDemand + safetyStock));
+    }
+    
+    /**
+     * Convert DemandForecast entity to ForecastResponse DTO
+     */
+    ForecastDTO.ForecastResponse convertToResponse(DemandForecast forecast, BloodInventory inventory) {
+        Integer unitsAvailable = inventory != null ? inventory.getUnitsAvailable() : null;
+        // Units on hold for approved requests cannot cover new demand
+        Integer unitsFree = inventory != null ? inventory.getUnitsFree() : null;
+        Double daysOfCover = unitsFree != null && forecast.getDailyDemand() > 0
+                ? unitsFree / forecast.getDailyDemand()
+                : null;
+        return new ForecastDTO.ForecastResponse(
+            forecast.getBloodGroup(),
+            forecast.getDailyDemand(),
+            forecast.getLeadTimeDemand(),
+            forecast.getSafetyStock(),
+            forecast.getReorderPoint(),
+            unitsAvailable,
+            unitsFree,
+            daysOfCover,
+            unitsFree != null && unitsFree <= forecast.getReorderPoint(),
+            forecast.getObservations(),
+            forecast.getLastObservedDate(),
+            forecast.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,164 @@
+package com.bloodbank.service;
+
+import com.bloodbank.entity.IdempotencyRecord;
+import com.bloodbank.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Service class for the Idempotency-Key store.
+ * A key is claimed with a plain INSERT on the primary key, so exactly one node runs the
+ * request; the response is then stored on the row and kept in a local front cache, and
+ * retries replay it without touching the database. Statements run outside the caller's
+ * transaction so the claim is visible to other nodes immediately.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+    
+    private static final String CLAIM_SQL =
+        "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) VALUES (?, ?, ?, ?)";
+    
+    /**
+     * Take over an expired key, or a claim abandoned by a node that died mid-request
+     */
+    private static final String TAKE_OVER_SQL =
+        "UPDATE idempotency_keys SET request_hash = ?, response_status = NULL, response_body = NULL, " +
+        "created_at = ?, expires_at = ? " +
+        "WHERE idempotency_key = ? AND (expires_at < ? OR (response_status IS NULL AND created_at < ?))";
+    
+    private static final String COMPLETE_SQL =
+        "UPDATE idempotency_keys SET response_status = ?, response_body = ? WHERE idempotency_key = ?";
+    
+    private static final String RELEASE_SQL =
+        "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND response_status IS NULL";
+    
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${idempotency.ttl-hours:24}")
+    private int ttlHours;
+    
+    @Value("${idempotency.claim-timeout-seconds:60}")
+    private int claimTimeoutSeconds;
+    
+    /**
+     * Front cache of completed responses; entries must not outlive ttl-hours
+     */
+    @Value("${idempotency.cache-spec:maximumSize=50000,expireAfterWrite=10m}")
+    private String cacheSpec;
+    
+    private Cache<String, StoredResponse> completed;
+    
+    @PostConstruct
+    void init() {
+        completed = Caffeine.from(cacheSpec).build();
+    }
+    
+    /**
+     * Claim a key for a request, or find out how an earlier request with the same key ended
+     */
+    public Claim begin(String key, String requestHash) {
+        StoredResponse cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return cached.requestHash().equals(requestHash) ? Claim.replay(cached) : Claim.of(ClaimState.MISMATCH);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        Timestamp expiresAt = Timestamp.valueOf(now.plusHours(ttlHours));
+        try {
+            jdbcTemplate.update(CLAIM_SQL, key, requestHash, createdAt, expiresAt);
+            return Claim.of(ClaimState.CLAIMED);
+        } catch (DuplicateKeyException e) {
+            // Known key: fall through to take-over or replay
+        }
+        
+        int takenOver = jdbcTemplate.update(TAKE_OVER_SQL, requestHash, createdAt, expiresAt, key,
+                createdAt, Timestamp.valueOf(now.minusSeconds(claimTimeoutSeconds)));
+        if (takenOver > 0) {
+            log.info("Took over expired or abandoned idempotency key {}", key);
+            return Claim.of(ClaimState.CLAIMED);
+        }
+        
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(key);
+        if (existing.isEmpty() || !existing.get().isCompleted()) {
+            // Still running elsewhere, or released between our statements; either way the client retries
+            return Claim.of(ClaimState.IN_PROGRESS);
+        }
+        IdempotencyRecord record = existing.get();
+        if (!record.getRequestHash().equals(requestHash)) {
+            return Claim.of(ClaimState.MISMATCH);
+        }
+        StoredResponse response = new StoredResponse(record.getRequestHash(), record.getResponseStatus(), record.getResponseBody());
+        completed.put(key, response);
+        return Claim.replay(response);
+    }
+    
+    /**
+     * Store the response of a claimed key so retries replay it
+     */
+    public void complete(String key, String requestHash, int status, String body) {
+        jdbcTemplate.update(COMPLETE_SQL, status, body, key);
+        completed.put(key, new StoredResponse(requestHash, status, body));
+    }
+    
+    /**
+     * Give up a claim without a stored response (server error, or the request failed before
+     * responding), so a retry runs the request again
+     */
+    public void release(String key) {
+        jdbcTemplate.update(RELEASE_SQL, key);
+    }
+    
+    /**
+     * Purge keys past their retention
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    @Transactional
+    public void purge() {
+        int removed = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+    
+    public enum ClaimState {
+        /** The caller owns the key and must run the request, then complete or release it */
+        CLAIMED,
+        /** The request already ran; replay the stored response */
+        REPLAY,
+        /** Another attempt with this key has not finished yet */
+        IN_PROGRESS,
+        /** The key was used for a different request */
+        MISMATCH
+    }
+    
+    public record StoredResponse(String requestHash, int status, String body) {
+    }
+    
+    public record Claim(ClaimState state, StoredResponse response) {
+        
+        static Claim of(ClaimState state) {
+            return new Claim(state, null);
+        }
+        
+        static Claim replay(StoredResponse response) {
+            return new Claim(ClaimState.REPLAY, response);
+        }
+    }
+}
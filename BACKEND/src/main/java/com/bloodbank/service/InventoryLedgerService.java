@@ -0,0 +1,225 @@
+package com.bloodbank.service;
+
+import com.bloodbank.dto.LedgerDTO;
+import com.bloodbank.entity.InventoryMovement;
+import com.bloodbank.entity.InventorySnapshot;
+import com.bloodbank.repository.InventoryMovementRepository;
+import com.bloodbank.repository.InventorySnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the append-only inventory movement ledger.
+ * Movements recorded during a transaction are buffered and written with a single
+ * JDBC batch just before commit, stamped with the time of that write so that
+ * created_at follows commit order. Periodic snapshots bound the number of movements
+ * that have to be summed to answer a balance query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InventoryLedgerService {
+    
+    private static final String INSERT_MOVEMENT_SQL =
+        "INSERT INTO inventory_movements " +
+        "(blood_group, delta, movement_type, request_id, performed_by, notes, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final Object BUFFER_KEY = new Object();
+    
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final InventorySnapshotRepository inventorySnapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${ledger.max-page-size:500}")
+    private int maxPageSize;
+    
+    /**
+     * Movements younger than this are left out of new snapshots so that
+     * transactions still in flight cannot end up below a snapshot position.
+     * Movements are stamped when they are written just before commit, so this only
+     * has to cover the commit itself, not the whole transaction.
+     */
+    @Value("${ledger.snapshot.settle-ms:60000}")
+    private long snapshotSettleMillis;
+    
+    /**
+     * Record a stock movement; written in batch when the current transaction commits
+     */
+    public void recordMovement(String bloodGroup, int delta, InventoryMovement.MovementType movementType,
+                               Long requestId, String performedBy, String notes) {
+        InventoryMovement movement = new InventoryMovement(null, bloodGroup, delta, movementType,
+                requestId, performedBy, notes, null);
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insertBatch(List.of(movement));
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        List<InventoryMovement> buffer = (List<InventoryMovement>) TransactionSynchronizationManager.getResource(BUFFER_KEY);
+        if (buffer == null) {
+            List<InventoryMovement> newBuffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(BUFFER_KEY, newBuffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insertBatch(newBuffer);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BUFFER_KEY);
+                }
+            });
+            buffer = newBuffer;
+        }
+        buffer.add(movement);
+    }
+    
+    /**
+     * Check whether a blood group has any committed movement
+     */
+    @Transactional(readOnly = true)
+    public boolean hasMovements(String bloodGroup) {
+        return inventoryMovementRepository.existsByBloodGroup(bloodGroup);
+    }
+    
+    /**
+     * Get movements of a blood group within a time range, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerDTO.MovementResponse> getMovements(String bloodGroup, LocalDateTime from, LocalDateTime to, Integer limit) {
+        log.info("Fetching ledger movements for blood group: {}", bloodGroup);
+        int pageSize = limit == null || limit <= 0 ? maxPageSize : Math.min(limit, maxPageSize);
+        LocalDateTime rangeFrom = from != null ? from : LocalDateTime.now().minusDays(30);
+        LocalDateTime rangeTo = to != null ? to : LocalDateTime.now();
+        return inventoryMovementRepository.findByBloodGroupBetween(bloodGroup, rangeFrom, rangeTo, PageRequest.of(0, pageSize))
+                .stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Get the ledger balance of a blood group at a point in time.
+     * Starts from the latest snapshot taken at or before the time and sums only
+     * the movements recorded after it.
+     */
+    @Transactional(readOnly = true)
+    public LedgerDTO.BalanceResponse getBalanceAt(String bloodGroup, LocalDateTime at) {
+        LocalDateTime pointInTime = at != null ? at : LocalDateTime.now();
+        log.info("Computing ledger balance for blood group: {} at {}", bloodGroup, pointInTime);
+        
+        Optional<InventorySnapshot> snapshot = inventorySnapshotRepository
+                .findFirstByBloodGroupAndAsOfLessThanEqualOrderByAsOfDesc(bloodGroup, pointInTime);
+        long baseBalance = snapshot.map(InventorySnapshot::getBalance).orElse(0L);
+        long afterId = snapshot.map(InventorySnapshot::getLastMovementId).orElse(0L);
+        
+        Long delta = inventoryMovementRepository.sumDeltaSince(bloodGroup, afterId, pointInTime);
+        
+        return new LedgerDTO.BalanceResponse(
+            bloodGroup,
+            pointInTime,
+            baseBalance + (delta != null ? delta : 0L),
+            snapshot.map(InventorySnapshot::getAsOf).orElse(null)
+        );
+    }
+    
+    /**
+     * Take a new snapshot of every blood group by rolling the previous snapshot
+     * forward over the settled movements since
+     */
+    @Scheduled(cron = "${ledger.snapshot.cron:0 0 * * * *}")
+    public void takeSnapshots() {
+        LocalDateTime asOf = LocalDateTime.now().minusNanos(snapshotSettleMillis * 1_000_000L);
+        int taken = 0;
+        
+        for (String bloodGroup : BloodCompatibility.ALL_BLOOD_GROUPS) {
+            Long lastMovementId = inventoryMovementRepository.findLastMovementIdBefore(bloodGroup, asOf);
+            if (lastMovementId == null) {
+                continue;
+            }
+            
+            Optional<InventorySnapshot> previous = inventorySnapshotRepository.findFirstByBloodGroupOrderByLastMovementIdDesc(bloodGroup);
+            long previousId = previous.map(InventorySnapshot::getLastMovementId).orElse(0L);
+            if (previousId >= lastMovementId) {
+                continue;
+            }
+            
+            long balance = previous.map(InventorySnapshot::getBalance).orElse(0L)
+                    + inventoryMovementRepository.sumDeltaBetween(bloodGroup, previousId, lastMovementId);
+            inventorySnapshotRepository.save(new InventorySnapshot(null, bloodGroup, balance, lastMovementId, asOf));
+            taken++;
+        }
+        
+        log.info("Took {} inventory ledger snapshots as of {}", taken, asOf);
+    }
+    
+    private void insertBatch(List<InventoryMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        // Stamp at write time: a movement recorded early in a long transaction must not
+        // look older than movements that committed before it
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                InventoryMovement movement = movements.get(i);
+                ps.setString(1, movement.getBloodGroup());
+                ps.setInt(2, movement.getDelta());
+                ps.setString(3, movement.getMovementType().name());
+                if (movement.getRequestId() != null) {
+                    ps.setLong(4, movement.getRequestId());
+                } else {
+                    ps.setNull(4, Types.BIGINT);
+                }
+                ps.setString(5, movement.getPerformedBy());
+                ps.setString(6, movement.getNotes());
+                ps.setTimestamp(7, createdAt);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return movements.size();
+            }
+        });
+    }
+    
+    /**
+     * Convert InventoryMovement entity to MovementResponse DTO
+     */
+    private LedgerDTO.MovementResponse convertToResponse(InventoryMovement movement) {
+        return new LedgerDTO.MovementResponse(
+            movement.getId(),
+            movement.getBloodGroup(),
+            movement.getDelta(),
+            movement.getMovementType(),
+            movement.getMovementType().getDisplayName(),
+            movement.getRequestId(),
+            movement.getPerformedBy(),
+            movement.getNotes(),
+            movement.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.bloodbank.service;
+
+import com.bloodbank.entity.CampaignNotification;
+import com.bloodbank.entity.RecallCampaign;
+
+/**
+ * Delivery channel for recall campaign notifications.
+ * Implementations throw to signal a failed attempt; the dispatcher handles retries.
+ */
+public interface NotificationSender {
+    
+    /**
+     * Deliver a single notification
+     */
+    void send(CampaignNotification notification, RecallCampaign campaign) throws Exception;
+}
@@ -0,0 +1,283 @@
+package com.bloodbank.service;
+
+import com.bloodbank.dto.CampaignDTO;
+import com.bloodbank.entity.CampaignNotification;
+import com.bloodbank.entity.RecallCampaign;
+import com.bloodbank.exception.DuplicateResourceException;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.exception.ResourceNotFoundException;
+import com.bloodbank.repository.CampaignNotificationRepository;
+import com.bloodbank.repository.DonorRepository;
+import com.bloodbank.repository.RecallCampaignRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for donor recall campaigns.
+ * Candidates are read from DonorRepository in keyset-paginated chunks and written
+ * straight into the campaign_notifications outbox, so memory use is bounded by the
+ * chunk size rather than the number of donors.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RecallCampaignService {
+    
+    private static final String INSERT_NOTIFICATION_SQL =
+        "INSERT INTO campaign_notifications " +
+        "(campaign_id, donor_id, donor_name, recipient, blood_group, priority, status, attempts, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+    
+    /**
+     * Keyset start for lapsed donors; earlier than any stored donation date
+     */
+    private static final LocalDate KEYSET_START_DATE = LocalDate.of(1900, 1, 1);
+    
+    private final RecallCampaignRepository recallCampaignRepository;
+    private final CampaignNotificationRepository campaignNotificationRepository;
+    private final DonorRepository donorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${campaign.candidate-chunk-size:1000}")
+    private int chunkSize;
+    
+    /**
+     * Start a recall campaign and enqueue one notification per eligible compatible donor
+     */
+    public CampaignDTO.CampaignResponse startCampaign(CampaignDTO.CampaignCreateRequest request,
+                                                      RecallCampaign.TriggerType triggerType) {
+        log.info("Starting recall campaign for blood group: {}", request.getBloodGroup());
+        
+        if (recallCampaignRepository.existsByBloodGroupAndStatus(request.getBloodGroup(), RecallCampaign.CampaignStatus.ACTIVE)) {
+            throw new DuplicateResourceException("An active recall campaign already exists for blood group " + request.getBloodGroup());
+        }
+        
+        List<String> donorGroups = Boolean.TRUE.equals(request.getExactMatchOnly())
+                ? List.of(request.getBloodGroup())
+                : BloodCompatibility.compatibleDonorGroups(request.getBloodGroup());
+        
+        RecallCampaign campaign = new RecallCampaign();
+        campaign.setBloodGroup(request.getBloodGroup());
+        campaign.setTriggerType(triggerType);
+        campaign.setMessage(request.getMessage() != null ? request.getMessage()
+                : "Blood group " + request.getBloodGroup() + " is in critical shortage. Please consider donating.");
+        campaign.setStartedBy(request.getStartedBy() != null ? request.getStartedBy() : "System");
+        campaign.setStatus(RecallCampaign.CampaignStatus.ACTIVE);
+        RecallCampaign savedCampaign;
+        try {
+            // Flush now so a concurrent start loses on the active_blood_group constraint before enqueueing
+            savedCampaign = recallCampaignRepository.saveAndFlush(campaign);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("An active recall campaign already exists for blood group " + request.getBloodGroup());
+        }
+        
+        long candidateCount = enqueueCandidates(savedCampaign.getId(), donorGroups);
+        
+        savedCampaign.setCandidateCount(candidateCount);
+        if (candidateCount == 0) {
+            savedCampaign.setStatus(RecallCampaign.CampaignStatus.COMPLETED);
+            savedCampaign.setCompletedAt(LocalDateTime.now());
+        }
+        RecallCampaign updatedCampaign = recallCampaignRepository.save(savedCampaign);
+        log.info("Successfully started recall campaign with ID: {} ({} donors queued)", updatedCampaign.getId(), candidateCount);
+        
+        return convertToResponse(updatedCampaign);
+    }
+    
+    /**
+     * Get campaign by ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<CampaignDTO.CampaignResponse> getCampaignById(Long id) {
+        log.info("Fetching recall campaign with ID: {}", id);
+        return recallCampaignRepository.findById(id)
+                .map(this::convertToResponse);
+    }
+    
+    /**
+     * Get all campaigns, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<CampaignDTO.CampaignResponse> getAllCampaigns() {
+        log.info("Fetching all recall campaigns");
+        List<RecallCampaign> campaigns = recallCampaignRepository.findAllByOrderByCreatedAtDesc();
+        Map<Long, Map<CampaignNotification.DeliveryStatus, Long>> counts = countNotifications(
+                campaigns.stream().map(RecallCampaign::getId).collect(Collectors.toList()));
+        return campaigns.stream()
+                .map(campaign -> convertToResponse(campaign, counts.getOrDefault(campaign.getId(), Map.of())))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Cancel a campaign and drop its undelivered notifications
+     */
+    public CampaignDTO.CampaignResponse cancelCampaign(Long id) {
+        log.info("Cancelling recall campaign with ID: {}", id);
+        
+        RecallCampaign campaign = recallCampaignRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recall campaign not found with ID: " + id));
+        
+        if (!campaign.isActive()) {
+            throw new InvalidStateException("Recall campaign is no longer active");
+        }
+        
+        int cancelled = campaignNotificationRepository.cancelPending(id, CampaignNotification.DeliveryStatus.CANCELLED);
+        campaign.setStatus(RecallCampaign.CampaignStatus.CANCELLED);
+        campaign.setCompletedAt(LocalDateTime.now());
+        RecallCampaign updatedCampaign = recallCampaignRepository.save(campaign);
+        
+        log.info("Successfully cancelled recall campaign with ID: {} ({} notifications dropped)", id, cancelled);
+        return convertToResponse(updatedCampaign);
+    }
+    
+    /**
+     * Mark active campaigns whose outbox has been fully drained as completed
+     */
+    public int completeDrainedCampaigns() {
+        List<RecallCampaign> active = recallCampaignRepository.findByStatusOrderByCreatedAtDesc(RecallCampaign.CampaignStatus.ACTIVE);
+        if (active.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> activeIds = active.stream().map(RecallCampaign::getId).collect(Collectors.toList());
+        List<Long> stillPending = campaignNotificationRepository.findCampaignIdsWithPending(activeIds);
+        
+        int completed = 0;
+        for (RecallCampaign campaign : active) {
+            if (!stillPending.contains(campaign.getId())) {
+                campaign.setStatus(RecallCampaign.CampaignStatus.COMPLETED);
+                campaign.setCompletedAt(LocalDateTime.now());
+                completed++;
+                log.info("Recall campaign {} for blood group {} completed", campaign.getId(), campaign.getBloodGroup());
+            }
+        }
+        return completed;
+    }
+    
+    /**
+     * Walk eligible donors in ranking order (never donated first, then oldest donation)
+     * and batch-insert them into the outbox one chunk at a time
+     */
+    private long enqueueCandidates(Long campaignId, List<String> donorGroups) {
+        LocalDate cutoffDate = LocalDate.now().minusDays(56);
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int priority = 0;
+        
+        // Never donated: rank by id
+        long afterId = 0L;
+        List<DonorRepository.RecallCandidate> candidates;
+        do {
+            candidates = donorRepository.findNeverDonatedCandidates(donorGroups, afterId, chunk);
+            if (!candidates.isEmpty()) {
+                insertChunk(campaignId, candidates, priority, now);
+                priority += candidates.size();
+                afterId = candidates.get(candidates.size() - 1).getId();
+            }
+        } while (candidates.size() == chunkSize);
+        
+        // Lapsed donors: oldest last donation first
+        LocalDate afterDate = KEYSET_START_DATE;
+        afterId = 0L;
+        do {
+            candidates = donorRepository.findLapsedCandidates(donorGroups, cutoffDate, afterDate, afterId, chunk);
+            if (!candidates.isEmpty()) {
+                insertChunk(campaignId, candidates, priority, now);
+                priority += candidates.size();
+                DonorRepository.RecallCandidate last = candidates.get(candidates.size() - 1);
+                afterDate = last.getLastDonationDate();
+                afterId = last.getId();
+            }
+        } while (candidates.size() == chunkSize);
+        
+        return priority;
+    }
+    
+    private void insertChunk(Long campaignId, List<DonorRepository.RecallCandidate> candidates,
+                             int priorityOffset, Timestamp createdAt) {
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                DonorRepository.RecallCandidate candidate = candidates.get(i);
+                ps.setLong(1, campaignId);
+                ps.setLong(2, candidate.getId());
+                ps.setString(3, candidate.getName());
+                ps.setString(4, candidate.getEmail());
+                ps.setString(5, candidate.getBloodGroup());
+                ps.setInt(6, priorityOffset + i + 1);
+                ps.setString(7, CampaignNotification.DeliveryStatus.PENDING.name());
+                ps.setTimestamp(8, createdAt);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return candidates.size();
+            }
+        });
+    }
+    
+    /**
+     * Notification counts per campaign and delivery status, in one grouped query
+     */
+    private Map<Long, Map<CampaignNotification.DeliveryStatus, Long>> countNotifications(List<Long> campaignIds) {
+        Map<Long, Map<CampaignNotification.DeliveryStatus, Long>> counts = new HashMap<>();
+        if (campaignIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : campaignNotificationRepository.countByCampaignIdsGroupByStatus(campaignIds)) {
+            counts.computeIfAbsent((Long) row[0], id -> new EnumMap<>(CampaignNotification.DeliveryStatus.class))
+                    .put((CampaignNotification.DeliveryStatus) row[1], (Long) row[2]);
+        }
+        return counts;
+    }
+    
+    /**
+     * Convert RecallCampaign entity to CampaignResponse DTO
+     */
+    private CampaignDTO.CampaignResponse convertToResponse(RecallCampaign campaign) {
+        return convertToResponse(campaign,
+                countNotifications(List.of(campaign.getId())).getOrDefault(campaign.getId(), Map.of()));
+    }
+    
+    private CampaignDTO.CampaignResponse convertToResponse(RecallCampaign campaign,
+                                                           Map<CampaignNotification.DeliveryStatus, Long> counts) {
+        CampaignDTO.CampaignResponse response = new CampaignDTO.CampaignResponse();
+        response.setId(campaign.getId());
+        response.setBloodGroup(campaign.getBloodGroup());
+        response.setStatus(campaign.getStatus());
+        response.setStatusDisplay(campaign.getStatus().getDisplayName());
+        response.setTriggerType(campaign.getTriggerType());
+        response.setMessage(campaign.getMessage());
+        response.setStartedBy(campaign.getStartedBy());
+        response.setCandidateCount(campaign.getCandidateCount());
+        // Rows claimed by a dispatcher but not yet confirmed still count as pending
+        response.setPendingCount(counts.getOrDefault(CampaignNotification.DeliveryStatus.PENDING, 0L)
+                + counts.getOrDefault(CampaignNotification.DeliveryStatus.SENDING, 0L));
+        response.setSentCount(counts.getOrDefault(CampaignNotification.DeliveryStatus.SENT, 0L));
+        response.setFailedCount(counts.getOrDefault(CampaignNotification.DeliveryStatus.FAILED, 0L));
+        response.setCreatedAt(campaign.getCreatedAt());
+        response.setCompletedAt(campaign.getCompletedAt());
+        return response;
+    }
+}
@@ -0,0 +1,108 @@
+package com.bloodbank.service;
+
+import com.bloodbank.dto.CommonDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight layer for hot read-only endpoints.
+ * Concurrent calls with the same key share one in-flight computation instead of
+ * each running the full query set; nothing is cached once the computation ends.
+ * Callers must invoke it outside any transaction so waiting callers do not hold
+ * a database connection.
+ */
+@Service
+@Slf4j
+public class RequestCoalescer {
+    
+    public static final String DASHBOARD_STATS = "dashboard.stats";
+    public static final String DASHBOARD_HEALTH = "dashboard.health";
+    public static final String INVENTORY_STATISTICS = "inventory.statistics";
+    public static final String REQUEST_STATISTICS = "requests.statistics";
+    public static final String REQUEST_BLOOD_GROUP_STATISTICS = "requests.statistics.blood-groups";
+    public static final String DONOR_STATISTICS = "donors.statistics";
+    
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+    
+    /**
+     * Run the computation, or join the identical one already in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> computation) {
+        Counters keyCounters = counters.computeIfAbsent(key, k -> new Counters());
+        keyCounters.calls.increment();
+        
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            keyCounters.coalesced.increment();
+            return (T) await(existing);
+        }
+        
+        keyCounters.executions.increment();
+        try {
+            T result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    /**
+     * Get call, execution and coalescing counts per key
+     */
+    public List<CommonDTO.CoalescingStats> getCoalescingStatistics() {
+        return counters.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> toStats(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+    
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private CommonDTO.CoalescingStats toStats(String key, Counters keyCounters) {
+        long calls = keyCounters.calls.sum();
+        long coalesced = keyCounters.coalesced.sum();
+        return new CommonDTO.CoalescingStats(
+            key,
+            calls,
+            keyCounters.executions.sum(),
+            coalesced,
+            calls > 0 ? (double) coalesced / calls : 0.0,
+            inFlight.containsKey(key)
+        );
+    }
+    
+    private static class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
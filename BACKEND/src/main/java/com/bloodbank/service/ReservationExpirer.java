@@ -0,0 +1,137 @@
+package com.bloodbank.service;
+
+import com.bloodbank.entity.UnitReservation;
+import com.bloodbank.repository.UnitReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Releases unit holds when they run out.
+ * The sweep takes only the due holds off the in-memory ReservationTimer and expires them
+ * with one inventory update per blood group. At startup the timer is rebuilt from the
+ * active rows; a slow indexed check also expires holds whose node went away for good.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExpirer {
+    
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private final UnitReservationRepository unitReservationRepository;
+    private final ReservationService reservationService;
+    private final ReservationTimer reservationTimer;
+    
+    @Value("${reservations.sweep-batch-size:500}")
+    private int batchSize;
+    
+    @Value("${reservations.recovery-chunk-size:1000}")
+    private int recoveryChunkSize;
+    
+    /**
+     * How long past its expiry a hold must be before another node's hold is treated as orphaned
+     */
+    @Value("${reservations.orphan-grace-seconds:60}")
+    private long orphanGraceSeconds;
+    
+    /**
+     * A failed expiry is retried after this delay, doubled per failure up to the maximum
+     */
+    @Value("${reservations.retry-initial-backoff-ms:1000}")
+    private long retryInitialBackoffMillis;
+    
+    @Value("${reservations.retry-max-backoff-ms:300000}")
+    private long retryMaxBackoffMillis;
+    
+    /**
+     * Rebuild the timer from the holds still active in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        LocalDateTime afterExpiresAt = KEYSET_START;
+        long afterId = 0L;
+        int recovered = 0;
+        while (true) {
+            List<UnitReservation> chunk = unitReservationRepository.findActiveAfter(
+                    afterExpiresAt, afterId, PageRequest.of(0, recoveryChunkSize));
+            for (UnitReservation reservation : chunk) {
+                reservationTimer.schedule(reservation.getId(), reservation.getBloodGroup(), reservation.getExpiresAt());
+            }
+            recovered += chunk.size();
+            if (chunk.size() < recoveryChunkSize) {
+                break;
+            }
+            UnitReservation last = chunk.get(chunk.size() - 1);
+            afterExpiresAt = last.getExpiresAt();
+            afterId = last.getId();
+        }
+        log.info("Recovered {} active unit holds", recovered);
+    }
+    
+    /**
+     * Expire the holds that are due
+     */
+    @Scheduled(fixedDelayString = "${reservations.sweep-interval-ms:1000}")
+    public void expireDue() {
+        List<ReservationTimer.Entry> due = reservationTimer.pollDue(LocalDateTime.now(), batchSize);
+        if (due.isEmpty()) {
+            return;
+        }
+        
+        Map<String, List<ReservationTimer.Entry>> byBloodGroup = due.stream()
+                .collect(Collectors.groupingBy(ReservationTimer.Entry::bloodGroup, TreeMap::new, Collectors.toList()));
+        byBloodGroup.forEach((bloodGroup, entries) -> {
+            try {
+                reservationService.expire(bloodGroup, entries.stream().map(ReservationTimer.Entry::reservationId).toList());
+            } catch (RuntimeException e) {
+                int failedAttempts = entries.stream().mapToInt(ReservationTimer.Entry::failedAttempts).max().orElse(0);
+                long backoffMillis = retryBackoffMillis(failedAttempts);
+                log.warn("Could not expire {} holds of blood group {}, retrying in {} ms: {}",
+                        entries.size(), bloodGroup, backoffMillis, e.getMessage());
+                LocalDateTime retryAt = LocalDateTime.now().plus(backoffMillis, ChronoUnit.MILLIS);
+                entries.forEach(entry -> reservationTimer.retry(entry, retryAt));
+            }
+        });
+    }
+    
+    private long retryBackoffMillis(int failedAttempts) {
+        return Math.min(retryMaxBackoffMillis, retryInitialBackoffMillis << Math.min(failedAttempts, 20));
+    }
+    
+    /**
+     * Expire holds that no running node is timing, e.g. after their node was shut down for good
+     */
+    @Scheduled(fixedDelayString = "${reservations.orphan-check-interval-ms:300000}")
+    public void expireOrphans() {
+        List<UnitReservation> orphans = unitReservationRepository.findActiveExpiredBefore(
+                LocalDateTime.now().minusSeconds(orphanGraceSeconds), PageRequest.of(0, batchSize));
+        if (orphans.isEmpty()) {
+            return;
+        }
+        
+        Map<String, List<Long>> byBloodGroup = orphans.stream()
+                .collect(Collectors.groupingBy(UnitReservation::getBloodGroup, TreeMap::new,
+                        Collectors.mapping(UnitReservation::getId, Collectors.toList())));
+        byBloodGroup.forEach((bloodGroup, ids) -> {
+            try {
+                reservationService.expire(bloodGroup, ids);
+            } catch (RuntimeException e) {
+                log.warn("Could not expire {} orphaned holds of blood group {}: {}", ids.size(), bloodGroup, e.getMessage());
+            }
+        });
+        log.info("Expired {} orphaned unit holds", orphans.size());
+    }
+}
@@ -0,0 +1,180 @@
+package com.bloodbank.service;
+
+import com.bloodbank.dto.BloodRequestDTO;
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.UnitReservation;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.exception.ResourceNotFoundException;
+import com.bloodbank.repository.UnitReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service class for time-bounded holds of blood units.
+ * Approving a request holds its units until it is fulfilled, cancelled or the hold runs
+ * out. Holds are persisted in unit_reservations and summed into BloodInventory.unitsReserved
+ * under the inventory row lock, so every node sees the same free stock; expiry is driven
+ * by the in-memory ReservationTimer, which only learns about a hold once it is committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ReservationService {
+    
+    private final UnitReservationRepository unitReservationRepository;
+    private final BloodInventoryService bloodInventoryService;
+    private final ReservationTimer reservationTimer;
+    
+    @Value("${reservations.hold-minutes:240}")
+    private long holdMinutes;
+    
+    /**
+     * Hold the units of one approved request
+     */
+    public UnitReservation reserve(BloodRequest bloodRequest, String createdBy) {
+        BloodInventory inventory = lockInventory(bloodRequest.getBloodGroup());
+        return reserve(inventory, Map.of(bloodRequest.getId(), bloodRequest.getUnitsRequested()), createdBy).get(0);
+    }
+    
+    /**
+     * Hold units for several approved requests of one blood group. The inventory must have
+     * been locked with BloodInventoryService.lockInventories in the same transaction.
+     */
+    public List<UnitReservation> reserve(BloodInventory inventory, Map<Long, Integer> unitsByRequest, String createdBy) {
+        int totalUnits = unitsByRequest.values().stream().mapToInt(Integer::intValue).sum();
+        log.info("Holding {} units of blood group: {} for {} requests", totalUnits, inventory.getBloodGroup(), unitsByRequest.size());
+        
+        bloodInventoryService.changeReservedUnits(inventory, totalUnits);
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusMinutes(holdMinutes);
+        List<UnitReservation> reservations = unitsByRequest.entrySet().stream()
+                .map(entry -> new UnitReservation(null, entry.getKey(), inventory.getBloodGroup(), entry.getValue(),
+                        UnitReservation.Status.ACTIVE, expiresAt, createdBy, now, null))
+                .toList();
+        List<UnitReservation> savedReservations = unitReservationRepository.saveAll(reservations);
+        
+        afterCommit(() -> savedReservations.forEach(reservation -> reservationTimer.schedule(
+                reservation.getId(), reservation.getBloodGroup(), reservation.getExpiresAt())));
+        return savedReservations;
+    }
+    
+    /**
+     * Use up the hold of a request that is collecting its units.
+     * Returns false when the request has no active hold (it ran out or never existed).
+     */
+    public boolean consume(Long requestId) {
+        return close(requestId, UnitReservation.Status.CONSUMED);
+    }
+    
+    /**
+     * Give back the hold of a request that will not collect its units
+     */
+    public boolean release(Long requestId) {
+        return close(requestId, UnitReservation.Status.RELEASED);
+    }
+    
+    /**
+     * Expire the given holds of one blood group. Holds that were consumed or released in
+     * the meantime are skipped. Returns the number of holds expired.
+     */
+    public int expire(String bloodGroup, Collection<Long> reservationIds) {
+        BloodInventory inventory = lockInventory(bloodGroup);
+        
+        // Consume and release lock the inventory row first too, so this view cannot go stale
+        List<UnitReservation> active = unitReservationRepository.findActiveByIdIn(reservationIds);
+        if (active.isEmpty()) {
+            return 0;
+        }
+        
+        int closed = unitReservationRepository.closeActive(
+                active.stream().map(UnitReservation::getId).toList(), UnitReservation.Status.EXPIRED, LocalDateTime.now());
+        if (closed != active.size()) {
+            throw new InvalidStateException("Some holds were closed concurrently; no changes were applied");
+        }
+        int units = active.stream().mapToInt(UnitReservation::getUnits).sum();
+        bloodInventoryService.changeReservedUnits(inventory, -units);
+        
+        log.info("Expired {} holds of blood group: {}, {} units back in stock", closed, bloodGroup, units);
+        return closed;
+    }
+    
+    /**
+     * Get the active hold of a blood request
+     */
+    @Transactional(readOnly = true)
+    public BloodRequestDTO.ReservationResponse getActiveReservation(Long requestId) {
+        log.info("Fetching active hold for blood request ID: {}", requestId);
+        return unitReservationRepository.findActiveByRequestId(requestId)
+                .map(this::convertToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("No active hold for blood request ID: " + requestId));
+    }
+    
+    private boolean close(Long requestId, UnitReservation.Status status) {
+        Optional<UnitReservation> reservation = unitReservationRepository.findActiveByRequestId(requestId);
+        if (reservation.isEmpty()) {
+            return false;
+        }
+        UnitReservation hold = reservation.get();
+        BloodInventory inventory = lockInventory(hold.getBloodGroup());
+        if (unitReservationRepository.closeActive(List.of(hold.getId()), status, LocalDateTime.now()) == 0) {
+            // Expired while we were waiting for the inventory lock
+            return false;
+        }
+        bloodInventoryService.changeReservedUnits(inventory, -hold.getUnits());
+        
+        log.info("Hold {} of blood request ID: {} is now {}", hold.getId(), requestId, status);
+        afterCommit(() -> reservationTimer.cancel(hold.getId()));
+        return true;
+    }
+    
+    private BloodInventory lockInventory(String bloodGroup) {
+        BloodInventory inventory = bloodInventoryService.lockInventories(List.of(bloodGroup)).get(bloodGroup);
+        if (inventory == null) {
+            throw new ResourceNotFoundException("Blood inventory not found for blood group: " + bloodGroup);
+        }
+        return inventory;
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /**
+     * Convert UnitReservation entity to ReservationResponse DTO
+     */
+    private BloodRequestDTO.ReservationResponse convertToResponse(UnitReservation reservation) {
+        return new BloodRequestDTO.ReservationResponse(
+            reservation.getId(),
+            reservation.getRequestId(),
+            reservation.getBloodGroup(),
+            reservation.getUnits(),
+            reservation.getStatus(),
+            reservation.getExpiresAt(),
+            reservation.getCreatedBy(),
+            reservation.getCreatedAt()
+        );
+    }
+}
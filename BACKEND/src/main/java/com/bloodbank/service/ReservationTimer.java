@@ -0,0 +1,92 @@
+package com.bloodbank.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory expiry timer for active unit holds.
+ * Holds are kept ordered by expiry time, so scheduling, cancelling and taking the
+ * holds that are due all cost O(log n); expiry never looks at a hold that is not due.
+ * The timer only knows the holds of this node and is rebuilt from unit_reservations
+ * at startup by ReservationExpirer.
+ */
+@Component
+public class ReservationTimer {
+    
+    private static final Comparator<Entry> EXPIRY_ORDER =
+            Comparator.comparing(Entry::expiresAt).thenComparingLong(Entry::reservationId);
+    
+    private final ConcurrentSkipListSet<Entry> queue = new ConcurrentSkipListSet<>(EXPIRY_ORDER);
+    private final ConcurrentMap<Long, Entry> byReservationId = new ConcurrentHashMap<>();
+    
+    /**
+     * Start timing a hold, replacing any earlier entry for it
+     */
+    public void schedule(long reservationId, String bloodGroup, LocalDateTime expiresAt) {
+        add(new Entry(reservationId, bloodGroup, expiresAt, 0));
+    }
+    
+    /**
+     * Time a hold again after its expiry failed, this time at retryAt
+     */
+    public void retry(Entry entry, LocalDateTime retryAt) {
+        add(new Entry(entry.reservationId(), entry.bloodGroup(), retryAt, entry.failedAttempts() + 1));
+    }
+    
+    private void add(Entry entry) {
+        Entry previous = byReservationId.put(entry.reservationId(), entry);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.add(entry);
+    }
+    
+    /**
+     * Stop timing a hold that was consumed or released
+     */
+    public void cancel(long reservationId) {
+        Entry entry = byReservationId.remove(reservationId);
+        if (entry != null) {
+            queue.remove(entry);
+        }
+    }
+    
+    /**
+     * Remove and return up to max holds that expired at or before now, earliest first
+     */
+    public List<Entry> pollDue(LocalDateTime now, int max) {
+        List<Entry> due = new ArrayList<>();
+        for (Iterator<Entry> iterator = queue.iterator(); iterator.hasNext() && due.size() < max; ) {
+            Entry head = iterator.next();
+            if (head.expiresAt().isAfter(now)) {
+                break;
+            }
+            if (queue.remove(head)) {
+                byReservationId.remove(head.reservationId(), head);
+                due.add(head);
+            }
+        }
+        return due;
+    }
+    
+    /**
+     * Number of holds being timed
+     */
+    public int size() {
+        return byReservationId.size();
+    }
+    
+    /**
+     * A timed hold; after a failed expiry, expiresAt is the time of the next attempt
+     */
+    public record Entry(long reservationId, String bloodGroup, LocalDateTime expiresAt, int failedAttempts) {
+    }
+}
@@ -0,0 +1,287 @@
+package com.bloodbank.service;
+
+import com.bloodbank.dto.MetricsDTO;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.entity.RollupWatermark;
+import com.bloodbank.repository.MetricRollupRepository;
+import com.bloodbank.repository.RollupWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for time-series rollups of request and donation activity.
+ * Writers increment MINUTE buckets (batched per transaction and stamped with the
+ * commit minute); a scheduled job compacts closed minutes into HOUR buckets and
+ * closed hours into DAY buckets, on one node at a time.
+ * Range queries read the coarsest complete tier and fill the tail from finer tiers,
+ * so they never touch the raw entity tables.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RollupService {
+    
+    private static final String UPSERT_INCREMENT_SQL =
+        "INSERT INTO metric_rollups (tier, metric, blood_group, bucket_start, amount) VALUES (?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE amount = amount + VALUES(amount)";
+    
+    private static final String UPSERT_REPLACE_SQL =
+        "INSERT INTO metric_rollups (tier, metric, blood_group, bucket_start, amount) VALUES (?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE amount = VALUES(amount)";
+    
+    private static final String INSERT_WATERMARK_SQL =
+        "INSERT INTO rollup_watermarks (tier, rolled_up_to) VALUES (?, ?) " +
+        "ON DUPLICATE KEY UPDATE rolled_up_to = rolled_up_to";
+    
+    private static final Object BUFFER_KEY = new Object();
+    
+    private final MetricRollupRepository metricRollupRepository;
+    private final RollupWatermarkRepository rollupWatermarkRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Closed buckets are compacted only after this delay so late commits still land
+     */
+    @Value("${rollups.compaction.lag-ms:120000}")
+    private long compactionLagMillis;
+    
+    @Value("${rollups.retention.minute-hours:48}")
+    private int minuteRetentionHours;
+    
+    @Value("${rollups.retention.hour-days:90}")
+    private int hourRetentionDays;
+    
+    /**
+     * Count an activity in a minute bucket.
+     * Increments are merged per transaction and written just before commit, into the
+     * minute the transaction commits in rather than the one it started in, so a long
+     * transaction cannot land in a bucket that compaction already considers settled.
+     */
+    public void increment(MetricRollup.Metric metric, String bloodGroup, long amount) {
+        if (amount == 0) {
+            return;
+        }
+        SeriesKey key = new SeriesKey(metric, bloodGroup);
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeIncrements(Map.of(key, amount));
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        Map<SeriesKey, Long> buffer = (Map<SeriesKey, Long>) TransactionSynchronizationManager.getResource(BUFFER_KEY);
+        if (buffer == null) {
+            Map<SeriesKey, Long> newBuffer = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(BUFFER_KEY, newBuffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    writeIncrements(newBuffer);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BUFFER_KEY);
+                }
+            });
+            buffer = newBuffer;
+        }
+        buffer.merge(key, amount, Long::sum);
+    }
+    
+    /**
+     * Get a metric series over [from, to) at the given resolution.
+     * Resolution defaults to MINUTE up to 6 hours, HOUR up to 14 days and DAY beyond.
+     */
+    @Transactional(readOnly = true)
+    public MetricsDTO.MetricSeries getSeries(MetricRollup.Metric metric, String bloodGroup,
+                                             LocalDateTime from, LocalDateTime to, MetricRollup.Tier resolution) {
+        LocalDateTime rangeTo = to != null ? to : LocalDateTime.now();
+        LocalDateTime rangeFrom = from != null ? from : rangeTo.minusDays(1);
+        MetricRollup.Tier tier = resolution != null ? resolution : defaultResolution(rangeFrom, rangeTo);
+        
+        LocalDateTime alignedFrom = tier.truncate(rangeFrom);
+        Map<LocalDateTime, Long> buckets = readSeries(tier, metric, bloodGroup, alignedFrom, rangeTo);
+        
+        List<MetricsDTO.SeriesPoint> points = buckets.entrySet().stream()
+                .map(entry -> new MetricsDTO.SeriesPoint(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        long total = buckets.values().stream().mapToLong(Long::longValue).sum();
+        
+        return new MetricsDTO.MetricSeries(metric, bloodGroup, tier, alignedFrom, rangeTo, total, points);
+    }
+    
+    /**
+     * Get the total of a metric over [from, to) across all blood groups
+     */
+    @Transactional(readOnly = true)
+    public long getTotal(MetricRollup.Metric metric, LocalDateTime from, LocalDateTime to) {
+        return readSeries(MetricRollup.Tier.DAY, metric, null, from, to).values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+    
+    /**
+     * Compact closed buckets into coarser tiers and drop expired fine-grained buckets.
+     * The pass holds the watermark row locks until it commits, so replicas running the
+     * same schedule take turns instead of rolling up and purging concurrently.
+     */
+    @Scheduled(fixedDelayString = "${rollups.compaction.interval-ms:60000}")
+    public void compact() {
+        Map<MetricRollup.Tier, RollupWatermark> watermarks = lockWatermarks();
+        if (watermarks.isEmpty()) {
+            return;
+        }
+        LocalDateTime settled = LocalDateTime.now().minusNanos(compactionLagMillis * 1_000_000L);
+        
+        int hours = rollUp(watermarks.get(MetricRollup.Tier.HOUR), settled, settled);
+        int days = rollUp(watermarks.get(MetricRollup.Tier.DAY), settled, watermarks.get(MetricRollup.Tier.HOUR).getRolledUpTo());
+        
+        // Keep the source buckets of the last closed bucket, which the next pass rolls up again
+        LocalDateTime hourWatermark = watermarks.get(MetricRollup.Tier.HOUR).getRolledUpTo().minusHours(1);
+        LocalDateTime dayWatermark = watermarks.get(MetricRollup.Tier.DAY).getRolledUpTo().minusDays(1);
+        LocalDateTime minuteCutoff = min(LocalDateTime.now().minusHours(minuteRetentionHours), hourWatermark);
+        LocalDateTime hourCutoff = min(LocalDateTime.now().minusDays(hourRetentionDays), dayWatermark);
+        int purged = metricRollupRepository.deleteOlderThan(MetricRollup.Tier.MINUTE, minuteCutoff)
+                + metricRollupRepository.deleteOlderThan(MetricRollup.Tier.HOUR, hourCutoff);
+        
+        if (hours + days + purged > 0) {
+            log.info("Compacted rollups: {} hour buckets, {} day buckets written, {} expired buckets removed", hours, days, purged);
+        }
+    }
+    
+    /**
+     * Roll the finer tier into the target tier for every closed target bucket past the watermark.
+     * The last bucket closed by an earlier pass is recomputed as well: buckets are replaced,
+     * not added to, so an increment that committed after that pass is picked up here.
+     * Returns the number of newly closed target buckets written.
+     */
+    private int rollUp(RollupWatermark watermark, LocalDateTime settled, LocalDateTime sourceComplete) {
+        MetricRollup.Tier target = watermark.getTier();
+        MetricRollup.Tier source = target.finer();
+        LocalDateTime rolledUpTo = watermark.getRolledUpTo();
+        LocalDateTime to = min(target.truncate(settled), target.truncate(sourceComplete));
+        if (to.isBefore(rolledUpTo)) {
+            to = rolledUpTo;
+        }
+        LocalDateTime from = rolledUpTo.minus(1, target.getUnit());
+        
+        Map<BucketKey, Long> aggregated = new LinkedHashMap<>();
+        for (MetricRollup bucket : metricRollupRepository.findBuckets(source, from, to)) {
+            BucketKey key = new BucketKey(bucket.getMetric(), bucket.getBloodGroup(), target.truncate(bucket.getBucketStart()));
+            aggregated.merge(key, bucket.getAmount(), Long::sum);
+        }
+        writeBuckets(UPSERT_REPLACE_SQL, target, aggregated);
+        watermark.setRolledUpTo(to);
+        return (int) aggregated.keySet().stream().filter(key -> !key.bucketStart().isBefore(rolledUpTo)).count();
+    }
+    
+    /**
+     * Create missing watermarks at the earliest minute bucket, then lock all of them.
+     * Returns an empty map while there is nothing to compact yet.
+     */
+    private Map<MetricRollup.Tier, RollupWatermark> lockWatermarks() {
+        LocalDateTime earliest = metricRollupRepository.findEarliestBucket(MetricRollup.Tier.MINUTE);
+        if (earliest != null) {
+            for (MetricRollup.Tier tier : List.of(MetricRollup.Tier.HOUR, MetricRollup.Tier.DAY)) {
+                jdbcTemplate.update(INSERT_WATERMARK_SQL, tier.name(), Timestamp.valueOf(tier.truncate(earliest)));
+            }
+        }
+        Map<MetricRollup.Tier, RollupWatermark> watermarks = new EnumMap<>(MetricRollup.Tier.class);
+        for (RollupWatermark watermark : rollupWatermarkRepository.findAllForUpdate()) {
+            watermarks.put(watermark.getTier(), watermark);
+        }
+        return watermarks.size() == 2 ? watermarks : Map.of();
+    }
+    
+    /**
+     * Read a tier up to its watermark and fill the remainder from finer tiers
+     */
+    private Map<LocalDateTime, Long> readSeries(MetricRollup.Tier tier, MetricRollup.Metric metric, String bloodGroup,
+                                                LocalDateTime from, LocalDateTime to) {
+        Map<LocalDateTime, Long> result = new TreeMap<>();
+        LocalDateTime covered = tier == MetricRollup.Tier.MINUTE ? to : min(to, watermark(tier));
+        
+        if (from.isBefore(covered)) {
+            for (Object[] row : metricRollupRepository.sumByBucket(tier, metric, bloodGroup, from, covered)) {
+                result.merge((LocalDateTime) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+        if (covered.isBefore(to)) {
+            LocalDateTime tailFrom = from.isAfter(covered) ? from : covered;
+            readSeries(tier.finer(), metric, bloodGroup, tailFrom, to)
+                    .forEach((bucket, amount) -> result.merge(tier.truncate(bucket), amount, Long::sum));
+        }
+        return result;
+    }
+    
+    private LocalDateTime watermark(MetricRollup.Tier tier) {
+        return rollupWatermarkRepository.findById(tier)
+                .map(RollupWatermark::getRolledUpTo)
+                .orElseGet(() -> initialWatermark(tier));
+    }
+    
+    private LocalDateTime initialWatermark(MetricRollup.Tier tier) {
+        LocalDateTime earliest = metricRollupRepository.findEarliestBucket(MetricRollup.Tier.MINUTE);
+        return tier.truncate(earliest != null ? earliest : LocalDateTime.now());
+    }
+    
+    private MetricRollup.Tier defaultResolution(LocalDateTime from, LocalDateTime to) {
+        Duration range = Duration.between(from, to);
+        if (range.compareTo(Duration.ofHours(6)) <= 0) {
+            return MetricRollup.Tier.MINUTE;
+        }
+        if (range.compareTo(Duration.ofDays(14)) <= 0) {
+            return MetricRollup.Tier.HOUR;
+        }
+        return MetricRollup.Tier.DAY;
+    }
+    
+    private void writeIncrements(Map<SeriesKey, Long> increments) {
+        LocalDateTime bucketStart = MetricRollup.Tier.MINUTE.truncate(LocalDateTime.now());
+        Map<BucketKey, Long> buckets = new HashMap<>();
+        increments.forEach((key, amount) -> buckets.put(new BucketKey(key.metric(), key.bloodGroup(), bucketStart), amount));
+        writeBuckets(UPSERT_INCREMENT_SQL, MetricRollup.Tier.MINUTE, buckets);
+    }
+    
+    private void writeBuckets(String sql, MetricRollup.Tier tier, Map<BucketKey, Long> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(buckets.size());
+        buckets.forEach((key, amount) -> args.add(new Object[] {
+            tier.name(), key.metric().name(), key.bloodGroup(), Timestamp.valueOf(key.bucketStart()), amount
+        }));
+        jdbcTemplate.batchUpdate(sql, args);
+    }
+    
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    private record SeriesKey(MetricRollup.Metric metric, String bloodGroup) {
+    }
+    
+    private record BucketKey(MetricRollup.Metric metric, String bloodGroup, LocalDateTime bucketStart) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.bloodbank.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles a client-supplied field set (e.g. {@code id,bloodGroup,status}) into a
+ * tuple projection so only the requested columns are selected. Rows are returned
+ * as ordered maps and no entity is ever instantiated or attached to the
+ * persistence context.
+ */
+@Component
+@RequiredArgsConstructor
+public class SparseFieldsetQuery {
+    
+    private final EntityManager entityManager;
+    
+    /**
+     * Parse a comma-separated field set and validate it against the allowed fields
+     */
+    public List<String> parseFields(String fields, List<String> allowedFields) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!trimmed.isEmpty()) {
+                requested.add(trimmed);
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be requested. Allowed fields: " + allowedFields);
+        }
+        List<String> unknown = requested.stream()
+                .filter(field -> !allowedFields.contains(field))
+                .collect(Collectors.toList());
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown fields " + unknown + ". Allowed fields: " + allowedFields);
+        }
+        return new ArrayList<>(requested);
+    }
+    
+    /**
+     * Select only the given attributes of every row of the entity, ordered by id
+     */
+    public List<Map<String, Object>> select(Class<?> entityType, List<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityType);
+        query.multiselect(fields.stream()
+                .map(field -> root.get(field).alias(field))
+                .collect(Collectors.toList()));
+        query.orderBy(cb.asc(root.get("id")));
+        
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, fields))
+                .collect(Collectors.toList());
+    }
+    
+    private Map<String, Object> toRow(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+        for (int i = 0; i < fields.size(); i++) {
+            row.put(fields.get(i), tuple.get(i));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,228 @@
+package com.bloodbank.service;
+
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of realistic donors and blood requests.
+ * Row {@code i} depends only on the seed, the reference time and {@code i}, so ranges
+ * can be generated in any order or in parallel and always produce the same data.
+ */
+public class SyntheticDataGenerator {
+
+    static final String[] BLOOD_GROUPS = {"O+", "A+", "B+", "O-", "A-", "AB+", "B-", "AB-"};
+
+    /**
+     * Approximate share of each blood group in the donor population, in BLOOD_GROUPS order
+     */
+    private static final double[] BLOOD_GROUP_WEIGHTS = {37.4, 35.7, 8.5, 6.6, 6.3, 3.4, 1.5, 0.6};
+
+    private static final BloodRequest.UrgencyLevel[] URGENCY_LEVELS = {
+        BloodRequest.UrgencyLevel.NORMAL, BloodRequest.UrgencyLevel.URGENT, BloodRequest.UrgencyLevel.EMERGENCY
+    };
+    private static final double[] URGENCY_WEIGHTS = {70, 22, 8};
+
+    /**
+     * Mean time from submission to an admin decision, in minutes, in URGENCY_LEVELS order
+     */
+    private static final double[] MEAN_PROCESSING_MINUTES = {36 * 60, 6 * 60, 30};
+
+    /**
+     * Outcome of a processed request
+     */
+    private static final BloodRequest.RequestStatus[] OUTCOMES = {
+        BloodRequest.RequestStatus.FULFILLED, BloodRequest.RequestStatus.APPROVED,
+        BloodRequest.RequestStatus.REJECTED, BloodRequest.RequestStatus.CANCELLED
+    };
+    private static final double[] OUTCOME_WEIGHTS = {78, 8, 9, 5};
+
+    /**
+     * Share of requests that are never picked up and stay pending
+     */
+    private static final double STALE_PENDING_SHARE = 0.01;
+
+    private static final int HOSPITAL_COUNT = 250;
+    private static final double HOSPITAL_ZIPF_EXPONENT = 1.1;
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Aditi", "Amit", "Ananya", "Arjun", "Divya", "Farhan", "Ishita", "Karan", "Kavya",
+        "Meera", "Mohit", "Neha", "Nikhil", "Pooja", "Priya", "Rahul", "Riya", "Rohan", "Sanjay",
+        "Sara", "Shreya", "Sneha", "Suresh", "Tanvi", "Varun", "Vikram", "Vivek", "Yash", "Zoya"
+    };
+    private static final String[] LAST_NAMES = {
+        "Agarwal", "Bansal", "Chopra", "Das", "Desai", "Gupta", "Iyer", "Jain", "Joshi", "Kapoor",
+        "Khan", "Kumar", "Menon", "Mehta", "Nair", "Patel", "Rao", "Reddy", "Saxena", "Shah",
+        "Sharma", "Singh", "Sinha", "Thomas", "Verma"
+    };
+    private static final String[] CITIES = {
+        "Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Kolkata", "Pune", "Ahmedabad",
+        "Jaipur", "Lucknow", "Kochi", "Indore", "Nagpur", "Bhopal", "Chandigarh"
+    };
+    private static final String[] HOSPITAL_TYPES = {
+        "General Hospital", "Medical Centre", "Multispeciality Hospital", "Children's Hospital", "Trauma Centre"
+    };
+    private static final String[] MEDICAL_REASONS = {
+        "Scheduled surgery requiring transfusion support",
+        "Road traffic accident with significant blood loss",
+        "Postpartum haemorrhage",
+        "Chemotherapy-induced anaemia",
+        "Thalassaemia maintenance transfusion",
+        "Cardiac bypass surgery",
+        "Dengue with severe thrombocytopenia",
+        "Gastrointestinal bleeding"
+    };
+
+    private final long seed;
+    private final LocalDateTime referenceTime;
+    private final int historyDays;
+    private final double[] bloodGroupCdf = cumulative(BLOOD_GROUP_WEIGHTS);
+    private final double[] urgencyCdf = cumulative(URGENCY_WEIGHTS);
+    private final double[] outcomeCdf = cumulative(OUTCOME_WEIGHTS);
+    private final double[] hospitalCdf;
+
+    /**
+     * @param seed          base seed, the same seed always yields the same rows
+     * @param referenceTime the "now" every generated timestamp is relative to
+     * @param historyDays   how far back creation dates are spread
+     */
+    public SyntheticDataGenerator(long seed, LocalDateTime referenceTime, int historyDays) {
+        this.seed = seed;
+        this.referenceTime = referenceTime;
+        this.historyDays = historyDays;
+
+        double[] hospitalWeights = new double[HOSPITAL_COUNT];
+        for (int rank = 0; rank < HOSPITAL_COUNT; rank++) {
+            hospitalWeights[rank] = 1.0 / Math.pow(rank + 1, HOSPITAL_ZIPF_EXPONENT);
+        }
+        this.hospitalCdf = cumulative(hospitalWeights);
+    }
+
+    /**
+     * Generate the donor at the given index. Emails are unique per seed and index.
+     */
+    public Donor donor(long index) {
+        SplittableRandom random = randomFor(index, 0x5DEECE66DL);
+
+        Donor donor = new Donor();
+        donor.setName(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES));
+        donor.setEmail("donor" + index + ".s" + seed + "@example.org");
+        donor.setPhone(phone(random));
+        donor.setBloodGroup(BLOOD_GROUPS[sample(random, bloodGroupCdf)]);
+        // Age skews towards 25-45: the mean of two uniforms over 18-65
+        donor.setAge(18 + (random.nextInt(48) + random.nextInt(48)) / 2);
+        donor.setWeight(Math.round(clamp(72 + gaussian(random) * 12, 50, 130) * 10) / 10.0);
+        donor.setAddress(random.nextInt(1, 500) + ", Sector " + random.nextInt(1, 60) + ", " + pick(random, CITIES));
+        donor.setIsEligible(random.nextDouble() < 0.92);
+
+        LocalDateTime createdAt = pastTime(random);
+        donor.setCreatedAt(createdAt);
+        // Roughly a third of registered donors have never donated
+        if (random.nextDouble() < 0.35) {
+            donor.setLastDonationDate(null);
+            donor.setUpdatedAt(createdAt);
+        } else {
+            long minutesSinceCreation = Math.max(1, Duration.between(createdAt, referenceTime).toMinutes());
+            LocalDateTime donatedAt = createdAt.plusMinutes(random.nextLong(minutesSinceCreation));
+            donor.setLastDonationDate(donatedAt.toLocalDate());
+            donor.setUpdatedAt(donatedAt);
+        }
+        return donor;
+    }
+
+    /**
+     * Generate the blood request at the given index with a status consistent with its age
+     */
+    public BloodRequest bloodRequest(long index) {
+        SplittableRandom random = randomFor(index, 0x2545F4914F6CDD1DL);
+
+        BloodRequest request = new BloodRequest();
+        String requesterFirstName = pick(random, FIRST_NAMES);
+        request.setRequesterName(requesterFirstName + " " + pick(random, LAST_NAMES));
+        request.setContactEmail(requesterFirstName.toLowerCase() + index + "@example.org");
+        request.setContactPhone(phone(random));
+        request.setPatientName(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES));
+        request.setBloodGroup(BLOOD_GROUPS[sample(random, bloodGroupCdf)]);
+        request.setMedicalReason(pick(random, MEDICAL_REASONS));
+
+        int urgency = sample(random, urgencyCdf);
+        request.setUrgencyLevel(URGENCY_LEVELS[urgency]);
+        // Emergencies ask for more units: 1-2 for normal requests, up to 6 for emergencies
+        request.setUnitsRequested(1 + random.nextInt(2 + urgency * 2));
+        request.setHospitalName(hospitalName(sample(random, hospitalCdf)));
+
+        LocalDateTime createdAt = pastTime(random);
+        request.setCreatedAt(createdAt);
+
+        LocalDateTime decidedAt = createdAt.plusMinutes(
+            Math.max(1, Math.round(-MEAN_PROCESSING_MINUTES[urgency] * Math.log(1 - random.nextDouble()))));
+        if (decidedAt.isAfter(referenceTime) || random.nextDouble() < STALE_PENDING_SHARE) {
+            request.setStatus(BloodRequest.RequestStatus.PENDING);
+            request.setUpdatedAt(createdAt);
+        } else {
+            BloodRequest.RequestStatus outcome = OUTCOMES[sample(random, outcomeCdf)];
+            request.setStatus(outcome);
+            request.setProcessedAt(decidedAt);
+            request.setProcessedBy(outcome == BloodRequest.RequestStatus.CANCELLED ? "requester" : "admin");
+            request.setUpdatedAt(decidedAt);
+        }
+        return request;
+    }
+
+    /**
+     * Hospital names are stable per rank, so rank 0 is always the busiest hospital
+     */
+    static String hospitalName(int rank) {
+        return CITIES[rank % CITIES.length] + " " + HOSPITAL_TYPES[(rank / CITIES.length) % HOSPITAL_TYPES.length]
+            + " " + (rank / (CITIES.length * HOSPITAL_TYPES.length) + 1);
+    }
+
+    private SplittableRandom randomFor(long index, long stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L ^ (index + 1) * stream);
+    }
+
+    /**
+     * Creation times spread over the history window, growing denser towards the reference time
+     */
+    private LocalDateTime pastTime(SplittableRandom random) {
+        double ageFraction = 1 - Math.sqrt(random.nextDouble());
+        return referenceTime.minusMinutes(Math.round(ageFraction * historyDays * 24 * 60));
+    }
+
+    private static String phone(SplittableRandom random) {
+        return (6 + random.nextInt(4)) + String.format("%09d", random.nextInt(1_000_000_000));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int sample(SplittableRandom random, double[] cdf) {
+        int position = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(position >= 0 ? position : -position - 1, cdf.length - 1);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller, SplittableRandom has no nextGaussian on Java 17
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cdf = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cdf[i] = running / total;
+        }
+        return cdf;
+    }
+}
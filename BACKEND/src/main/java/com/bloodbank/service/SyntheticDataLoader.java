@@ -0,0 +1,219 @@
+package com.bloodbank.service;
+
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk loader for the synthetic dataset, active under the "seed" profile.
+ * Rows are written with multi-row INSERT statements split across a few
+ * connections; they bypass JPA, so no change events or ledger entries are recorded.
+ *
+ *   java -jar app.jar --spring.profiles.active=seed --seed.donors=1000000 --seed.requests=5000000
+ */
+@Service
+@Profile("seed")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataLoader implements ApplicationRunner {
+
+    private static final String DONOR_COLUMNS =
+        "name, email, phone, blood_group, last_donation_date, age, weight, address, is_eligible, created_at, updated_at";
+    private static final int DONOR_COLUMN_COUNT = 11;
+
+    private static final String REQUEST_COLUMNS =
+        "requester_name, contact_email, contact_phone, blood_group, units_requested, urgency_level, " +
+        "hospital_name, patient_name, medical_reason, status, processed_by, processed_at, created_at, updated_at";
+    private static final int REQUEST_COLUMN_COUNT = 14;
+
+    /**
+     * JDBC drivers cap the number of bind parameters in one statement
+     */
+    private static final int MAX_PARAMETERS_PER_STATEMENT = 65_535;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BloodInventoryService bloodInventoryService;
+    private final CacheManager cacheManager;
+
+    @Value("${seed.donors:100000}")
+    private long donorCount;
+
+    @Value("${seed.requests:500000}")
+    private long requestCount;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    /**
+     * Date the generated history ends at (yyyy-MM-dd); empty means today.
+     * Pin it to reproduce the exact same rows on another day.
+     */
+    @Value("${seed.reference-date:}")
+    private String referenceDate;
+
+    @Value("${seed.history-days:730}")
+    private int historyDays;
+
+    @Value("${seed.rows-per-statement:1000}")
+    private int rowsPerStatement;
+
+    @Value("${seed.threads:4}")
+    private int threads;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    /**
+     * Load the configured number of donors and blood requests
+     */
+    public void load() {
+        LocalDateTime referenceTime = (referenceDate == null || referenceDate.isBlank()
+                ? LocalDate.now() : LocalDate.parse(referenceDate)).atStartOfDay();
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(randomSeed, referenceTime, historyDays);
+        log.info("Loading synthetic dataset: {} donors, {} blood requests, seed {}, history {} days up to {}",
+                donorCount, requestCount, randomSeed, historyDays, referenceTime.toLocalDate());
+
+        if (donorCount > 0) {
+            Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM donors WHERE email = ?", Integer.class, generator.donor(0).getEmail());
+            if (existing != null && existing > 0) {
+                throw new IllegalStateException("Synthetic dataset for seed " + randomSeed + " is already loaded");
+            }
+        }
+
+        bloodInventoryService.initializeBloodGroups();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            insert(executor, "donors", DONOR_COLUMNS, DONOR_COLUMN_COUNT, donorCount,
+                (ps, parameter, index) -> bindDonor(ps, parameter, generator.donor(index)));
+            insert(executor, "blood_requests", REQUEST_COLUMNS, REQUEST_COLUMN_COUNT, requestCount,
+                (ps, parameter, index) -> bindBloodRequest(ps, parameter, generator.bloodRequest(index)));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Counts and statistics cached before the load are now wrong on every node
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.info("Synthetic dataset loaded");
+    }
+
+    /**
+     * Insert rows [0, count) of a table in multi-row statements, one statement per task
+     */
+    private void insert(ExecutorService executor, String table, String columns, int columnCount,
+                        long count, RowBinder binder) {
+        if (count <= 0) {
+            return;
+        }
+        int rowsPerInsert = Math.max(1, Math.min(rowsPerStatement, MAX_PARAMETERS_PER_STATEMENT / columnCount));
+        String fullInsert = insertSql(table, columns, columnCount, rowsPerInsert);
+        long progressStep = Math.max(rowsPerInsert, count / 10);
+        AtomicLong inserted = new AtomicLong();
+        long startedAt = System.nanoTime();
+
+        List<Future<?>> statements = new ArrayList<>();
+        for (long from = 0; from < count; from += rowsPerInsert) {
+            long first = from;
+            int rows = (int) Math.min(rowsPerInsert, count - from);
+            String sql = rows == rowsPerInsert ? fullInsert : insertSql(table, columns, columnCount, rows);
+            statements.add(executor.submit(() -> {
+                jdbcTemplate.update(sql, ps -> {
+                    int parameter = 1;
+                    for (long index = first; index < first + rows; index++) {
+                        parameter = binder.bind(ps, parameter, index);
+                    }
+                });
+                long done = inserted.addAndGet(rows);
+                if (done / progressStep != (done - rows) / progressStep || done == count) {
+                    double seconds = (System.nanoTime() - startedAt) / 1e9;
+                    log.info("{}: {}/{} rows ({} rows/s)", table, done, count, Math.round(done / Math.max(seconds, 0.001)));
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> statement : statements) {
+                statement.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading " + table, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to load " + table + ": " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static String insertSql(String table, String columns, int columnCount, int rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        return "INSERT INTO " + table + " (" + columns + ") VALUES " + String.join(", ", Collections.nCopies(rows, row));
+    }
+
+    private static int bindDonor(PreparedStatement ps, int parameter, Donor donor) throws SQLException {
+        ps.setString(parameter++, donor.getName());
+        ps.setString(parameter++, donor.getEmail());
+        ps.setString(parameter++, donor.getPhone());
+        ps.setString(parameter++, donor.getBloodGroup());
+        ps.setObject(parameter++, donor.getLastDonationDate());
+        ps.setInt(parameter++, donor.getAge());
+        ps.setDouble(parameter++, donor.getWeight());
+        ps.setString(parameter++, donor.getAddress());
+        ps.setBoolean(parameter++, donor.getIsEligible());
+        ps.setTimestamp(parameter++, Timestamp.valueOf(donor.getCreatedAt()));
+        ps.setTimestamp(parameter++, Timestamp.valueOf(donor.getUpdatedAt()));
+        return parameter;
+    }
+
+    private static int bindBloodRequest(PreparedStatement ps, int parameter, BloodRequest request) throws SQLException {
+        ps.setString(parameter++, request.getRequesterName());
+        ps.setString(parameter++, request.getContactEmail());
+        ps.setString(parameter++, request.getContactPhone());
+        ps.setString(parameter++, request.getBloodGroup());
+        ps.setInt(parameter++, request.getUnitsRequested());
+        ps.setString(parameter++, request.getUrgencyLevel().name());
+        ps.setString(parameter++, request.getHospitalName());
+        ps.setString(parameter++, request.getPatientName());
+        ps.setString(parameter++, request.getMedicalReason());
+        ps.setString(parameter++, request.getStatus().name());
+        ps.setString(parameter++, request.getProcessedBy());
+        ps.setTimestamp(parameter++, request.getProcessedAt() != null ? Timestamp.valueOf(request.getProcessedAt()) : null);
+        ps.setTimestamp(parameter++, Timestamp.valueOf(request.getCreatedAt()));
+        ps.setTimestamp(parameter++, Timestamp.valueOf(request.getUpdatedAt()));
+        return parameter;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        int bind(PreparedStatement ps, int parameter, long index) throws SQLException;
+    }
+}
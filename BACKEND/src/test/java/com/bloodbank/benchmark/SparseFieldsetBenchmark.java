@@ -0,0 +1,123 @@
+package com.bloodbank.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.service.BloodRequestService;
+
+/**
+ * Compares the full-entity list path of GET /api/requests with a sparse field set
+ * on a large blood_requests table. Run with {@code mvn test -Pbenchmark}
+ * (row count via {@code -Dbenchmark.rows}, default 1,000,000).
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SparseFieldsetBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int BATCH_SIZE = 10_000;
+    private static final int ITERATIONS = 3;
+    private static final String[] BLOOD_GROUPS = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+    private static final String[] STATUSES = {"PENDING", "APPROVED", "FULFILLED", "REJECTED", "CANCELLED"};
+    private static final String[] URGENCIES = {"EMERGENCY", "URGENT", "NORMAL"};
+    private static final String MEDICAL_REASON = "x".repeat(500);
+
+    @Autowired
+    private BloodRequestService bloodRequestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("DELETE FROM blood_requests");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int offset = 0; offset < ROWS; offset += BATCH_SIZE) {
+            int start = offset;
+            int size = Math.min(BATCH_SIZE, ROWS - offset);
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO blood_requests (requester_name, contact_email, contact_phone, blood_group, " +
+                "units_requested, urgency_level, hospital_name, patient_name, medical_reason, status, " +
+                "admin_notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int n = start + i;
+                        ps.setString(1, "Requester " + n);
+                        ps.setString(2, "requester" + n + "@example.com");
+                        ps.setString(3, "9000000000");
+                        ps.setString(4, BLOOD_GROUPS[n % BLOOD_GROUPS.length]);
+                        ps.setInt(5, 1 + n % 5);
+                        ps.setString(6, URGENCIES[n % URGENCIES.length]);
+                        ps.setString(7, "General Hospital");
+                        ps.setString(8, "Patient " + n);
+                        ps.setString(9, MEDICAL_REASON);
+                        ps.setString(10, STATUSES[n % STATUSES.length]);
+                        ps.setString(11, MEDICAL_REASON);
+                        ps.setTimestamp(12, now);
+                        ps.setTimestamp(13, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                });
+        }
+    }
+
+    @Test
+    void fullEntitiesVersusSparseFieldset() {
+        Result full = measure("full entities", bloodRequestService::getAllBloodRequests);
+        Result sparse = measure("fields=id,bloodGroup,status",
+                () -> bloodRequestService.getAllBloodRequests("id,bloodGroup,status"));
+
+        System.out.printf("sparse/full: time %.2f, allocation %.2f%n",
+                sparse.millis / full.millis, (double) sparse.allocatedBytes / full.allocatedBytes);
+        assertThat(sparse.rows).isEqualTo(full.rows);
+    }
+
+    private Result measure(String label, Supplier<List<?>> call) {
+        int rows = call.get().size();
+        double totalMillis = 0;
+        long totalAllocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            rows = call.get().size();
+            totalMillis += (System.nanoTime() - start) / 1_000_000.0;
+            totalAllocated += allocatedBytes() - allocatedBefore;
+        }
+        Result result = new Result(rows, totalMillis / ITERATIONS, totalAllocated / ITERATIONS);
+        System.out.printf("%-30s rows=%d avg=%.1f ms allocated=%.1f MB%n",
+                label, result.rows, result.millis, result.allocatedBytes / (1024.0 * 1024.0));
+        return result;
+    }
+
+    private long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private record Result(int rows, double millis, long allocatedBytes) {
+    }
+}
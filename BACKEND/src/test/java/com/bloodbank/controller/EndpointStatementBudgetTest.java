@@ -0,0 +1,98 @@
+package com.bloodbank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.diagnostics.SqlStatementBudget;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.repository.BloodRequestRepository;
+import com.bloodbank.repository.DonorRepository;
+import com.bloodbank.service.SyntheticDataGenerator;
+
+/**
+ * Pins the number of SQL statements the statistics endpoints issue. The per-blood-group
+ * budgets document existing N+1 queries; raising one needs a reason.
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointStatementBudgetTest {
+
+    private static final List<String> DONOR_BLOOD_GROUPS = List.of("A+", "O+", "B-");
+    private static final List<String> REQUEST_BLOOD_GROUPS = List.of("AB+", "O-");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DonorRepository donorRepository;
+
+    @Autowired
+    private BloodRequestRepository bloodRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM blood_requests");
+        jdbcTemplate.update("DELETE FROM donors");
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(1L, LocalDate.now().atStartOfDay(), 365);
+        List<Donor> donors = new ArrayList<>();
+        List<BloodRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Donor donor = generator.donor(i);
+            donor.setBloodGroup(DONOR_BLOOD_GROUPS.get(i % DONOR_BLOOD_GROUPS.size()));
+            donors.add(donor);
+
+            BloodRequest request = generator.bloodRequest(i);
+            request.setBloodGroup(REQUEST_BLOOD_GROUPS.get(i % REQUEST_BLOOD_GROUPS.size()));
+            request.setStatus(BloodRequest.RequestStatus.PENDING);
+            requests.add(request);
+        }
+        donorRepository.saveAll(donors);
+        bloodRequestRepository.saveAll(requests);
+    }
+
+    @Test
+    void donorStatisticsIssuesTwoQueriesPerBloodGroup() throws Exception {
+        SqlStatementBudget budget = SqlStatementBudget.of(() ->
+                mockMvc.perform(get("/api/donors/statistics")).andExpect(status().isOk()));
+
+        // One grouped count, then an eligible and an available donor list per blood group
+        budget.hasAtMostStatements(1 + 2 * DONOR_BLOOD_GROUPS.size());
+        assertThat(budget.repeatedStatements(DONOR_BLOOD_GROUPS.size())).hasSize(2);
+    }
+
+    @Test
+    void bloodGroupRequestStatisticsIssuesTwoQueriesPerBloodGroup() throws Exception {
+        SqlStatementBudget.of(() ->
+                        mockMvc.perform(get("/api/requests/statistics/blood-groups")).andExpect(status().isOk()))
+                .hasAtMostStatements(1 + 2 * REQUEST_BLOOD_GROUPS.size())
+                .hasNoStatementRepeatedMoreThan(REQUEST_BLOOD_GROUPS.size());
+    }
+
+    @Test
+    void systemHealthStaysWithinBudget() throws Exception {
+        SqlStatementBudget.of(() -> mockMvc.perform(get("/api/dashboard/health")).andExpect(status().isOk()))
+                .hasAtMostStatements(3)
+                .hasNoStatementRepeatedMoreThan(1);
+    }
+}
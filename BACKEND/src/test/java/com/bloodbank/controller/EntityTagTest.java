@@ -0,0 +1,75 @@
+package com.bloodbank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.DonorDTO;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.repository.DonorRepository;
+import com.bloodbank.service.DonorService;
+import com.bloodbank.service.EntityTagService;
+import com.bloodbank.service.SyntheticDataGenerator;
+
+/**
+ * The ETag sent with a body describes that body, even when the body comes from a
+ * cache that has not caught up with the row yet
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EntityTagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DonorRepository donorRepository;
+
+    @Autowired
+    private DonorService donorService;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void donorTagMatchesTheCachedBody() throws Exception {
+        Donor donor = new SyntheticDataGenerator(35L, LocalDate.now().atStartOfDay(), 30).donor(0);
+        donor.setEmail("etag-" + System.nanoTime() + "@example.org");
+        Long id = donorRepository.save(donor).getId();
+        mockMvc.perform(get("/api/donors/{id}", id)).andExpect(status().isOk());
+
+        // Another writer moves the row on before this node's cache hears about it
+        LocalDateTime movedOn = LocalDateTime.now().plusMinutes(5);
+        jdbcTemplate.update("UPDATE donors SET updated_at = ? WHERE id = ?", Timestamp.valueOf(movedOn), id);
+
+        String sent = mockMvc.perform(get("/api/donors/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        DonorDTO.DonorResponse body = donorService.getDonorById(id).orElseThrow();
+        assertThat(sent).isEqualTo(entityTagService.getDonorTag(id, body.getUpdatedAt()))
+                .isNotEqualTo(entityTagService.getDonorTag(id, movedOn));
+
+        // Revalidating with that tag is answered from the same representation
+        mockMvc.perform(get("/api/donors/{id}", id).header(HttpHeaders.IF_NONE_MATCH, sent))
+                .andExpect(status().isNotModified());
+    }
+}
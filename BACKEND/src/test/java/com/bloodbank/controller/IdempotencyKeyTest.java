@@ -0,0 +1,110 @@
+package com.bloodbank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.service.IdempotencyService;
+
+/**
+ * Retries of POST /api/requests with the same Idempotency-Key replay the first response,
+ * and never run the request a second time
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyKeyTest {
+
+    private static final String BODY = """
+            {"requesterName": "Asha Rao", "contactEmail": "asha@example.org", "contactPhone": "9876543210",
+             "bloodGroup": "O+", "unitsRequested": 2, "urgencyLevel": "URGENT",
+             "hospitalName": "Pune General Hospital 1", "patientName": "Ravi Rao"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+        jdbcTemplate.update("DELETE FROM blood_requests");
+    }
+
+    @Test
+    void retryReplaysStoredResponseWithoutCreatingAnotherRequest() throws Exception {
+        MvcResult first = mockMvc.perform(create("retry-1", BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+        MvcResult retry = mockMvc.perform(create("retry-1", BODY))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyKeyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blood_requests", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void keyReusedForDifferentBodyIsRejected() throws Exception {
+        mockMvc.perform(create("reuse-1", BODY)).andExpect(status().isCreated());
+        mockMvc.perform(create("reuse-1", BODY.replace("\"unitsRequested\": 2", "\"unitsRequested\": 3")))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blood_requests", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void responseThatCannotBeStoredKeepsTheKeyClaimed() throws Exception {
+        doThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .when(idempotencyService).complete(eq("store-fails-1"), any(), anyInt(), any());
+
+        // The request itself committed, so a retry must not run it again
+        mockMvc.perform(create("store-fails-1", BODY)).andExpect(status().isCreated());
+        mockMvc.perform(create("store-fails-1", BODY)).andExpect(status().isConflict());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blood_requests", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void requestsWithoutKeyAreNotDeduplicated() throws Exception {
+        mockMvc.perform(post("/api/requests").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/requests").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blood_requests", Integer.class)).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequestBuilder create(String key, String body) {
+        return post("/api/requests")
+                .header(IdempotencyKeyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
@@ -0,0 +1,71 @@
+package com.bloodbank.diagnostics;
+
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Test assertions on the SQL statements an action issues, for pinning the
+ * statement budget of an endpoint:
+ *
+ * <pre>
+ * SqlStatementBudget.of(() -&gt; mockMvc.perform(get("/api/donors/statistics")))
+ *         .hasAtMostStatements(7)
+ *         .hasNoStatementRepeatedMoreThan(3);
+ * </pre>
+ *
+ * Counts come from Hibernate's statement inspector, so the action must run on the
+ * calling thread (MockMvc or a direct service call, not a real HTTP client).
+ */
+public final class SqlStatementBudget {
+    
+    private final SqlStatistics.Scope scope;
+    
+    private SqlStatementBudget(SqlStatistics.Scope scope) {
+        this.scope = scope;
+    }
+    
+    public static SqlStatementBudget of(Action action) throws Exception {
+        try (SqlStatistics.Scope scope = SqlStatistics.open()) {
+            action.run();
+            return new SqlStatementBudget(scope);
+        }
+    }
+    
+    public SqlStatementBudget hasAtMostStatements(int budget) {
+        if (scope.getStatementCount() > budget) {
+            fail("Expected at most %d SQL statements but %d were issued:%n%s",
+                    budget, scope.getStatementCount(), describe(scope.getStatementsByFingerprint()));
+        }
+        return this;
+    }
+    
+    public SqlStatementBudget hasNoStatementRepeatedMoreThan(int maxRepeats) {
+        Map<String, Integer> repeated = scope.getRepeatedStatements(maxRepeats + 1);
+        if (!repeated.isEmpty()) {
+            fail("Expected no statement repeated more than %d times (N+1) but found:%n%s",
+                    maxRepeats, describe(repeated));
+        }
+        return this;
+    }
+    
+    public int statementCount() {
+        return scope.getStatementCount();
+    }
+    
+    public Map<String, Integer> repeatedStatements(int minRepeats) {
+        return scope.getRepeatedStatements(minRepeats);
+    }
+    
+    private static String describe(Map<String, Integer> statements) {
+        return statements.entrySet().stream()
+                .map(entry -> String.format("  %3dx %s", entry.getValue(), entry.getKey()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+    
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
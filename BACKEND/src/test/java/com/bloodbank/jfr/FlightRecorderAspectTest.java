@@ -0,0 +1,58 @@
+package com.bloodbank.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.BloodInventoryDTO;
+import com.bloodbank.service.BloodInventoryService;
+
+/**
+ * Advised service methods still run, and emit their event, while the JFR events are enabled
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class FlightRecorderAspectTest {
+
+    private static final String BLOOD_GROUP = "A+";
+
+    @Autowired
+    private BloodInventoryService bloodInventoryService;
+
+    @Test
+    void addUnitsIsRecordedAsInventoryMutation() throws Exception {
+        bloodInventoryService.initializeBloodGroups();
+        Path file = Files.createTempFile("bloodbank-aspect", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(InventoryMutationEvent.NAME);
+            recording.start();
+
+            bloodInventoryService.addUnits(BLOOD_GROUP, new BloodInventoryDTO.UnitsUpdateRequest(2, "JFR test"));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(InventoryMutationEvent.NAME))
+                .toList();
+        Files.deleteIfExists(file);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("operation")).isEqualTo("ADD_UNITS");
+        assertThat(events.get(0).getString("bloodGroup")).isEqualTo(BLOOD_GROUP);
+        assertThat(events.get(0).getInt("units")).isEqualTo(2);
+        assertThat(events.get(0).getString("outcome")).isEqualTo(BloodBankEvent.OK);
+    }
+}
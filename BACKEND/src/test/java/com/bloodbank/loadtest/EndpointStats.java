@@ -0,0 +1,57 @@
+package com.bloodbank.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and failures recorded for one endpoint during the measured phase
+ */
+class EndpointStats {
+
+    private final String name;
+    private final String route;
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    EndpointStats(String name, String route) {
+        this.name = name;
+        this.route = route;
+    }
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Summary(name, route, count, errors, count / measuredSeconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                percentileMillis(sorted, 0.999), count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    /**
+     * Nearest-rank percentile
+     */
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    record Summary(String name, String route, long count, long errors, double throughput,
+                   double p50, double p99, double p999, double max) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+}
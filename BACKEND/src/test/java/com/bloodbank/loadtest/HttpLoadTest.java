@@ -0,0 +1,402 @@
+package com.bloodbank.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.BloodInventoryDTO;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.service.BloodInventoryService;
+import com.bloodbank.service.SyntheticDataGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * End-to-end HTTP load test. Boots the backend on a random port against an
+ * in-process H2 database loaded by the "seed" profile, replays a weighted mix of
+ * dashboard polling, searches, donor registration, request creation and
+ * approve-fulfill, then reports throughput and p50/p99/p99.9 per endpoint and
+ * fails when an SLO from loadtest-slo.properties is breached.
+ *
+ * Run with {@code mvn test -Ploadtest}. Knobs (system properties):
+ * loadtest.users (virtual users, default 32), loadtest.rate (total requests/s,
+ * 0 = closed loop), loadtest.warmup-seconds (15), loadtest.duration-seconds (60),
+ * loadtest.donors / loadtest.requests (dataset size) and loadtest.slo.&lt;key&gt;
+ * to override a single SLO. The report is also written to target/loadtest-report.json.
+ */
+@Tag("loadtest")
+@SpringBootTest(
+    classes = BloodBankBackendApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        // The seed profile is meant for the headless loader; this run keeps the web server and schedulers
+        "spring.main.web-application-type=servlet",
+        "scheduling.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "seed.donors=${loadtest.donors:50000}",
+        "seed.requests=${loadtest.requests:200000}",
+        "logging.level.com.bloodbank=WARN"
+    })
+@ActiveProfiles({"test", "seed"})
+class HttpLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 32);
+    private static final int RATE = Integer.getInteger("loadtest.rate", 0);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 15);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+    private static final int MIN_SAMPLES_FOR_P999 = 1000;
+
+    private static final String[] BLOOD_GROUPS = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BloodInventoryService bloodInventoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * Payloads come from a different seed than the loaded dataset, so registrations never collide
+     */
+    private final SyntheticDataGenerator payloads =
+            new SyntheticDataGenerator(7L, LocalDate.now().atStartOfDay(), 365);
+    private final AtomicLong payloadIndex = new AtomicLong();
+
+    private final List<Operation> operations = List.of(
+        new Operation("dashboard-stats", "GET /api/dashboard/stats", 20, this::dashboardStats),
+        new Operation("inventory-list", "GET /api/inventory", 10, this::inventoryList),
+        new Operation("request-create", "POST /api/requests", 15, this::createRequest),
+        new Operation("request-approve-fulfill", "PUT /api/requests/{id}/approve-fulfill", 7, this::approveAndFulfill),
+        new Operation("request-by-id", "GET /api/requests/{id}", 7, this::requestById),
+        new Operation("request-search-hospital", "GET /api/requests/search/hospital", 8, this::searchRequestsByHospital),
+        new Operation("request-pending", "GET /api/requests/pending", 6, this::pendingRequests),
+        new Operation("donor-register", "POST /api/donors", 8, this::registerDonor),
+        new Operation("donor-by-id", "GET /api/donors/{id}", 5, this::donorById),
+        new Operation("donor-search", "GET /api/donors/search", 8, this::searchDonors),
+        new Operation("donor-eligible", "GET /api/donors/eligible/blood-group/{bloodGroup}", 6, this::eligibleDonors));
+
+    @Test
+    void latencyStaysWithinSlo() throws Exception {
+        stockInventory();
+
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        operations.forEach(operation -> stats.put(operation.name(), new EndpointStats(operation.name(), operation.route())));
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        ExecutorService users = Executors.newFixedThreadPool(USERS);
+        for (int user = 0; user < USERS; user++) {
+            long userSeed = user;
+            users.submit(() -> runUser(new VirtualUser(new SplittableRandom(userSeed)), stats, measureFrom, measureUntil));
+        }
+        users.shutdown();
+        assertThat(users.awaitTermination(WARMUP_SECONDS + DURATION_SECONDS + 60L, TimeUnit.SECONDS)).isTrue();
+
+        List<EndpointStats.Summary> summaries = stats.values().stream()
+                .map(endpoint -> endpoint.summarize(DURATION_SECONDS))
+                .toList();
+        printReport(summaries);
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(Files.createDirectories(Path.of("target")).resolve("loadtest-report.json").toFile(), summaries);
+
+        assertThat(sloBreaches(summaries)).as("SLO breaches").isEmpty();
+    }
+
+    /**
+     * One virtual user. With a configured rate every call has an intended start
+     * time and latency is measured from it, so a stalled server is not hidden by
+     * the user waiting for it (coordinated omission).
+     */
+    private void runUser(VirtualUser user, Map<String, EndpointStats> stats, long measureFrom, long measureUntil) {
+        long intervalNanos = RATE > 0 ? TimeUnit.SECONDS.toNanos(USERS) / RATE : 0;
+        long intended = System.nanoTime();
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+
+        while (intended < measureUntil) {
+            if (intervalNanos > 0) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    sleepNanos(wait);
+                }
+            } else {
+                intended = System.nanoTime();
+            }
+
+            Operation operation = pick(user.random, totalWeight);
+            boolean success;
+            try {
+                success = operation.call().execute(user);
+            } catch (IOException | RuntimeException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (intended >= measureFrom) {
+                stats.get(operation.name()).record(finished - intended, success);
+            }
+            intended = intervalNanos > 0 ? intended + intervalNanos : finished;
+        }
+    }
+
+    private boolean dashboardStats(VirtualUser user) throws IOException, InterruptedException {
+        return get("/api/dashboard/stats").statusCode() == 200;
+    }
+
+    /**
+     * Polls like a browser, revalidating with the last ETag it saw
+     */
+    private boolean inventoryList(VirtualUser user) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/inventory")).GET();
+        if (user.inventoryTag != null) {
+            request.header("If-None-Match", user.inventoryTag);
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        response.headers().firstValue("ETag").ifPresent(tag -> user.inventoryTag = tag);
+        return response.statusCode() == 200 || response.statusCode() == 304;
+    }
+
+    private boolean createRequest(VirtualUser user) throws IOException, InterruptedException {
+        BloodRequest request = payloads.bloodRequest(payloadIndex.getAndIncrement());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("requesterName", request.getRequesterName());
+        body.put("contactEmail", request.getContactEmail());
+        body.put("contactPhone", request.getContactPhone());
+        body.put("bloodGroup", request.getBloodGroup());
+        body.put("unitsRequested", request.getUnitsRequested());
+        body.put("urgencyLevel", request.getUrgencyLevel());
+        body.put("hospitalName", request.getHospitalName());
+        body.put("patientName", request.getPatientName());
+        body.put("medicalReason", request.getMedicalReason());
+
+        HttpResponse<byte[]> response = send("POST", "/api/requests", body);
+        if (response.statusCode() != 201 && response.statusCode() != 200) {
+            return false;
+        }
+        user.pendingRequestIds.addLast(objectMapper.readTree(response.body()).path("data").path("id").asLong());
+        return true;
+    }
+
+    /**
+     * Approves one of the user's own pending requests, or creates one when it has none
+     */
+    private boolean approveAndFulfill(VirtualUser user) throws IOException, InterruptedException {
+        Long id = user.pendingRequestIds.pollFirst();
+        if (id == null) {
+            return createRequest(user);
+        }
+        Map<String, Object> body = Map.of("status", "APPROVED", "processedBy", "loadtest", "adminNotes", "Load test");
+        return send("PUT", "/api/requests/" + id + "/approve-fulfill", body).statusCode() == 200;
+    }
+
+    private boolean requestById(VirtualUser user) throws IOException, InterruptedException {
+        return get("/api/requests/" + (1 + user.random.nextLong(seededRequests()))).statusCode() == 200;
+    }
+
+    private boolean searchRequestsByHospital(VirtualUser user) throws IOException, InterruptedException {
+        String hospital = payloads.bloodRequest(user.random.nextLong(1_000_000)).getHospitalName();
+        return get("/api/requests/search/hospital?hospitalName=" + encode(hospital)).statusCode() == 200;
+    }
+
+    private boolean pendingRequests(VirtualUser user) throws IOException, InterruptedException {
+        return get("/api/requests/pending").statusCode() == 200;
+    }
+
+    private boolean registerDonor(VirtualUser user) throws IOException, InterruptedException {
+        Donor donor = payloads.donor(payloadIndex.getAndIncrement());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", donor.getName());
+        body.put("email", donor.getEmail());
+        body.put("phone", donor.getPhone());
+        body.put("bloodGroup", donor.getBloodGroup());
+        body.put("lastDonationDate", donor.getLastDonationDate() != null ? donor.getLastDonationDate().toString() : null);
+        body.put("age", donor.getAge());
+        body.put("weight", donor.getWeight());
+        body.put("address", donor.getAddress());
+
+        int status = send("POST", "/api/donors", body).statusCode();
+        return status == 201 || status == 200;
+    }
+
+    private boolean donorById(VirtualUser user) throws IOException, InterruptedException {
+        return get("/api/donors/" + (1 + user.random.nextLong(seededDonors()))).statusCode() == 200;
+    }
+
+    private boolean searchDonors(VirtualUser user) throws IOException, InterruptedException {
+        String firstName = payloads.donor(user.random.nextLong(1_000_000)).getName().split(" ")[0];
+        return get("/api/donors/search?name=" + encode(firstName)).statusCode() == 200;
+    }
+
+    private boolean eligibleDonors(VirtualUser user) throws IOException, InterruptedException {
+        String bloodGroup = BLOOD_GROUPS[user.random.nextInt(BLOOD_GROUPS.length)];
+        return get("/api/donors/eligible/blood-group/" + encode(bloodGroup)).statusCode() == 200;
+    }
+
+    /**
+     * Raise every blood group's capacity and stock so approve-fulfill measures the
+     * happy path instead of running out of units within seconds
+     */
+    private void stockInventory() {
+        for (BloodInventoryDTO.BloodInventorySummary inventory : bloodInventoryService.getAllBloodInventories()) {
+            BloodInventoryDTO.BloodInventoryUpdateRequest update = new BloodInventoryDTO.BloodInventoryUpdateRequest();
+            update.setMaximumCapacity(10_000_000);
+            update.setUnitsAvailable(5_000_000);
+            bloodInventoryService.updateBloodInventory(inventory.getId(), update);
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Operation pick(SplittableRandom random, int totalWeight) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private void printReport(List<EndpointStats.Summary> summaries) {
+        System.out.printf("%n%-25s %-50s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "route", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats.Summary summary : summaries) {
+            System.out.printf("%-25s %-50s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    summary.name(), summary.route(), summary.count(), summary.errors(), summary.throughput(),
+                    summary.p50(), summary.p99(), summary.p999(), summary.max());
+        }
+        System.out.printf("total: %.1f req/s over %d s with %d users%n",
+                summaries.stream().mapToDouble(EndpointStats.Summary::throughput).sum(), DURATION_SECONDS, USERS);
+    }
+
+    /**
+     * Compare every endpoint with its SLOs; "default.*" keys apply where no endpoint key is set
+     */
+    private List<String> sloBreaches(List<EndpointStats.Summary> summaries) throws IOException {
+        Properties slo = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/loadtest-slo.properties")) {
+            if (in != null) {
+                slo.load(in);
+            }
+        }
+
+        List<String> breaches = new ArrayList<>();
+        for (EndpointStats.Summary summary : summaries) {
+            if (summary.count() == 0) {
+                breaches.add(summary.name() + ": no requests completed");
+                continue;
+            }
+            check(breaches, slo, summary, "p50", summary.p50());
+            check(breaches, slo, summary, "p99", summary.p99());
+            if (summary.count() >= MIN_SAMPLES_FOR_P999) {
+                check(breaches, slo, summary, "p999", summary.p999());
+            }
+            check(breaches, slo, summary, "error-rate", summary.errorRate());
+        }
+        return breaches;
+    }
+
+    private void check(List<String> breaches, Properties slo, EndpointStats.Summary summary, String metric, double actual) {
+        String key = summary.name() + "." + metric;
+        String limit = System.getProperty("loadtest.slo." + key,
+                slo.getProperty(key, System.getProperty("loadtest.slo.default." + metric, slo.getProperty("default." + metric))));
+        if (limit != null && actual > Double.parseDouble(limit)) {
+            breaches.add(String.format("%s %s = %.3f exceeds %s", summary.name(), metric, actual, limit));
+        }
+    }
+
+    private static long seededDonors() {
+        return Long.getLong("loadtest.donors", 50_000);
+    }
+
+    private static long seededRequests() {
+        return Long.getLong("loadtest.requests", 200_000);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class VirtualUser {
+        private final SplittableRandom random;
+        private final Deque<Long> pendingRequestIds = new ArrayDeque<>();
+        private String inventoryTag;
+
+        private VirtualUser(SplittableRandom random) {
+            this.random = random;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        boolean execute(VirtualUser user) throws IOException, InterruptedException;
+    }
+
+    private record Operation(String name, String route, int weight, Call call) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.bloodbank.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.BloodInventoryDTO;
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.service.BloodInventoryService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies that the second-level and query caches never serve stale inventory
+ * after units are added or removed.
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class BloodInventoryCacheCoherencyTest {
+
+    @Autowired
+    private BloodInventoryService bloodInventoryService;
+
+    @Autowired
+    private BloodInventoryRepository bloodInventoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        bloodInventoryService.initializeBloodGroups();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void finderIsServedFromQueryCache() {
+        bloodInventoryRepository.findByBloodGroup("O-");
+        bloodInventoryRepository.findByBloodGroup("O-");
+
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void addUnitsIsVisibleThroughCachedFinder() {
+        int before = loadUnits("A+");
+
+        bloodInventoryService.addUnits("A+", new BloodInventoryDTO.UnitsUpdateRequest(10, "Cache coherency test"));
+
+        assertThat(loadUnits("A+")).isEqualTo(before + 10);
+        assertThat(bloodInventoryService.getBloodInventoryByBloodGroup("A+"))
+                .hasValueSatisfying(response -> assertThat(response.getUnitsAvailable()).isEqualTo(before + 10));
+        assertThat(entityManagerFactory.getCache().contains(BloodInventory.class, loadId("A+"))).isTrue();
+    }
+
+    @Test
+    void removeUnitsIsVisibleThroughCachedFinder() {
+        bloodInventoryService.addUnits("B+", new BloodInventoryDTO.UnitsUpdateRequest(30, "Cache coherency test"));
+        int before = loadUnits("B+");
+
+        bloodInventoryService.removeUnits("B+", new BloodInventoryDTO.UnitsUpdateRequest(10, "Cache coherency test"));
+
+        assertThat(loadUnits("B+")).isEqualTo(before - 10);
+        assertThat(bloodInventoryRepository.getTotalUnitsAvailable()).isEqualTo(
+                bloodInventoryRepository.findAll().stream().mapToLong(BloodInventory::getUnitsAvailable).sum());
+        assertThat(bloodInventoryRepository.findCriticalShortages())
+                .noneMatch(inventory -> inventory.getBloodGroup().equals("B+"));
+    }
+
+    private int loadUnits(String bloodGroup) {
+        return bloodInventoryRepository.findByBloodGroup(bloodGroup).orElseThrow().getUnitsAvailable();
+    }
+
+    private Long loadId(String bloodGroup) {
+        return bloodInventoryRepository.findByBloodGroup(bloodGroup).orElseThrow().getId();
+    }
+}
@@ -0,0 +1,116 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.BloodInventoryDTO;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.exception.CapacityExceededException;
+import com.bloodbank.repository.DonorRepository;
+
+/**
+ * A drive manifest lands in every blood group at once, links donors, and is all-or-nothing
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class BulkIntakeTest {
+
+    private static final String FIRST_GROUP = "A-";
+    private static final String SECOND_GROUP = "B-";
+
+    @Autowired
+    private BloodInventoryService bloodInventoryService;
+
+
+    @Autowired
+    private DonorRepository donorRepository;
+
+    @Autowired
+    private StockFixture stockFixture;
+
+    @BeforeEach
+    void setUp() {
+        stockFixture.resetStock(FIRST_GROUP, 0);
+        stockFixture.resetStock(SECOND_GROUP, 0);
+    }
+
+    @Test
+    void addsEveryGroupAndMovesDonationDatesForward() {
+        LocalDate driveDate = LocalDate.now().minusDays(1);
+        Donor firstTimer = donor(FIRST_GROUP, null);
+        Donor donatedSince = donor(SECOND_GROUP, LocalDate.now());
+
+        List<BloodInventoryDTO.IntakeBag> bags = new ArrayList<>();
+        bags.add(new BloodInventoryDTO.IntakeBag(FIRST_GROUP, firstTimer.getId()));
+        bags.add(new BloodInventoryDTO.IntakeBag(FIRST_GROUP, null));
+        bags.add(new BloodInventoryDTO.IntakeBag(FIRST_GROUP, null));
+        bags.add(new BloodInventoryDTO.IntakeBag(SECOND_GROUP, donatedSince.getId()));
+        bags.add(new BloodInventoryDTO.IntakeBag(SECOND_GROUP, null));
+
+        BloodInventoryDTO.IntakeResponse response = bloodInventoryService.intake(
+                new BloodInventoryDTO.IntakeManifest(bags, driveDate, "Drive return", "admin"));
+
+        assertThat(response.getBagsReceived()).isEqualTo(5);
+        assertThat(response.getUnitsByBloodGroup()).containsEntry(FIRST_GROUP, 3).containsEntry(SECOND_GROUP, 2);
+        assertThat(response.getDonorsUpdated()).isEqualTo(1);
+        assertThat(response.getInventories())
+                .extracting(BloodInventoryDTO.BloodInventoryResponse::getUnitsAvailable)
+                .containsExactly(3, 2);
+        assertThat(unitsAvailable(FIRST_GROUP)).isEqualTo(3);
+        assertThat(unitsAvailable(SECOND_GROUP)).isEqualTo(2);
+        assertThat(donorRepository.findById(firstTimer.getId()).orElseThrow().getLastDonationDate()).isEqualTo(driveDate);
+        assertThat(donorRepository.findById(donatedSince.getId()).orElseThrow().getLastDonationDate()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    void overCapacityGroupRejectsWholeManifest() {
+        Donor donor = donor(SECOND_GROUP, null);
+        int capacity = stockFixture.inventory(FIRST_GROUP).getMaximumCapacity();
+
+        List<BloodInventoryDTO.IntakeBag> bags = new ArrayList<>(
+                Collections.nCopies(capacity + 1, new BloodInventoryDTO.IntakeBag(FIRST_GROUP, null)));
+        bags.add(new BloodInventoryDTO.IntakeBag(SECOND_GROUP, donor.getId()));
+
+        assertThatThrownBy(() -> bloodInventoryService.intake(
+                new BloodInventoryDTO.IntakeManifest(bags, null, null, "admin")))
+                .isInstanceOf(CapacityExceededException.class)
+                .hasMessageContaining(FIRST_GROUP);
+
+        assertThat(unitsAvailable(FIRST_GROUP)).isZero();
+        assertThat(unitsAvailable(SECOND_GROUP)).isZero();
+        assertThat(donorRepository.findById(donor.getId()).orElseThrow().getLastDonationDate()).isNull();
+    }
+
+    @Test
+    void futureDonationDateIsRejected() {
+        Donor donor = donor(FIRST_GROUP, null);
+        List<BloodInventoryDTO.IntakeBag> bags = List.of(new BloodInventoryDTO.IntakeBag(FIRST_GROUP, donor.getId()));
+
+        assertThatThrownBy(() -> bloodInventoryService.intake(
+                new BloodInventoryDTO.IntakeManifest(bags, LocalDate.now().plusDays(1), null, "admin")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(unitsAvailable(FIRST_GROUP)).isZero();
+        assertThat(donorRepository.findById(donor.getId()).orElseThrow().getLastDonationDate()).isNull();
+    }
+
+    private Donor donor(String bloodGroup, LocalDate lastDonationDate) {
+        return stockFixture.donor(bloodGroup, lastDonationDate);
+    }
+
+    private int unitsAvailable(String bloodGroup) {
+        return stockFixture.unitsAvailable(bloodGroup);
+    }
+}
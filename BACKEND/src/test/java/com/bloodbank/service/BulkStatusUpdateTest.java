@@ -0,0 +1,109 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.BloodRequestDTO;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.repository.BloodRequestRepository;
+
+/**
+ * Bulk fulfilment hands out stock by urgency, reports every id and deducts each blood group once
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class BulkStatusUpdateTest {
+
+    private static final String BLOOD_GROUP = "AB-";
+
+    @Autowired
+    private BloodRequestService bloodRequestService;
+
+    @Autowired
+    private BloodRequestRepository bloodRequestRepository;
+
+    @Autowired
+    private StockFixture stockFixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM blood_requests");
+        stockFixture.resetStock(BLOOD_GROUP, 5);
+    }
+
+    @Test
+    void fulfilsMostUrgentRequestsThatFitAndReportsTheRest() {
+        BloodRequest normal = pending(BloodRequest.UrgencyLevel.NORMAL, 2);
+        BloodRequest emergency = pending(BloodRequest.UrgencyLevel.EMERGENCY, 3);
+        BloodRequest urgent = pending(BloodRequest.UrgencyLevel.URGENT, 2);
+        BloodRequest processed = pending(BloodRequest.UrgencyLevel.NORMAL, 1);
+        processed.setStatus(BloodRequest.RequestStatus.REJECTED);
+        bloodRequestRepository.save(processed);
+        long missingId = processed.getId() + 1000;
+
+        BloodRequestDTO.BulkStatusUpdateResponse response = bloodRequestService.bulkUpdateStatus(
+                new BloodRequestDTO.BulkStatusUpdate(
+                        List.of(normal.getId(), emergency.getId(), urgent.getId(), processed.getId(), missingId, normal.getId()),
+                        BloodRequest.RequestStatus.FULFILLED, "Bulk test", "admin"));
+
+        Map<Long, BloodRequestDTO.BulkItemOutcome> outcomes = response.getResults().stream()
+                .collect(Collectors.toMap(BloodRequestDTO.BulkItemResult::getId, BloodRequestDTO.BulkItemResult::getOutcome));
+        assertThat(response.getRequested()).isEqualTo(5);
+        assertThat(response.getUpdated()).isEqualTo(2);
+        assertThat(outcomes).containsEntry(emergency.getId(), BloodRequestDTO.BulkItemOutcome.UPDATED)
+                .containsEntry(urgent.getId(), BloodRequestDTO.BulkItemOutcome.UPDATED)
+                .containsEntry(normal.getId(), BloodRequestDTO.BulkItemOutcome.INSUFFICIENT_UNITS)
+                .containsEntry(processed.getId(), BloodRequestDTO.BulkItemOutcome.ALREADY_PROCESSED)
+                .containsEntry(missingId, BloodRequestDTO.BulkItemOutcome.NOT_FOUND);
+
+        Map<Long, BloodRequest> stored = bloodRequestRepository.findAllById(
+                        List.of(normal.getId(), emergency.getId(), urgent.getId())).stream()
+                .collect(Collectors.toMap(BloodRequest::getId, Function.identity()));
+        assertThat(stored.get(emergency.getId()).getStatus()).isEqualTo(BloodRequest.RequestStatus.FULFILLED);
+        assertThat(stored.get(urgent.getId()).getStatus()).isEqualTo(BloodRequest.RequestStatus.FULFILLED);
+        assertThat(stored.get(normal.getId()).getStatus()).isEqualTo(BloodRequest.RequestStatus.PENDING);
+        assertThat(unitsAvailable()).isZero();
+
+        Integer issueMovements = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_movements WHERE movement_type = 'ISSUE' AND request_id IN (?, ?)",
+                Integer.class, emergency.getId(), urgent.getId());
+        assertThat(issueMovements).isEqualTo(2);
+    }
+
+    @Test
+    void rejectionDoesNotTouchStock() {
+        BloodRequest first = pending(BloodRequest.UrgencyLevel.NORMAL, 4);
+        BloodRequest second = pending(BloodRequest.UrgencyLevel.URGENT, 4);
+
+        BloodRequestDTO.BulkStatusUpdateResponse response = bloodRequestService.bulkUpdateStatus(
+                new BloodRequestDTO.BulkStatusUpdate(List.of(first.getId(), second.getId()),
+                        BloodRequest.RequestStatus.REJECTED, null, "admin"));
+
+        assertThat(response.getUpdated()).isEqualTo(2);
+        assertThat(response.getFailed()).isZero();
+        assertThat(unitsAvailable()).isEqualTo(5);
+    }
+
+    private BloodRequest pending(BloodRequest.UrgencyLevel urgency, int units) {
+        return stockFixture.pendingRequest(BLOOD_GROUP, urgency, units);
+    }
+
+    private int unitsAvailable() {
+        return stockFixture.unitsAvailable(BLOOD_GROUP);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.ChangeEventDTO;
+import com.bloodbank.entity.ChangeEvent;
+import com.bloodbank.repository.ChangeEventRepository;
+
+/**
+ * A consumer that follows the change feed sees every event, including one whose
+ * transaction started first but committed after the consumer had moved on
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class ChangeEventServiceTest {
+
+    private static final long LATE_DONOR_ID = 900_001L;
+
+    private static final long EARLY_DONOR_ID = 900_002L;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void eventCommittedAfterTheConsumerReadIsNotSkipped() throws Exception {
+        changeEventService.publish();
+        Long latest = changeEventRepository.findLatestSequence();
+        long cursor = latest != null ? latest : 0L;
+
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Takes the lower id, then stays open while a later transaction commits
+            Future<?> longTransaction = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                changeEventService.record(ChangeEventService.DONOR, LATE_DONOR_ID, ChangeEvent.ChangeType.UPDATED, null);
+                recorded.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+
+            transactionTemplate.executeWithoutResult(status ->
+                    changeEventService.record(ChangeEventService.DONOR, EARLY_DONOR_ID, ChangeEvent.ChangeType.UPDATED, null));
+            changeEventService.publish();
+            ChangeEventDTO.ChangeFeed first = changeEventService.getChanges(cursor, null);
+            assertThat(donorIds(first)).contains(EARLY_DONOR_ID).doesNotContain(LATE_DONOR_ID);
+            cursor = first.getLastSequence();
+
+            release.countDown();
+            longTransaction.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        changeEventService.publish();
+        assertThat(donorIds(changeEventService.getChanges(cursor, null))).contains(LATE_DONOR_ID);
+    }
+
+    private List<Long> donorIds(ChangeEventDTO.ChangeFeed feed) {
+        return feed.getEvents().stream()
+                .filter(event -> ChangeEventService.DONOR.equals(event.getEntityType()))
+                .map(ChangeEventDTO.ChangeEventResponse::getEntityId)
+                .toList();
+    }
+}
@@ -0,0 +1,233 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.DonationDTO;
+import com.bloodbank.entity.Donation;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.repository.DonationRepository;
+import com.bloodbank.repository.DonorRepository;
+
+/**
+ * A donation moves the donor and the inventory together, or neither
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class DonationServiceTest {
+
+    private static final String BLOOD_GROUP = "O-";
+
+    private static final String OTHER_BLOOD_GROUP = "O+";
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private DonationInventoryApplier donationInventoryApplier;
+
+    @Autowired
+    private BloodInventoryService bloodInventoryService;
+
+    @Autowired
+    private DonorRepository donorRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StockFixture stockFixture;
+
+    @BeforeEach
+    void setUp() {
+        stockFixture.resetStock(BLOOD_GROUP, 0);
+    }
+
+    @Test
+    void immediateDonationUpdatesDonorAndInventory() {
+        Donor donor = donor(null);
+
+        DonationDTO.DonationResponse response = donationService.recordDonation(
+                request(donor, Donation.InventoryMode.IMMEDIATE));
+
+        assertThat(response.getInventoryApplied()).isTrue();
+        assertThat(response.getBloodGroup()).isEqualTo(BLOOD_GROUP);
+        assertThat(unitsAvailable()).isEqualTo(1);
+        assertThat(donorRepository.findById(donor.getId()).orElseThrow().getLastDonationDate()).isEqualTo(LocalDate.now());
+        Integer movements = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_movements WHERE movement_type = 'INTAKE' AND notes = ?",
+                Integer.class, "Donation #" + response.getId() + " at Test site");
+        assertThat(movements).isEqualTo(1);
+    }
+
+    @Test
+    void donorWithinDonationIntervalChangesNothing() {
+        LocalDate lastDonation = LocalDate.now().minusDays(10);
+        Donor donor = donor(lastDonation);
+
+        assertThatThrownBy(() -> donationService.recordDonation(request(donor, Donation.InventoryMode.IMMEDIATE)))
+                .isInstanceOf(InvalidStateException.class);
+
+        assertThat(unitsAvailable()).isZero();
+        assertThat(donorRepository.findById(donor.getId()).orElseThrow().getLastDonationDate()).isEqualTo(lastDonation);
+        assertThat(donationRepository.findByDonorIdOrderByDonationDateDescIdDesc(donor.getId())).isEmpty();
+    }
+
+    @Test
+    void concurrentDonationsBySameDonorRecordOnlyOne() throws Exception {
+        Donor donor = donor(null);
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Boolean> attempt = () -> {
+            start.await();
+            try {
+                donationService.recordDonation(request(donor, Donation.InventoryMode.IMMEDIATE));
+                return true;
+            } catch (InvalidStateException e) {
+                return false;
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(attempt));
+            results.add(executor.submit(attempt));
+            start.countDown();
+            assertThat(List.of(results.get(0).get(), results.get(1).get())).containsExactlyInAnyOrder(true, false);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(unitsAvailable()).isEqualTo(1);
+        assertThat(donationRepository.findByDonorIdOrderByDonationDateDescIdDesc(donor.getId())).hasSize(1);
+    }
+
+    @Test
+    void deferredDonationReachesInventoryWhenApplied() {
+        Donor first = donor(null);
+        Donor second = donor(null);
+
+        DonationDTO.DonationResponse firstResponse = donationService.recordDonation(
+                request(first, Donation.InventoryMode.DEFERRED));
+        DonationDTO.DonationResponse secondResponse = donationService.recordDonation(
+                request(second, Donation.InventoryMode.DEFERRED));
+
+        assertThat(firstResponse.getInventoryApplied()).isFalse();
+        assertThat(donorRepository.findById(first.getId()).orElseThrow().getLastDonationDate()).isEqualTo(LocalDate.now());
+
+        donationInventoryApplier.applyPending();
+
+        assertThat(unitsAvailable()).isEqualTo(2);
+        assertThat(donationService.getDonationById(firstResponse.getId()).getInventoryApplied()).isTrue();
+        assertThat(donationService.getDonationById(secondResponse.getId()).getInventoryApplied()).isTrue();
+    }
+
+    @Test
+    void deferredDonationDoesNotWaitForTheBloodGroupRows() throws Exception {
+        Donor donor = donor(null);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Another donation of the group holds its inventory row and DONATIONS buckets
+                bloodInventoryService.lockInventories(List.of(BLOOD_GROUP));
+                LocalDateTime minute = MetricRollup.Tier.MINUTE.truncate(LocalDateTime.now());
+                for (LocalDateTime bucketStart : List.of(minute, minute.plusMinutes(1))) {
+                    jdbcTemplate.update("INSERT INTO metric_rollups (tier, metric, blood_group, bucket_start, amount) "
+                            + "VALUES (?, ?, ?, ?, 0) ON DUPLICATE KEY UPDATE amount = amount",
+                            MetricRollup.Tier.MINUTE.name(), MetricRollup.Metric.DONATIONS.name(), BLOOD_GROUP,
+                            Timestamp.valueOf(bucketStart));
+                }
+
+                Future<DonationDTO.DonationResponse> deferred = executor.submit(() ->
+                        donationService.recordDonation(request(donor, Donation.InventoryMode.DEFERRED)));
+                try {
+                    assertThat(deferred.get(5, TimeUnit.SECONDS).getInventoryApplied()).isFalse();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Deferred donation waited for the blood group rows", e);
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        donationInventoryApplier.applyPending();
+        assertThat(unitsAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void bloodGroupAtCapacityDoesNotHoldBackOtherGroups() {
+        Donor full = donor(null);
+        Donor waiting = donor(null);
+        Donor other = stockFixture.donor(OTHER_BLOOD_GROUP, null);
+        int otherUnits = stockFixture.unitsAvailable(OTHER_BLOOD_GROUP);
+
+        List<Long> stuck = List.of(
+                donationService.recordDonation(request(full, Donation.InventoryMode.DEFERRED)).getId(),
+                donationService.recordDonation(request(waiting, Donation.InventoryMode.DEFERRED)).getId());
+        DonationDTO.DonationResponse otherResponse = donationService.recordDonation(
+                request(other, Donation.InventoryMode.DEFERRED));
+        jdbcTemplate.update("UPDATE blood_inventory SET maximum_capacity = 0 WHERE blood_group = ?", BLOOD_GROUP);
+        // The oldest batch is made up only of donations of the full group
+        Object batchSize = ReflectionTestUtils.getField(donationInventoryApplier, "batchSize");
+        ReflectionTestUtils.setField(donationInventoryApplier, "batchSize", stuck.size());
+        try {
+            donationInventoryApplier.applyPending();
+
+            assertThat(donationService.getDonationById(otherResponse.getId()).getInventoryApplied()).isTrue();
+            assertThat(stockFixture.unitsAvailable(OTHER_BLOOD_GROUP)).isEqualTo(otherUnits + 1);
+            assertThat(stuck).allSatisfy(id -> assertThat(donationService.getDonationById(id).getInventoryApplied()).isFalse());
+        } finally {
+            ReflectionTestUtils.setField(donationInventoryApplier, "batchSize", batchSize);
+            jdbcTemplate.update("UPDATE donations SET inventory_applied_at = CURRENT_TIMESTAMP WHERE id IN (?, ?)",
+                    stuck.get(0), stuck.get(1));
+            stockFixture.resetStock(BLOOD_GROUP, 0);
+        }
+    }
+
+    private DonationDTO.DonationCreateRequest request(Donor donor, Donation.InventoryMode inventoryMode) {
+        DonationDTO.DonationCreateRequest request = new DonationDTO.DonationCreateRequest();
+        request.setDonorId(donor.getId());
+        request.setCollectionSite("Test site");
+        request.setInventoryMode(inventoryMode);
+        request.setRecordedBy("nurse");
+        return request;
+    }
+
+    private Donor donor(LocalDate lastDonationDate) {
+        return stockFixture.donor(BLOOD_GROUP, lastDonationDate);
+    }
+
+    private int unitsAvailable() {
+        return stockFixture.unitsAvailable(BLOOD_GROUP);
+    }
+}
@@ -0,0 +1,106 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.ForecastDTO;
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.DemandForecast;
+
+/**
+ * Smoothing and reorder-point arithmetic with the default parameters
+ * (alpha 0.3, gamma 0.2, error smoothing 0.1, 3 days lead time, z 1.65),
+ * and a refresh that runs on several nodes at once
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class ForecastServiceTest {
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void smoothingAndReorderPointFollowTheModel() {
+        ForecastService target = AopTestUtils.getTargetObject(forecastService);
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.previous(DayOfWeek.MONDAY));
+        DemandForecast forecast = new DemandForecast();
+
+        // The first day only sets the level
+        target.observe(forecast, monday, 10);
+        assertThat(forecast.getLevel()).isEqualTo(10.0);
+        assertThat(forecast.getMeanSquaredError()).isZero();
+
+        // Error 20 - 10 = 10; level 0.3 * 20 + 0.7 * 10 = 13; Tuesday index 0.2 * (20 - 13) = 1.4
+        target.observe(forecast, monday.plusDays(1), 20);
+        assertThat(forecast.getMeanSquaredError()).isCloseTo(10.0, within(1e-9));
+        assertThat(forecast.getLevel()).isCloseTo(13.0, within(1e-9));
+        assertThat(forecast.getSeasonalArray()).containsExactly(0, 1.4, 0, 0, 0, 0, 0);
+        assertThat(forecast.getObservations()).isEqualTo(2);
+        assertThat(forecast.getLastObservedDate()).isEqualTo(monday.plusDays(1));
+
+        // Lead time Wednesday to Friday: 3 * 13 = 39; safety stock 1.65 * sqrt(10) * sqrt(3) = 9.04
+        target.updateReorderPoint(forecast, monday.plusDays(2));
+        assertThat(forecast.getDailyDemand()).isCloseTo((7 * 13 + 1.4) / 7, within(1e-9));
+        assertThat(forecast.getLeadTimeDemand()).isCloseTo(39.0, within(1e-9));
+        assertThat(forecast.getSafetyStock()).isEqualTo(10);
+        assertThat(forecast.getReorderPoint()).isEqualTo(49);
+
+        // Units on hold do not count as cover
+        BloodInventory inventory = new BloodInventory();
+        inventory.setUnitsAvailable(60);
+        inventory.setUnitsReserved(20);
+        ForecastDTO.ForecastResponse response = target.convertToResponse(forecast, inventory);
+        assertThat(response.getUnitsFree()).isEqualTo(40);
+        assertThat(response.getDaysOfCover()).isCloseTo(40 / forecast.getDailyDemand(), within(1e-9));
+        assertThat(response.getBelowReorderPoint()).isTrue();
+    }
+
+    @Test
+    void concurrentRefreshesCreateOneForecastPerBloodGroup() throws Exception {
+        jdbcTemplate.update("DELETE FROM demand_forecasts");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> refreshes = new ArrayList<>();
+            for (int node = 0; node < 2; node++) {
+                refreshes.add(executor.submit(() -> {
+                    start.await();
+                    forecastService.refreshForecasts();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> refresh : refreshes) {
+                refresh.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> bloodGroups = jdbcTemplate.queryForList("SELECT blood_group FROM demand_forecasts", String.class);
+        assertThat(bloodGroups).hasSameSizeAs(BloodCompatibility.ALL_BLOOD_GROUPS).doesNotHaveDuplicates();
+        List<Long> observations = jdbcTemplate.queryForList("SELECT observations FROM demand_forecasts", Long.class);
+        assertThat(observations).containsOnly(90L);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.entity.InventoryMovement;
+
+/**
+ * Ledger movements carry the time they were written at commit, so a snapshot's
+ * settle window cannot be outrun by a long transaction, and stock that predates
+ * the ledger is brought in once as an opening balance
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class InventoryLedgerServiceTest {
+
+    private static final String BLOOD_GROUP = "AB-";
+
+    private static final String UNLEDGERED_BLOOD_GROUP = "B-";
+
+    @Autowired
+    private InventoryLedgerService inventoryLedgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BloodInventoryService bloodInventoryService;
+
+    @Autowired
+    private StockFixture stockFixture;
+
+    @Test
+    void movementIsStampedWhenItIsWritten() {
+        String notes = "Long transaction " + System.nanoTime();
+        LocalDateTime recordedAt = transactionTemplate.execute(status -> {
+            inventoryLedgerService.recordMovement(BLOOD_GROUP, 1, InventoryMovement.MovementType.ADJUSTMENT,
+                    null, "Test", notes);
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return now;
+        });
+
+        List<LocalDateTime> createdAt = jdbcTemplate.queryForList(
+                "SELECT created_at FROM inventory_movements WHERE notes = ?", LocalDateTime.class, notes);
+        assertThat(createdAt).singleElement().satisfies(time -> assertThat(time).isAfter(recordedAt.plusNanos(150_000_000L)));
+    }
+
+    @Test
+    void stockWithoutMovementsGetsOneOpeningBalance() {
+        // Stock written before the ledger existed
+        stockFixture.resetStock(UNLEDGERED_BLOOD_GROUP, 17);
+        jdbcTemplate.update("DELETE FROM inventory_snapshots WHERE blood_group = ?", UNLEDGERED_BLOOD_GROUP);
+        jdbcTemplate.update("DELETE FROM inventory_movements WHERE blood_group = ?", UNLEDGERED_BLOOD_GROUP);
+        assertThat(inventoryLedgerService.getBalanceAt(UNLEDGERED_BLOOD_GROUP, null).getBalance()).isZero();
+
+        bloodInventoryService.recordOpeningBalances();
+        bloodInventoryService.recordOpeningBalances();
+
+        List<String> movements = jdbcTemplate.queryForList(
+                "SELECT movement_type FROM inventory_movements WHERE blood_group = ?", String.class, UNLEDGERED_BLOOD_GROUP);
+        assertThat(movements).containsExactly(InventoryMovement.MovementType.OPENING.name());
+        assertThat(inventoryLedgerService.getBalanceAt(UNLEDGERED_BLOOD_GROUP, null).getBalance()).isEqualTo(17);
+    }
+}
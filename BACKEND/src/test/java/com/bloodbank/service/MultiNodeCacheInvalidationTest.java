@@ -0,0 +1,124 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.IntSupplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.BloodInventoryDTO;
+import com.bloodbank.repository.BloodInventoryRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs two application contexts against one database and verifies that a write
+ * on one node evicts the read cache and the Hibernate second-level and query caches
+ * of the other through the invalidation log.
+ */
+class MultiNodeCacheInvalidationTest {
+
+    private static final String DATABASE_URL =
+            "jdbc:h2:mem:multinode;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path cacheConfigDirectory;
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() throws IOException {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void removeUnitsOnOneNodeEvictsPeerCache() throws InterruptedException {
+        BloodInventoryService inventoryA = nodeA.getBean(BloodInventoryService.class);
+        BloodInventoryService inventoryB = nodeB.getBean(BloodInventoryService.class);
+
+        inventoryA.initializeBloodGroups();
+        inventoryA.addUnits("O+", new BloodInventoryDTO.UnitsUpdateRequest(40, "Multi-node test"));
+        IntSupplier unitsSeenByB = () -> inventoryB.getBloodInventoryByBloodGroup("O+").orElseThrow().getUnitsAvailable();
+
+        awaitUnits(unitsSeenByB, 40);
+        inventoryA.removeUnits("O+", new BloodInventoryDTO.UnitsUpdateRequest(15, "Multi-node test"));
+
+        awaitUnits(unitsSeenByB, 25);
+    }
+
+    @Test
+    void removeUnitsOnOneNodeEvictsPeerSecondLevelCache() throws InterruptedException {
+        BloodInventoryService inventoryA = nodeA.getBean(BloodInventoryService.class);
+        BloodInventoryRepository repositoryB = nodeB.getBean(BloodInventoryRepository.class);
+        Statistics statisticsB = nodeB.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        inventoryA.initializeBloodGroups();
+        inventoryA.addUnits("AB+", new BloodInventoryDTO.UnitsUpdateRequest(40, "Multi-node test"));
+        // Bypasses the Spring read cache, so node B answers from its query and entity caches
+        IntSupplier unitsSeenByB = () -> repositoryB.findByBloodGroup("AB+").orElseThrow().getUnitsAvailable();
+
+        awaitUnits(unitsSeenByB, 40);
+        statisticsB.clear();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (statisticsB.getQueryCacheHitCount() == 0 && System.currentTimeMillis() < deadline) {
+            assertThat(unitsSeenByB.getAsInt()).isEqualTo(40);
+            Thread.sleep(50);
+        }
+        assertThat(statisticsB.getQueryCacheHitCount()).isPositive();
+
+        inventoryA.removeUnits("AB+", new BloodInventoryDTO.UnitsUpdateRequest(15, "Multi-node test"));
+
+        awaitUnits(unitsSeenByB, 25);
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId) throws IOException {
+        // The JCache provider keeps one cache manager per configuration URI, so each node gets its own copy
+        Path cacheConfig = cacheConfigDirectory.resolve(nodeId + ".conf");
+        try (InputStream source = getClass().getResourceAsStream("/hibernate-cache.conf")) {
+            Files.copy(source, cacheConfig);
+        }
+        return new SpringApplicationBuilder(BloodBankBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                    "--spring.datasource.url=" + DATABASE_URL,
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=update",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.properties.hibernate.javax.cache.uri=" + cacheConfig.toUri(),
+                    "--spring.jpa.properties.hibernate.generate_statistics=true",
+                    "--spring.datasource.hikari.pool-name=" + nodeId,
+                    "--cache.invalidation.node-id=" + nodeId,
+                    "--cache.invalidation.poll-interval-ms=100");
+    }
+
+    private void awaitUnits(IntSupplier units, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (units.getAsInt() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(units.getAsInt()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,270 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.diagnostics.SqlStatementBudget;
+import com.bloodbank.dto.CampaignDTO;
+import com.bloodbank.entity.CampaignNotification;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.RecallCampaign;
+import com.bloodbank.exception.DuplicateResourceException;
+import com.bloodbank.repository.CampaignNotificationRepository;
+import com.bloodbank.repository.DonorRepository;
+import com.bloodbank.repository.RecallCampaignRepository;
+
+/**
+ * Recall campaigns stay correct with several dispatchers and concurrent starts:
+ * every notification is delivered once, a failed one waits before it is retried,
+ * and a blood group has one active campaign.
+ * Runs against its own database with the scheduled dispatcher effectively idle.
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:campaigns;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "campaign.dispatch.interval-ms=3600000",
+    "campaign.dispatch.batch-size=5",
+    "campaign.dispatch.rate-per-second=0",
+    "campaign.sender.file-path=" + RecallCampaignTest.OUTBOX_FILE
+})
+class RecallCampaignTest {
+
+    static final String OUTBOX_FILE = "target/recall-campaign-test/outbox.log";
+
+    private static long nextDonorIndex;
+
+    @Autowired
+    private RecallCampaignService recallCampaignService;
+
+    @Autowired
+    private CampaignDispatcher campaignDispatcher;
+
+    @Autowired
+    private RecallCampaignRepository recallCampaignRepository;
+
+    @Autowired
+    private CampaignNotificationRepository campaignNotificationRepository;
+
+    @Autowired
+    private DonorRepository donorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private NotificationSender notificationSender;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SyntheticDataGenerator generator =
+            new SyntheticDataGenerator(26L, LocalDate.now().atStartOfDay(), 30);
+
+    @BeforeAll
+    static void clearOutbox() throws IOException {
+        // Campaign ids restart with the in-memory database, so drop lines of earlier runs
+        Files.deleteIfExists(Path.of(OUTBOX_FILE));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM campaign_notifications");
+        jdbcTemplate.update("DELETE FROM recall_campaigns");
+    }
+
+    @Test
+    void concurrentDispatchersDeliverEachNotificationOnce() throws Exception {
+        donors("O-", 12);
+        CampaignDTO.CampaignResponse campaign = start("O-");
+        assertThat(campaign.getCandidateCount()).isEqualTo(12);
+
+        CountDownLatch start = new CountDownLatch(1);
+        Runnable dispatcher = () -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (int pass = 0; pass < 5; pass++) {
+                campaignDispatcher.dispatch();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> passes = new ArrayList<>();
+            passes.add(executor.submit(dispatcher));
+            passes.add(executor.submit(dispatcher));
+            start.countDown();
+            for (Future<?> pass : passes) {
+                pass.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> delivered = deliveredTo(campaign.getId());
+        assertThat(delivered).hasSize(12).doesNotHaveDuplicates();
+        CampaignDTO.CampaignResponse after = recallCampaignService.getCampaignById(campaign.getId()).orElseThrow();
+        assertThat(after.getSentCount()).isEqualTo(12);
+        assertThat(after.getPendingCount()).isZero();
+        assertThat(after.getStatus()).isEqualTo(RecallCampaign.CampaignStatus.COMPLETED);
+    }
+
+    @Test
+    void claimedNotificationsWaitForTheClaimToExpire() throws IOException {
+        donors("A-", 3);
+        CampaignDTO.CampaignResponse campaign = start("A-");
+
+        // Another node claims the batch and has not reported back yet
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            List<Long> ids = campaignNotificationRepository.findNextPendingIds(LocalDateTime.now(), PageRequest.of(0, 10));
+            assertThat(campaignNotificationRepository.claim(ids, CampaignNotification.DeliveryStatus.SENDING,
+                    "other-node", LocalDateTime.now())).isEqualTo(3);
+            assertThat(campaignNotificationRepository.claim(ids, CampaignNotification.DeliveryStatus.SENDING,
+                    "third-node", LocalDateTime.now())).isZero();
+        });
+
+        campaignDispatcher.dispatch();
+        assertThat(deliveredTo(campaign.getId())).isEmpty();
+        assertThat(recallCampaignService.getCampaignById(campaign.getId()).orElseThrow().getPendingCount()).isEqualTo(3);
+
+        jdbcTemplate.update("UPDATE campaign_notifications SET claimed_at = ? WHERE claimed_by = 'other-node'",
+                LocalDateTime.now().minusDays(1));
+        campaignDispatcher.dispatch();
+        assertThat(deliveredTo(campaign.getId())).hasSize(3);
+    }
+
+    @Test
+    void failedNotificationsWaitBeforeTheyAreRetried() throws Exception {
+        donors("A+", 2);
+        CampaignDTO.CampaignResponse campaign = start("A+");
+
+        doThrow(new IOException("Mail relay unavailable")).when(notificationSender).send(any(), any());
+        LocalDateTime failedAt = LocalDateTime.now();
+        campaignDispatcher.dispatch();
+        List<LocalDateTime> retryAt = jdbcTemplate.queryForList(
+                "SELECT next_attempt_at FROM campaign_notifications WHERE campaign_id = ? AND status = 'PENDING'",
+                LocalDateTime.class, campaign.getId());
+        assertThat(retryAt).hasSize(2)
+                .allSatisfy(time -> assertThat(time).isAfter(failedAt.plusSeconds(50)));
+
+        // The relay is back, but the retry is not due yet
+        doCallRealMethod().when(notificationSender).send(any(), any());
+        campaignDispatcher.dispatch();
+        assertThat(deliveredTo(campaign.getId())).isEmpty();
+
+        jdbcTemplate.update("UPDATE campaign_notifications SET next_attempt_at = ? WHERE campaign_id = ?",
+                LocalDateTime.now().minusSeconds(1), campaign.getId());
+        campaignDispatcher.dispatch();
+        assertThat(deliveredTo(campaign.getId())).hasSize(2);
+        assertThat(recallCampaignService.getCampaignById(campaign.getId()).orElseThrow().getSentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void bloodGroupHasOneActiveCampaign() {
+        recallCampaignRepository.saveAndFlush(campaign("B+"));
+
+        // Both starts passed the existence check; the constraint stops the second
+        assertThatThrownBy(() -> recallCampaignRepository.saveAndFlush(campaign("B+")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> start("B+")).isInstanceOf(DuplicateResourceException.class);
+
+        RecallCampaign active = recallCampaignRepository.findByStatusOrderByCreatedAtDesc(RecallCampaign.CampaignStatus.ACTIVE)
+                .get(0);
+        recallCampaignService.cancelCampaign(active.getId());
+        recallCampaignRepository.saveAndFlush(campaign("B+"));
+    }
+
+    @Test
+    void listingCampaignsCountsNotificationsInOneQuery() throws Exception {
+        List<String> bloodGroups = List.of("AB-", "AB+", "B-");
+        for (String bloodGroup : bloodGroups) {
+            donors(bloodGroup, 2);
+            start(bloodGroup);
+        }
+
+        List<CampaignDTO.CampaignResponse> campaigns = new ArrayList<>();
+        // One select for the campaigns, one grouped count for all of them
+        SqlStatementBudget.of(() -> campaigns.addAll(recallCampaignService.getAllCampaigns()))
+                .hasAtMostStatements(2);
+
+        assertThat(campaigns).hasSize(bloodGroups.size());
+        assertThat(campaigns).allSatisfy(campaign -> {
+            assertThat(campaign.getPendingCount()).isEqualTo(2);
+            assertThat(campaign.getSentCount()).isZero();
+        });
+    }
+
+    private CampaignDTO.CampaignResponse start(String bloodGroup) {
+        CampaignDTO.CampaignCreateRequest request = new CampaignDTO.CampaignCreateRequest();
+        request.setBloodGroup(bloodGroup);
+        request.setExactMatchOnly(true);
+        request.setStartedBy("Test");
+        return recallCampaignService.startCampaign(request, RecallCampaign.TriggerType.MANUAL);
+    }
+
+    private RecallCampaign campaign(String bloodGroup) {
+        RecallCampaign campaign = new RecallCampaign();
+        campaign.setBloodGroup(bloodGroup);
+        campaign.setStatus(RecallCampaign.CampaignStatus.ACTIVE);
+        campaign.setStartedBy("Test");
+        return campaign;
+    }
+
+    private void donors(String bloodGroup, int count) {
+        List<Donor> donors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Donor donor = generator.donor(nextDonorIndex++);
+            donor.setBloodGroup(bloodGroup);
+            donor.setIsEligible(true);
+            donor.setLastDonationDate(null);
+            donors.add(donor);
+        }
+        donorRepository.saveAll(donors);
+    }
+
+    private List<String> deliveredTo(Long campaignId) throws IOException {
+        Path outbox = Path.of(OUTBOX_FILE);
+        if (!Files.exists(outbox)) {
+            return List.of();
+        }
+        return Files.readAllLines(outbox).stream()
+                .filter(line -> line.contains(" | campaign=" + campaignId + " | "))
+                .map(line -> line.substring(line.indexOf(" | to=") + 6, line.indexOf(" | name=")))
+                .toList();
+    }
+}
@@ -0,0 +1,215 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.dto.BloodInventoryDTO;
+import com.bloodbank.dto.BloodRequestDTO;
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.UnitReservation;
+import com.bloodbank.exception.InsufficientUnitsException;
+import com.bloodbank.exception.InvalidStateException;
+import com.bloodbank.exception.ResourceNotFoundException;
+import com.bloodbank.repository.UnitReservationRepository;
+
+/**
+ * Approved requests hold their units until they are fulfilled, cancelled or the hold runs out
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class ReservationServiceTest {
+
+    private static final String BLOOD_GROUP = "B+";
+
+    @Autowired
+    private BloodRequestService bloodRequestService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private BloodInventoryService bloodInventoryService;
+
+    @Autowired
+    private UnitReservationRepository unitReservationRepository;
+
+    @Autowired
+    private ReservationTimer reservationTimer;
+
+    @Autowired
+    private ReservationExpirer reservationExpirer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StockFixture stockFixture;
+
+    @BeforeEach
+    void setUp() {
+        stockFixture.resetStock(BLOOD_GROUP, 5);
+    }
+
+    @Test
+    void approvalHoldsUnitsUntilFulfilled() {
+        BloodRequest approved = pending(3);
+        BloodRequest other = pending(3);
+
+        bloodRequestService.updateRequestStatus(approved.getId(), approval());
+
+        assertThat(inventory().getUnitsReserved()).isEqualTo(3);
+        assertThat(inventory().getUnitsFree()).isEqualTo(2);
+        assertThat(reservationService.getActiveReservation(approved.getId()).getUnits()).isEqualTo(3);
+        assertThatThrownBy(() -> bloodRequestService.approveAndFulfillRequest(other.getId(), approval()))
+                .isInstanceOf(InsufficientUnitsException.class);
+
+        BloodRequestDTO.BloodRequestResponse response = bloodRequestService.fulfillApprovedRequest(approved.getId(), approval());
+
+        assertThat(response.getStatus()).isEqualTo(BloodRequest.RequestStatus.FULFILLED);
+        assertThat(inventory().getUnitsAvailable()).isEqualTo(2);
+        assertThat(inventory().getUnitsReserved()).isZero();
+        assertThat(holdStatus(approved)).isEqualTo(UnitReservation.Status.CONSUMED);
+    }
+
+    @Test
+    void expiredHoldGoesBackToFreeStock() {
+        BloodRequest approved = pending(4);
+        bloodRequestService.updateRequestStatus(approved.getId(), approval());
+        Long holdId = reservationService.getActiveReservation(approved.getId()).getId();
+
+        assertThat(reservationService.expire(BLOOD_GROUP, List.of(holdId))).isEqualTo(1);
+
+        assertThat(inventory().getUnitsReserved()).isZero();
+        assertThat(inventory().getUnitsFree()).isEqualTo(5);
+        assertThat(holdStatus(approved)).isEqualTo(UnitReservation.Status.EXPIRED);
+        assertThatThrownBy(() -> reservationService.getActiveReservation(approved.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // The request can still be fulfilled while the units are there
+        bloodRequestService.fulfillApprovedRequest(approved.getId(), approval());
+        assertThat(inventory().getUnitsAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingApprovedRequestReleasesHold() {
+        BloodRequest approved = pending(5);
+        bloodRequestService.updateRequestStatus(approved.getId(), approval());
+
+        bloodRequestService.cancelBloodRequest(approved.getId(), "Patient transferred");
+
+        assertThat(inventory().getUnitsReserved()).isZero();
+        assertThat(inventory().getUnitsAvailable()).isEqualTo(5);
+        assertThat(holdStatus(approved)).isEqualTo(UnitReservation.Status.RELEASED);
+    }
+
+    @Test
+    void stockChangesCannotTakeHeldUnits() {
+        BloodRequest approved = pending(3);
+        bloodRequestService.updateRequestStatus(approved.getId(), approval());
+        Long inventoryId = inventory().getId();
+
+        assertThatThrownBy(() -> bloodInventoryService.removeUnits(BLOOD_GROUP,
+                new BloodInventoryDTO.UnitsUpdateRequest(3, "Spoiled")))
+                .isInstanceOf(InsufficientUnitsException.class);
+        BloodInventoryDTO.BloodInventoryUpdateRequest update = new BloodInventoryDTO.BloodInventoryUpdateRequest();
+        update.setUnitsAvailable(2);
+        assertThatThrownBy(() -> bloodInventoryService.updateBloodInventory(inventoryId, update))
+                .isInstanceOf(InsufficientUnitsException.class);
+
+        assertThat(inventory().getUnitsAvailable()).isEqualTo(5);
+        assertThat(inventory().getUnitsReserved()).isEqualTo(3);
+    }
+
+    @Test
+    void inventoryWithHoldsCannotBeDeleted() {
+        BloodRequest approved = pending(2);
+        bloodRequestService.updateRequestStatus(approved.getId(), approval());
+
+        assertThatThrownBy(() -> bloodInventoryService.deleteBloodInventory(inventory().getId()))
+                .isInstanceOf(InvalidStateException.class);
+
+        assertThat(inventory().getUnitsReserved()).isEqualTo(2);
+        bloodRequestService.cancelBloodRequest(approved.getId(), "Test done");
+    }
+
+    @Test
+    void failedExpiryIsRetriedLater() {
+        // No inventory exists for this blood group, so every expiry attempt fails
+        LocalDateTime failedAt = LocalDateTime.now();
+        reservationTimer.schedule(-1L, "C+", failedAt.minusMinutes(1));
+
+        reservationExpirer.expireDue();
+
+        List<ReservationTimer.Entry> retried = reservationTimer.pollDue(failedAt.plusSeconds(30), Integer.MAX_VALUE).stream()
+                .filter(entry -> entry.reservationId() == -1L)
+                .toList();
+        assertThat(retried).singleElement().satisfies(entry -> {
+            assertThat(entry.failedAttempts()).isPositive();
+            assertThat(entry.expiresAt()).isAfter(failedAt);
+        });
+    }
+
+    @Test
+    void stockChangeWaitsForConcurrentHold() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                BloodInventory locked = bloodInventoryService.lockInventories(List.of(BLOOD_GROUP)).get(BLOOD_GROUP);
+                Future<?> addition = executor.submit(() -> bloodInventoryService.addUnits(BLOOD_GROUP,
+                        new BloodInventoryDTO.UnitsUpdateRequest(1, "Concurrent intake")));
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                assertThat(addition).isNotDone();
+                bloodInventoryService.changeReservedUnits(locked, 2);
+            });
+            executor.submit(() -> { }).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(inventory().getUnitsAvailable()).isEqualTo(6);
+        assertThat(inventory().getUnitsReserved()).isEqualTo(2);
+        bloodInventoryService.changeReservedUnits(inventory(), -2);
+    }
+
+    private BloodRequestDTO.BloodRequestStatusUpdate approval() {
+        BloodRequestDTO.BloodRequestStatusUpdate update = new BloodRequestDTO.BloodRequestStatusUpdate();
+        update.setStatus(BloodRequest.RequestStatus.APPROVED);
+        update.setProcessedBy("admin");
+        return update;
+    }
+
+    private BloodRequest pending(int units) {
+        return stockFixture.pendingRequest(BLOOD_GROUP, BloodRequest.UrgencyLevel.NORMAL, units);
+    }
+
+    private UnitReservation.Status holdStatus(BloodRequest request) {
+        return unitReservationRepository.findAll().stream()
+                .filter(reservation -> reservation.getRequestId().equals(request.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getStatus();
+    }
+
+    private BloodInventory inventory() {
+        return stockFixture.inventory(BLOOD_GROUP);
+    }
+}
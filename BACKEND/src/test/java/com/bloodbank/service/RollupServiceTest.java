@@ -0,0 +1,99 @@
+package com.bloodbank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bloodbank.BloodBankBackendApplication;
+import com.bloodbank.entity.MetricRollup;
+import com.bloodbank.repository.RollupWatermarkRepository;
+
+/**
+ * Compaction runs on one node at a time and still counts increments that commit
+ * after their hour was rolled up
+ */
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
+class RollupServiceTest {
+
+    private static final String BLOOD_GROUP = "AB-";
+
+    private static final MetricRollup.Metric METRIC = MetricRollup.Metric.REQUESTS_FULFILLED;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private RollupWatermarkRepository rollupWatermarkRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        rollupService.increment(METRIC, BLOOD_GROUP, 1);
+        rollupService.compact();
+    }
+
+    @Test
+    void lateIncrementIsAddedToTheLastClosedHour() {
+        LocalDateTime hourWatermark = rollupWatermarkRepository.findById(MetricRollup.Tier.HOUR).orElseThrow().getRolledUpTo();
+        LocalDateTime lastClosedHour = hourWatermark.minusHours(1);
+        // An earlier pass already closed this hour without the bucket below
+        jdbcTemplate.update("DELETE FROM metric_rollups WHERE metric = ? AND blood_group = ? AND bucket_start < ?",
+                METRIC.name(), BLOOD_GROUP, Timestamp.valueOf(hourWatermark));
+        insertMinuteBucket(lastClosedHour.plusMinutes(30), 4);
+
+        rollupService.compact();
+
+        assertThat(hourBucket(lastClosedHour)).isEqualTo(4);
+        assertThat(rollupWatermarkRepository.findById(MetricRollup.Tier.HOUR).orElseThrow().getRolledUpTo())
+                .isAfterOrEqualTo(hourWatermark);
+    }
+
+    @Test
+    void compactionWaitsForAPassRunningElsewhere() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupWatermarkRepository.findAllForUpdate();
+                Future<?> compaction = executor.submit(rollupService::compact);
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                assertThat(compaction).isNotDone();
+            });
+            executor.submit(() -> { }).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void insertMinuteBucket(LocalDateTime bucketStart, long amount) {
+        jdbcTemplate.update("INSERT INTO metric_rollups (tier, metric, blood_group, bucket_start, amount) VALUES (?, ?, ?, ?, ?)",
+                MetricRollup.Tier.MINUTE.name(), METRIC.name(), BLOOD_GROUP, Timestamp.valueOf(bucketStart), amount);
+    }
+
+    private Long hourBucket(LocalDateTime bucketStart) {
+        return jdbcTemplate.queryForObject(
+                "SELECT amount FROM metric_rollups WHERE tier = ? AND metric = ? AND blood_group = ? AND bucket_start = ?",
+                Long.class, MetricRollup.Tier.HOUR.name(), METRIC.name(), BLOOD_GROUP, Timestamp.valueOf(bucketStart));
+    }
+}
@@ -0,0 +1,106 @@
+package com.bloodbank.service;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.bloodbank.entity.BloodInventory;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.repository.BloodInventoryRepository;
+import com.bloodbank.repository.BloodRequestRepository;
+import com.bloodbank.repository.DonorRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Stock, donors and requests for the tests that share the in-memory database.
+ * Stock is reset with plain SQL so a reset writes no ledger movements, rollups or
+ * change events of its own; the caches that could still hold the old rows are cleared.
+ */
+@Component
+public class StockFixture {
+
+    private static final AtomicLong NEXT_INDEX = new AtomicLong();
+
+    private final BloodInventoryService bloodInventoryService;
+    private final BloodInventoryRepository bloodInventoryRepository;
+    private final DonorRepository donorRepository;
+    private final BloodRequestRepository bloodRequestRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+
+    private final SyntheticDataGenerator generator =
+            new SyntheticDataGenerator(47L, LocalDate.now().atStartOfDay(), 30);
+
+    public StockFixture(BloodInventoryService bloodInventoryService, BloodInventoryRepository bloodInventoryRepository,
+                        DonorRepository donorRepository, BloodRequestRepository bloodRequestRepository,
+                        JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.bloodInventoryService = bloodInventoryService;
+        this.bloodInventoryRepository = bloodInventoryRepository;
+        this.donorRepository = donorRepository;
+        this.bloodRequestRepository = bloodRequestRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Set a blood group to the given free units, with no holds and the default capacity
+     */
+    public void resetStock(String bloodGroup, int units) {
+        bloodInventoryService.initializeBloodGroups();
+        jdbcTemplate.update("UPDATE unit_reservations SET status = 'EXPIRED' WHERE blood_group = ? AND status = 'ACTIVE'",
+                bloodGroup);
+        jdbcTemplate.update("UPDATE blood_inventory SET units_available = ?, units_reserved = 0, maximum_capacity = 100 "
+                + "WHERE blood_group = ?", units, bloodGroup);
+        clearCaches();
+    }
+
+    public BloodInventory inventory(String bloodGroup) {
+        return bloodInventoryRepository.findByBloodGroup(bloodGroup).orElseThrow();
+    }
+
+    public int unitsAvailable(String bloodGroup) {
+        return inventory(bloodGroup).getUnitsAvailable();
+    }
+
+    /**
+     * An eligible donor of the blood group; emails stay unique across test classes
+     */
+    public Donor donor(String bloodGroup, LocalDate lastDonationDate) {
+        Donor donor = generator.donor(NEXT_INDEX.getAndIncrement());
+        donor.setBloodGroup(bloodGroup);
+        donor.setIsEligible(true);
+        donor.setLastDonationDate(lastDonationDate);
+        return donorRepository.save(donor);
+    }
+
+    public BloodRequest pendingRequest(String bloodGroup, BloodRequest.UrgencyLevel urgency, int units) {
+        BloodRequest request = generator.bloodRequest(NEXT_INDEX.getAndIncrement());
+        request.setBloodGroup(bloodGroup);
+        request.setUrgencyLevel(urgency);
+        request.setUnitsRequested(units);
+        request.setStatus(BloodRequest.RequestStatus.PENDING);
+        request.setProcessedAt(null);
+        request.setProcessedBy(null);
+        return bloodRequestRepository.save(request);
+    }
+
+    private void clearCaches() {
+        jakarta.persistence.Cache secondLevelCache = entityManagerFactory.getCache();
+        secondLevelCache.evictAll();
+        secondLevelCache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.example.demo;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+import com.bloodbank.BloodBankBackendApplication;
+
+@SpringBootTest(classes = BloodBankBackendApplication.class)
+@ActiveProfiles("test")
 class BloodBankBackendApplicationTests {
 
 	@Test